@@ -0,0 +1,19 @@
+#!/usr/bin/env sh
+# Starts the MCP server over STDIO from the fast-startup build (mvn -P fast-startup -DskipTests package)
+# with Spring AOT and an AppCDS archive. The first start records the archive in a training run that
+# stops once the context has refreshed; delete target/fast-startup/app.jsa after a rebuild.
+set -e
+
+DIR="$(cd "$(dirname "$0")/.." && pwd)/target/fast-startup"
+CP="$(ls "$DIR"/*-app.jar):$(ls "$DIR"/lib/*.jar | tr '\n' ':')"
+JSA="$DIR/app.jsa"
+MAIN=com.billsplitting.BillSplittingMcpServerApplication
+OPTS="-XX:TieredStopAtLevel=1 -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup${SPRING_PROFILES_ACTIVE:+,$SPRING_PROFILES_ACTIVE}"
+
+if [ ! -f "$JSA" ]; then
+  # stdout is the MCP channel, so the training run must not write to it
+  java -XX:ArchiveClassesAtExit="$JSA" $OPTS -Dspring.context.exit=onRefresh -cp "$CP" "$MAIN" "$@" \
+    </dev/null >/dev/null 2>&1 || true
+fi
+
+exec java -XX:SharedArchiveFile="$JSA" -Xshare:auto $OPTS -cp "$CP" "$MAIN" "$@"
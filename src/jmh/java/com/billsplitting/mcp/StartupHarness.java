@@ -0,0 +1,61 @@
+package com.billsplitting.mcp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first tool response: from launching the server command until the first
+ * {@code tools/call} over STDIO has answered, which is what an agent session waits for before
+ * its first tool call. Each run starts a fresh process; the median is checked against the
+ * {@value #TARGET_MILLIS} ms target.
+ * <p>
+ * Usage: {@code StartupHarness <command...>}, e.g. {@code scripts/fast-start.sh} or
+ * {@code java -jar target/bill-splitting-mcp-server-1.0.0.jar}. The {@code harness.runs} (default 5)
+ * and {@code harness.tool} (default {@code list_expense_groups}) system properties tune a run.
+ */
+public final class StartupHarness {
+
+    private static final long TARGET_MILLIS = 1000;
+
+    private StartupHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: StartupHarness <command...>");
+            System.exit(2);
+        }
+        List<String> command = Arrays.asList(args);
+        int runs = Integer.getInteger("harness.runs", 5);
+        String tool = System.getProperty("harness.tool", "list_expense_groups");
+
+        List<Long> millis = new ArrayList<>(runs);
+        for (int run = 1; run <= runs; run++) {
+            long elapsed = timeToFirstResponse(command, tool);
+            millis.add(elapsed);
+            System.out.printf("run %d: %d ms%n", run, elapsed);
+        }
+        millis.sort(null);
+        long median = millis.get(millis.size() / 2);
+        System.out.printf("time to first tool response: min %d ms, median %d ms, target %d ms %s%n",
+                millis.get(0), median, TARGET_MILLIS, median < TARGET_MILLIS ? "met" : "missed");
+    }
+
+    private static long timeToFirstResponse(List<String> command, String tool) throws Exception {
+        long start = System.nanoTime();
+        Process server = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            TransportLoadHarness.StdioClient client = new TransportLoadHarness.StdioClient(server);
+            client.initialize();
+            client.callTool(tool);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            server.destroy();
+            server.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+}
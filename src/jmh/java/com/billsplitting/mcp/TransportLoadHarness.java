@@ -0,0 +1,327 @@
+package com.billsplitting.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares N MCP clients served by one streamable HTTP process against the same clients each
+ * talking to their own STDIO process: wall-clock throughput of {@code calls} tool calls per
+ * client, and the resident memory of all server processes once the calls are done.
+ * <p>
+ * Usage: {@code TransportLoadHarness <jar> [clients] [calls] [tool]}. The servers are started
+ * with {@code java -jar <jar>} plus the whitespace-separated {@code harness.server.args} system
+ * property, which is where the datasource settings go. Memory is read from {@code /proc}, so it
+ * is only reported on Linux.
+ */
+public final class TransportLoadHarness {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String PROTOCOL_VERSION = "2025-03-26";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private TransportLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: TransportLoadHarness <jar> [clients] [calls] [tool]");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int calls = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        String tool = args.length > 3 ? args[3] : "list_expense_groups";
+        List<String> serverArgs = List.of(System.getProperty("harness.server.args", "").trim().split("\\s+"))
+                .stream().filter(arg -> !arg.isEmpty()).toList();
+
+        Result stdio = runStdio(jar, serverArgs, clients, calls, tool);
+        Result http = runHttp(jar, serverArgs, clients, calls, tool);
+
+        System.out.printf("%-6s %9s %7s %12s %12s%n", "mode", "processes", "calls", "calls/s", "rss MB");
+        for (Result result : List.of(stdio, http)) {
+            System.out.printf("%-6s %9d %7d %12.1f %12s%n", result.mode(), result.processes(), result.calls(),
+                    result.callsPerSecond(), result.rssBytes() < 0 ? "n/a" : String.valueOf(result.rssBytes() >> 20));
+        }
+    }
+
+    private static Result runStdio(Path jar, List<String> serverArgs, int clients, int calls, String tool) throws Exception {
+        List<StdioClient> stdioClients = new ArrayList<>();
+        try {
+            for (int i = 0; i < clients; i++) {
+                List<String> command = serverCommand(jar, serverArgs);
+                // Anything but JSON-RPC on stdout would break the protocol
+                command.addAll(List.of("--spring.main.banner-mode=off", "--logging.pattern.console="));
+                stdioClients.add(new StdioClient(new ProcessBuilder(command)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start()));
+            }
+            for (StdioClient client : stdioClients) {
+                client.initialize();
+            }
+            double callsPerSecond = drive(stdioClients, calls, tool);
+            long rss = 0;
+            for (StdioClient client : stdioClients) {
+                long processRss = residentBytes(client.process.pid());
+                rss = rss < 0 || processRss < 0 ? -1 : rss + processRss;
+            }
+            return new Result("stdio", clients, clients * calls, callsPerSecond, rss);
+        } finally {
+            stdioClients.forEach(client -> client.process.destroy());
+        }
+    }
+
+    private static Result runHttp(Path jar, List<String> serverArgs, int clients, int calls, String tool) throws Exception {
+        int port = Integer.getInteger("harness.http.port", 18080);
+        List<String> command = serverCommand(jar, serverArgs);
+        command.addAll(List.of("--spring.profiles.active=http", "--server.port=" + port));
+        Process server = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            URI endpoint = URI.create("http://localhost:" + port + "/mcp");
+            HttpClient httpClient = HttpClient.newHttpClient();
+            List<HttpSession> sessions = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                HttpSession session = new HttpSession(httpClient, endpoint);
+                session.initialize();
+                sessions.add(session);
+            }
+            double callsPerSecond = drive(sessions, calls, tool);
+            return new Result("http", 1, clients * calls, callsPerSecond, residentBytes(server.pid()));
+        } finally {
+            server.destroy();
+        }
+    }
+
+    private static double drive(List<? extends McpConnection> connections, int calls, String tool) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(connections.size());
+        try {
+            long start = System.nanoTime();
+            List<Future<Void>> results = new ArrayList<>();
+            for (McpConnection connection : connections) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < calls; i++) {
+                        connection.callTool(tool);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return connections.size() * calls / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String> serverCommand(Path jar, List<String> serverArgs) {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", jar.toString()));
+        command.addAll(serverArgs);
+        return command;
+    }
+
+    // VmRSS of a Linux process, or -1 where /proc is not available
+    private static long residentBytes(long pid) {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static ObjectNode request(long id, String method, JsonNode params) {
+        ObjectNode request = JSON.createObjectNode().put("jsonrpc", "2.0").put("method", method);
+        if (id >= 0) {
+            request.put("id", id);
+        }
+        if (params != null) {
+            request.set("params", params);
+        }
+        return request;
+    }
+
+    private static JsonNode initializeParams() {
+        ObjectNode params = JSON.createObjectNode().put("protocolVersion", PROTOCOL_VERSION);
+        params.putObject("capabilities");
+        params.putObject("clientInfo").put("name", "load-harness").put("version", "1.0.0");
+        return params;
+    }
+
+    private static JsonNode toolParams(String tool) {
+        ObjectNode params = JSON.createObjectNode().put("name", tool);
+        params.putObject("arguments");
+        return params;
+    }
+
+    private static JsonNode checked(JsonNode response) {
+        if (response.has("error")) {
+            throw new IllegalStateException("MCP error: " + response.get("error"));
+        }
+        if (response.path("result").path("isError").asBoolean(false)) {
+            throw new IllegalStateException("Tool call failed: " + response.get("result"));
+        }
+        return response;
+    }
+
+    interface McpConnection {
+
+        void initialize() throws Exception;
+
+        void callTool(String tool) throws Exception;
+    }
+
+    /** One STDIO server process, spoken to with newline-delimited JSON-RPC. */
+    static final class StdioClient implements McpConnection {
+
+        private final Process process;
+        private final OutputStream in;
+        private final BufferedReader out;
+        private long nextId;
+
+        StdioClient(Process process) {
+            this.process = process;
+            this.in = process.getOutputStream();
+            this.out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void initialize() throws IOException {
+            call("initialize", initializeParams());
+            send(request(-1, "notifications/initialized", null));
+        }
+
+        @Override
+        public void callTool(String tool) throws IOException {
+            call("tools/call", toolParams(tool));
+        }
+
+        private JsonNode call(String method, JsonNode params) throws IOException {
+            long id = nextId++;
+            send(request(id, method, params));
+            String line;
+            while ((line = out.readLine()) != null) {
+                JsonNode message = JSON.readTree(line);
+                // Skip server notifications such as log messages
+                if (message.path("id").asLong(-1) == id) {
+                    return checked(message);
+                }
+            }
+            throw new IOException("STDIO server closed its output"
+                    + (process.isAlive() ? "" : " with exit code " + process.exitValue()));
+        }
+
+        private void send(JsonNode message) throws IOException {
+            in.write(JSON.writeValueAsBytes(message));
+            in.write('\n');
+            in.flush();
+        }
+    }
+
+    /** One client session on the shared streamable HTTP endpoint. */
+    private static final class HttpSession implements McpConnection {
+
+        private final HttpClient httpClient;
+        private final URI endpoint;
+        private String sessionId;
+        private long nextId;
+
+        HttpSession(HttpClient httpClient, URI endpoint) {
+            this.httpClient = httpClient;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void initialize() throws Exception {
+            long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+            HttpResponse<String> response;
+            while (true) {
+                try {
+                    response = post(request(nextId++, "initialize", initializeParams()));
+                    break;
+                } catch (ConnectException e) {
+                    // The server is still starting
+                    if (System.nanoTime() > deadline) {
+                        throw e;
+                    }
+                    Thread.sleep(250);
+                }
+            }
+            checked(parse(response, 0));
+            sessionId = response.headers().firstValue("Mcp-Session-Id").orElse(null);
+            post(request(-1, "notifications/initialized", null));
+        }
+
+        @Override
+        public void callTool(String tool) throws Exception {
+            long id = nextId++;
+            checked(parse(post(request(id, "tools/call", toolParams(tool))), id));
+        }
+
+        private HttpResponse<String> post(JsonNode message) throws IOException, InterruptedException {
+            HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json, text/event-stream")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(message)));
+            if (sessionId != null) {
+                request.header("Mcp-Session-Id", sessionId);
+            }
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IOException("HTTP " + response.statusCode() + ": " + response.body());
+            }
+            return response;
+        }
+
+        // The server answers either with a JSON body or with an SSE stream carrying the response
+        private static JsonNode parse(HttpResponse<String> response, long id) throws IOException {
+            String contentType = response.headers().firstValue("Content-Type").orElse("");
+            if (!contentType.startsWith("text/event-stream")) {
+                return JSON.readTree(response.body());
+            }
+            for (String line : response.body().split("\n")) {
+                if (line.startsWith("data:")) {
+                    JsonNode message = JSON.readTree(line.substring(5).trim());
+                    if (message.path("id").asLong(-1) == id) {
+                        return message;
+                    }
+                }
+            }
+            throw new IOException("No response for request " + id + " in the event stream");
+        }
+    }
+
+    private record Result(String mode, int processes, int calls, double callsPerSecond, long rssBytes) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.billsplitting.service;
+
+import com.billsplitting.BillSplittingMcpServerApplication;
+import com.billsplitting.dto.Money;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.entity.GroupMember;
+import com.billsplitting.entity.MemberBalanceLedger;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic groups shared by the benchmarks, and the ways of backing them: in-memory fakes
+ * that only answer the repository calls a benchmark makes, or a full application context on an
+ * in-memory H2 database, the embedded profile's H2 file or Postgres.
+ */
+final class BenchmarkData {
+
+    static final String GROUP = "Benchmark Group";
+
+    /** Each generated expense is shared by at most this many members. */
+    private static final int MAX_PARTICIPANTS = 10;
+
+    private BenchmarkData() {
+    }
+
+    record SeededExpense(String paidBy, Money amount, Map<String, Money> shares) {
+    }
+
+    static List<String> memberNames(int members) {
+        return IntStream.range(0, members).mapToObj(i -> "Member " + i).toList();
+    }
+
+    /**
+     * {@code count} expenses of 1 to 100 INR, each paid by one member and shared equally by up to
+     * ten. The seed is fixed so every run and every mode sees the same group.
+     */
+    static List<SeededExpense> expenses(List<String> members, int count) {
+        Random random = new Random(42);
+        List<SeededExpense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Money amount = Money.ofPaise(100 + random.nextInt(9_901));
+            int participants = Math.min(members.size(), 2 + random.nextInt(MAX_PARTICIPANTS - 1));
+            int first = random.nextInt(members.size());
+
+            Money[] shares = amount.allocate(participants);
+            Map<String, Money> split = new LinkedHashMap<>();
+            for (int p = 0; p < participants; p++) {
+                split.put(members.get((first + p) % members.size()), shares[p]);
+            }
+            expenses.add(new SeededExpense(members.get(random.nextInt(members.size())), amount, split));
+        }
+        return expenses;
+    }
+
+    /**
+     * The ledger rows the given expenses leave behind, as {@code findByGroupName} would return them.
+     */
+    static List<MemberBalanceLedger> ledger(List<String> members, List<SeededExpense> expenses) {
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        members.forEach(name -> totals.put(name, new long[2]));
+        for (SeededExpense expense : expenses) {
+            totals.get(expense.paidBy())[0] += expense.amount().toPaise();
+            expense.shares().forEach((name, share) -> totals.get(name)[1] += share.toPaise());
+        }
+
+        ExpenseGroup group = new ExpenseGroup(GROUP, "Benchmark");
+        List<MemberBalanceLedger> ledger = new ArrayList<>(members.size());
+        totals.forEach((name, paidAndOwed) -> ledger.add(new MemberBalanceLedger(new GroupMember(group, name),
+                Money.ofPaise(paidAndOwed[0]).toBigDecimal(), Money.ofPaise(paidAndOwed[1]).toBigDecimal())));
+        return ledger;
+    }
+
+    /**
+     * A repository whose listed methods return fixed values; anything else fails loudly so a
+     * benchmark cannot silently measure a call it did not set up.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T fake(Class<T> repository, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] {repository},
+                (proxy, method, args) -> {
+                    if (!answers.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(repository.getSimpleName() + "." + method.getName());
+                    }
+                    return answers.get(method.getName());
+                });
+    }
+
+    /**
+     * Starts the application on a private H2 database. The caches are sized to zero so every
+     * invocation does the database work instead of returning a cached result.
+     */
+    static ConfigurableApplicationContext startH2(String databaseName) {
+        return new SpringApplicationBuilder(BillSplittingMcpServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + databaseName,
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--spring.ai.mcp.server.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--billsplitting.cache.spec=maximumSize=0",
+                        "--billsplitting.ledger.reconcile-cron=-",
+                        "--logging.level.com.billsplitting=WARN");
+    }
+
+    /**
+     * Starts the application with the embedded profile on an H2 file at {@code path}, caches
+     * sized to zero as in {@link #startH2}.
+     */
+    static ConfigurableApplicationContext startEmbedded(Path path) {
+        return new SpringApplicationBuilder(BillSplittingMcpServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("embedded")
+                .run("--billsplitting.embedded.path=" + path,
+                        "--spring.ai.mcp.server.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--billsplitting.cache.spec=maximumSize=0",
+                        "--billsplitting.ledger.reconcile-cron=-",
+                        "--logging.level.com.billsplitting=WARN");
+    }
+
+    /**
+     * Starts the application on a Postgres database with the default profile, so Flyway creates
+     * the schema as in production; caches sized to zero as in {@link #startH2}.
+     */
+    static ConfigurableApplicationContext startPostgres(String url, String username, String password) {
+        return new SpringApplicationBuilder(BillSplittingMcpServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.ai.mcp.server.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--billsplitting.cache.spec=maximumSize=0",
+                        "--billsplitting.ledger.reconcile-cron=-",
+                        "--logging.level.com.billsplitting=WARN");
+    }
+
+    /**
+     * Creates the benchmark group with its members and expenses through the services, so the
+     * ledger and splits are exactly what the application would have written.
+     */
+    static void seed(ConfigurableApplicationContext context, List<String> members, List<SeededExpense> expenses) {
+        context.getBean(ExpenseGroupService.class).createGroup(GROUP, "Benchmark");
+        GroupMemberService groupMemberService = context.getBean(GroupMemberService.class);
+        members.forEach(name -> groupMemberService.addMember(GROUP, name));
+
+        ExpenseService expenseService = context.getBean(ExpenseService.class);
+        ExpenseSplitService expenseSplitService = context.getBean(ExpenseSplitService.class);
+        for (int i = 0; i < expenses.size(); i++) {
+            SeededExpense expense = expenses.get(i);
+            Long expenseId = expenseService.addExpense(GROUP, "Expense " + i, expense.amount().toBigDecimal(),
+                    expense.paidBy()).getId();
+            Map<String, BigDecimal> amounts = new LinkedHashMap<>();
+            expense.shares().forEach((name, share) -> amounts.put(name, share.toBigDecimal()));
+            expenseSplitService.splitByAmount(expenseId, amounts);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.SettlementPlan;
+import com.billsplitting.repository.ExpenseGroupRepository;
+import com.billsplitting.repository.MemberBalanceLedgerRepository;
+import com.billsplitting.service.settlement.GreedySettlementStrategy;
+import com.billsplitting.service.settlement.LargestFirstSettlementStrategy;
+import com.billsplitting.service.settlement.OptimalSettlementStrategy;
+import com.billsplitting.service.settlement.SettlementStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance totals and settlement plans for one group. {@code memory} measures the calculation
+ * alone over a fake ledger; {@code h2} goes through the real repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Group {
+
+        @Param({"10", "100", "1000", "10000"})
+        int members;
+
+        @Param({"100", "1000"})
+        int expenses;
+
+        @Param({"memory", "h2"})
+        String mode;
+
+        private ConfigurableApplicationContext context;
+        private CalculationService calculationService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            List<String> names = BenchmarkData.memberNames(members);
+            List<BenchmarkData.SeededExpense> seeded = BenchmarkData.expenses(names, expenses);
+
+            if ("h2".equals(mode)) {
+                context = BenchmarkData.startH2("calculation");
+                BenchmarkData.seed(context, names, seeded);
+                calculationService = context.getBean(CalculationService.class);
+                return;
+            }
+
+            calculationService = new CalculationService(null, null,
+                    BenchmarkData.fake(MemberBalanceLedgerRepository.class,
+                            Map.of("findByGroupName", BenchmarkData.ledger(names, seeded))),
+                    null, null,
+                    new SettlementStrategies(List.of(new GreedySettlementStrategy(), new LargestFirstSettlementStrategy(),
+                            new OptimalSettlementStrategy(20, 250, 1)), GreedySettlementStrategy.NAME),
+                    BenchmarkData.fake(ExpenseGroupRepository.class, Map.of("findRevisionByName", Optional.empty())),
+                    new NoOpCacheManager(),
+                    new HotGroupService(null, null, null, new NoOpCacheManager(), false, Duration.ZERO));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Only the settlement benchmark takes this, so totals are not measured once per strategy.
+     */
+    @State(Scope.Benchmark)
+    public static class Strategy {
+
+        @Param({"greedy", "largest-first", "optimal"})
+        String name;
+    }
+
+    @Benchmark
+    public Map<String, MemberBalance> calculateGroupTotals(Group group) {
+        return group.calculationService.calculateGroupTotals(BenchmarkData.GROUP);
+    }
+
+    @Benchmark
+    public SettlementPlan generateSettlementPlan(Group group, Strategy strategy) {
+        return group.calculationService.generateSettlementPlan(BenchmarkData.GROUP, strategy.name);
+    }
+}
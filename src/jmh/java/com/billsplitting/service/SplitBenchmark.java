@@ -0,0 +1,109 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three split algorithms over one expense shared by the whole group. {@code memory} measures
+ * the share arithmetic alone; {@code h2} runs the full {@link ExpenseSplitService} call, which
+ * also replaces the previous splits and books the ledger deltas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SplitBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int members;
+
+    @Param({"memory", "h2"})
+    String mode;
+
+    private Money total;
+    private Map<String, BigDecimal> amounts;
+    private Map<String, BigDecimal> percentages;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseSplitService expenseSplitService;
+    private Long expenseId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> names = BenchmarkData.memberNames(members);
+        // One rupee per member, so equal amounts and percentages are exact at every size
+        total = Money.ofPaise(100L * members);
+        BigDecimal percentage = BigDecimal.valueOf(100).divide(BigDecimal.valueOf(members), 2, RoundingMode.UNNECESSARY);
+        amounts = new LinkedHashMap<>();
+        percentages = new LinkedHashMap<>();
+        for (String name : names) {
+            amounts.put(name, BigDecimal.ONE.setScale(2));
+            percentages.put(name, percentage);
+        }
+
+        if ("h2".equals(mode)) {
+            context = BenchmarkData.startH2("split");
+            BenchmarkData.seed(context, names, List.of());
+            expenseId = context.getBean(ExpenseService.class)
+                    .addExpense(BenchmarkData.GROUP, "Shared", total.toBigDecimal(), names.get(0)).getId();
+            expenseSplitService = context.getBean(ExpenseSplitService.class);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public void splitEqually(Blackhole blackhole) {
+        if (expenseSplitService != null) {
+            expenseSplitService.splitEqually(expenseId);
+        } else {
+            blackhole.consume(SplitCalculator.equalShares(total, members));
+        }
+    }
+
+    @Benchmark
+    public void splitByAmount(Blackhole blackhole) {
+        if (expenseSplitService != null) {
+            expenseSplitService.splitByAmount(expenseId, amounts);
+        } else {
+            blackhole.consume(SplitCalculator.amountShares(total, amounts));
+        }
+    }
+
+    @Benchmark
+    public void splitByPercentage(Blackhole blackhole) {
+        if (expenseSplitService != null) {
+            expenseSplitService.splitByPercentage(expenseId, percentages);
+        } else {
+            blackhole.consume(SplitCalculator.percentageShares(total, percentages));
+        }
+    }
+}
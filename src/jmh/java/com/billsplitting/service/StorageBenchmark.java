@@ -0,0 +1,108 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.ExpenseHistoryPage;
+import com.billsplitting.dto.MemberBalance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same service calls on the two stores a session can run against: {@code embedded} is the
+ * embedded profile's H2 file, {@code postgres} a Postgres 16 container (Docker required) migrated
+ * by Flyway. {@code addAndSplitExpense} commits one write per call; the reads only touch the
+ * ledger and one history page, so the expenses it adds do not change what they measure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+
+    @Param({"10", "100"})
+    int members;
+
+    @Param({"embedded", "postgres"})
+    String store;
+
+    private PostgreSQLContainer<?> postgres;
+    private Path directory;
+    private ConfigurableApplicationContext context;
+
+    private List<String> names;
+    private ExpenseService expenseService;
+    private ExpenseSplitService expenseSplitService;
+    private CalculationService calculationService;
+    private int nextPayer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        names = BenchmarkData.memberNames(members);
+        if ("embedded".equals(store)) {
+            directory = Files.createTempDirectory("storage-benchmark");
+            context = BenchmarkData.startEmbedded(directory.resolve("billsplitting"));
+        } else {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            context = BenchmarkData.startPostgres(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        }
+        BenchmarkData.seed(context, names, BenchmarkData.expenses(names, 1000));
+        expenseService = context.getBean(ExpenseService.class);
+        expenseSplitService = context.getBean(ExpenseSplitService.class);
+        calculationService = context.getBean(CalculationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+        if (directory != null) {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public Long addAndSplitExpense() {
+        String paidBy = names.get(nextPayer++ % names.size());
+        Long expenseId = expenseService.addExpense(BenchmarkData.GROUP, "Benchmark", new BigDecimal("100.00"), paidBy)
+                .getId();
+        expenseSplitService.splitEqually(expenseId);
+        return expenseId;
+    }
+
+    @Benchmark
+    public Map<String, MemberBalance> calculateGroupTotals() {
+        return calculationService.calculateGroupTotals(BenchmarkData.GROUP);
+    }
+
+    @Benchmark
+    public ExpenseHistoryPage expenseHistoryPage() {
+        return expenseService.getExpenseHistory(BenchmarkData.GROUP, null, null, null, null, 20);
+    }
+}
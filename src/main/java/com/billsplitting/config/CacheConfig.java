@@ -0,0 +1,54 @@
+package com.billsplitting.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Caffeine caches for the group lookups that nearly every tool call starts with, for member lists
+ * and calculation results keyed by {@code [groupId, revision, ...]} and for hot group working sets. Annotation-driven puts and
+ * evictions are deferred until the surrounding transaction commits, so a rolled back write never
+ * leaves a stale or half-written entry behind.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Group name to {@code ExpenseGroup}. */
+    public static final String GROUPS_BY_NAME = "groupsByName";
+
+    /** {@code [groupId, revision]} to the group's members as {@code GroupMemberView}s. */
+    public static final String MEMBERS_BY_GROUP = "membersByGroup";
+
+    /** {@code [groupId, revision]} to the group's member balances. */
+    public static final String GROUP_BALANCES = "groupBalances";
+
+    /** {@code [groupId, revision]} to the group's total expenses. */
+    public static final String GROUP_EXPENSE_TOTALS = "groupExpenseTotals";
+
+    /** {@code [groupId, revision, strategy]} to a settlement plan. */
+    public static final String SETTLEMENT_PLANS = "settlementPlans";
+
+    /** Group id to the group's {@code GroupWorkingSet}, only filled in hot group mode. */
+    public static final String HOT_GROUPS = "hotGroups";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${billsplitting.cache.spec:maximumSize=10000,expireAfterWrite=10m}") String spec,
+                                     @Value("${billsplitting.hot-groups.max-groups:100}") long maxHotGroups) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        caffeineCacheManager.setCacheNames(List.of(GROUPS_BY_NAME, MEMBERS_BY_GROUP,
+                GROUP_BALANCES, GROUP_EXPENSE_TOTALS, SETTLEMENT_PLANS));
+        // Sized in groups rather than by the shared spec, and kept while the groups are in use
+        caffeineCacheManager.registerCustomCache(HOT_GROUPS,
+                Caffeine.newBuilder().maximumSize(maxHotGroups).recordStats().build());
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
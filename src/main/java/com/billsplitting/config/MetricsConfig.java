@@ -0,0 +1,36 @@
+package com.billsplitting.config;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
+import io.micrometer.core.instrument.logging.LoggingRegistryConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Over STDIO there is usually no HTTP server to scrape {@code /actuator/prometheus} from, so the
+ * meters can also be written to the log every {@code billsplitting.metrics.log-interval}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @ConditionalOnProperty("billsplitting.metrics.log-interval")
+    public LoggingMeterRegistry loggingMeterRegistry(@Value("${billsplitting.metrics.log-interval}") Duration interval) {
+        LoggingRegistryConfig config = new LoggingRegistryConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public Duration step() {
+                return interval;
+            }
+        };
+        return new LoggingMeterRegistry(config, Clock.SYSTEM);
+    }
+}
@@ -0,0 +1,67 @@
+package com.billsplitting.config;
+
+import com.billsplitting.metrics.SqlStatementCounter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hints for the native image that the AOT engine cannot derive from the bean definitions: the
+ * tool responses and DTOs are written by Jackson (and the split batch results read back), the
+ * entities and {@code SELECT new} projections are built by Hibernate, the statement inspector is
+ * named in a property, and the Flyway scripts are class path resources. The types are found by
+ * scanning their packages while the hints are generated, so new records need no entry here.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String BASE_PACKAGE = "com.billsplitting.";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        for (Class<?> type : typesIn("dto", classLoader)) {
+            bindings.registerReflectionHints(hints.reflection(), type);
+        }
+        for (Class<?> type : typesIn("mcp.tools", classLoader)) {
+            if (type.isRecord()) {
+                bindings.registerReflectionHints(hints.reflection(), type);
+            } else {
+                // The MCP annotation scanner reads the @McpTool methods and invokes them reflectively
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+        for (Class<?> type : typesIn("entity", classLoader)) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.reflection().registerType(SqlStatementCounter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+
+    // Every class in the package, nested records and enums included
+    private static List<Class<?>> typesIn(String subPackage, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return true;
+            }
+        };
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+
+        List<Class<?>> types = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE + subPackage)) {
+            types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+        }
+        return types;
+    }
+}
@@ -0,0 +1,71 @@
+package com.billsplitting.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything
+ * else. The decision is made when the transaction first asks for a connection, so it only works
+ * behind a {@code LazyConnectionDataSourceProxy}; without one the transaction manager fetches the
+ * connection before it marks the transaction read-only.
+ * <p>
+ * For read-your-writes, read-only transactions that start within the sticky window after a write
+ * transaction committed stay on the primary. Tool calls carry no session, so the window is kept
+ * for the whole process: over STDIO that is the one MCP session, and over HTTP a write by any
+ * session only sends more reads to the primary than needed.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    // Bound for the duration of a write transaction once its commit is being tracked
+    private final Object writeMarker = new Object();
+
+    private final long stickyWindowNanos;
+    private volatile long stickyUntilNanos = System.nanoTime();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration stickyWindow) {
+        if (stickyWindow.isNegative()) {
+            throw new IllegalArgumentException("billsplitting.datasource.replica.sticky-window cannot be negative");
+        }
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackCommit();
+            return PRIMARY;
+        }
+        return System.nanoTime() - stickyUntilNanos < 0 ? PRIMARY : REPLICA;
+    }
+
+    private void trackCommit() {
+        if (stickyWindowNanos == 0 || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(writeMarker)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(writeMarker, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(writeMarker);
+                if (status == STATUS_COMMITTED) {
+                    stickyUntilNanos = System.nanoTime() + stickyWindowNanos;
+                }
+            }
+        });
+    }
+}
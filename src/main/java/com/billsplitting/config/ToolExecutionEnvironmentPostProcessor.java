@@ -0,0 +1,24 @@
+package com.billsplitting.config;
+
+import com.billsplitting.mcp.ToolExecutionAspect;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * The MCP server hands sync tool calls to Reactor's bounded-elastic scheduler. In {@code virtual}
+ * execution mode that scheduler is switched to virtual threads, which Reactor only reads once when
+ * its {@code Schedulers} class loads, so it has to happen here, before any Reactor code runs.
+ */
+public class ToolExecutionEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String REACTOR_VIRTUAL_THREADS = "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String execution = environment.getProperty("billsplitting.tools.execution", ToolExecutionAspect.PLATFORM);
+        if (ToolExecutionAspect.VIRTUAL.equals(execution) && System.getProperty(REACTOR_VIRTUAL_THREADS) == null) {
+            System.setProperty(REACTOR_VIRTUAL_THREADS, "true");
+        }
+    }
+}
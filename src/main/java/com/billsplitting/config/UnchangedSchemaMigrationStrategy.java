@@ -0,0 +1,117 @@
+package com.billsplitting.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Skips Flyway on startup when nothing can have changed since the last successful migrate: the
+ * stamp file holds a hash of the database URL, every migration script on the configured locations
+ * and the count of applied migrations in the schema history. A matching stamp costs one small
+ * query instead of Flyway's scan, validation and migrate; anything else runs {@code migrate} as
+ * usual and writes a fresh stamp.
+ */
+@Component
+@ConditionalOnProperty(name = "billsplitting.startup.skip-unchanged-schema", havingValue = "true")
+public class UnchangedSchemaMigrationStrategy implements FlywayMigrationStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(UnchangedSchemaMigrationStrategy.class);
+
+    private final Path stampFile;
+
+    public UnchangedSchemaMigrationStrategy(@Value("${billsplitting.startup.schema-stamp}") Path stampFile) {
+        this.stampFile = stampFile;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        Configuration configuration = flyway.getConfiguration();
+        String stamp = stamp(configuration);
+        if (stamp != null && stamp.equals(readStamp())) {
+            log.debug("Migrations and schema history unchanged since the last start, skipping Flyway");
+            return;
+        }
+        flyway.migrate();
+        String migrated = stamp(configuration);
+        if (migrated != null) {
+            writeStamp(migrated);
+        }
+    }
+
+    // Null when the schema history cannot be read, e.g. on a new database
+    private String stamp(Configuration configuration) {
+        try (Connection connection = configuration.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet applied = statement.executeQuery("SELECT COUNT(*) FROM " + configuration.getTable() + " WHERE success")) {
+            applied.next();
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update((connection.getMetaData().getURL() + '|' + applied.getLong(1)).getBytes(StandardCharsets.UTF_8));
+            for (Resource script : migrationScripts(configuration)) {
+                sha256.update(('|' + script.getFilename() + '|').getBytes(StandardCharsets.UTF_8));
+                try (InputStream content = script.getInputStream()) {
+                    sha256.update(content.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (SQLException | IOException e) {
+            log.debug("Cannot stamp the schema, running Flyway: {}", e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static List<Resource> migrationScripts(Configuration configuration) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Resource> scripts = new ArrayList<>();
+        for (Location location : configuration.getLocations()) {
+            String pattern = location.getDescriptor()
+                    .replaceFirst("^classpath:", "classpath*:")
+                    .replaceFirst("^filesystem:", "file:");
+            scripts.addAll(List.of(resolver.getResources(pattern + "/**/*.sql")));
+        }
+        scripts.sort(Comparator.comparing(Resource::getFilename));
+        return scripts;
+    }
+
+    private String readStamp() {
+        try {
+            return Files.exists(stampFile) ? Files.readString(stampFile).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeStamp(String stamp) {
+        try {
+            Files.createDirectories(stampFile.toAbsolutePath().getParent());
+            Files.writeString(stampFile, stamp);
+        } catch (IOException e) {
+            log.warn("Could not write schema stamp {}: {}", stampFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.billsplitting.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last expense of a history page. History is ordered by
+ * {@code (created_at, id)} descending, so the next page starts strictly below this pair.
+ * Clients only see the opaque {@link #encode() encoded} form.
+ */
+public record ExpenseHistoryCursor(LocalDateTime createdAt, Long id) {
+
+    public static ExpenseHistoryCursor after(ExpenseHistoryEntry entry) {
+        return new ExpenseHistoryCursor(entry.getCreatedAt(), entry.getId());
+    }
+
+    public String encode() {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static ExpenseHistoryCursor decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            return new ExpenseHistoryCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid expense history cursor: " + cursor);
+        }
+    }
+}
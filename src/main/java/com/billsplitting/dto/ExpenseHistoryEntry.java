@@ -0,0 +1,60 @@
+package com.billsplitting.dto;
+
+import com.billsplitting.entity.SplitType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of a group's expense history, read with the payer's name and the number of splits
+ * in the same statement instead of loading the expense entity and its associations.
+ */
+public class ExpenseHistoryEntry {
+    private final Long id;
+    private final String description;
+    private final Money amount;
+    private final String paidBy;
+    private final SplitType splitType;
+    private final int splitCount;
+    private final LocalDateTime createdAt;
+
+    public ExpenseHistoryEntry(Long id, String description, BigDecimal amount, String paidBy,
+                               SplitType splitType, Integer splitCount, LocalDateTime createdAt) {
+        this.id = id;
+        this.description = description;
+        this.amount = Money.of(amount);
+        this.paidBy = paidBy;
+        this.splitType = splitType;
+        this.splitCount = splitCount != null ? splitCount : 0;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public String getPaidBy() {
+        return paidBy;
+    }
+
+    public SplitType getSplitType() {
+        return splitType;
+    }
+
+    public int getSplitCount() {
+        return splitCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
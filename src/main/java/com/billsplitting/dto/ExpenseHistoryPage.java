@@ -0,0 +1,29 @@
+package com.billsplitting.dto;
+
+import java.util.List;
+
+public class ExpenseHistoryPage {
+    private final List<ExpenseHistoryEntry> entries;
+    private final ExpenseHistoryCursor nextCursor;
+
+    public ExpenseHistoryPage(List<ExpenseHistoryEntry> entries, ExpenseHistoryCursor nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<ExpenseHistoryEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Where the next page starts, or null when this is the last page.
+     */
+    public ExpenseHistoryCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
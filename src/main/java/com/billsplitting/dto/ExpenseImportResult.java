@@ -0,0 +1,37 @@
+package com.billsplitting.dto;
+
+import java.util.List;
+
+public class ExpenseImportResult {
+    private final int imported;
+    private final int failed;
+    private final List<ImportRowError> errors;
+    private final long elapsedMillis;
+
+    public ExpenseImportResult(int imported, int failed, List<ImportRowError> errors, long elapsedMillis) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * The first failed rows; {@link #getFailed()} counts all of them.
+     */
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,29 @@
+package com.billsplitting.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One member's ledger row tagged with its group, so that the balances of many groups can be
+ * read in a single query. Amounts cross into {@link Money} at this boundary.
+ */
+public class GroupLedgerRow {
+    private final Long groupId;
+    private final String memberName;
+    private final Money totalPaid;
+    private final Money totalOwed;
+
+    public GroupLedgerRow(Long groupId, String memberName, BigDecimal totalPaid, BigDecimal totalOwed) {
+        this.groupId = groupId;
+        this.memberName = memberName;
+        this.totalPaid = Money.of(totalPaid);
+        this.totalOwed = Money.of(totalOwed);
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public MemberBalance toMemberBalance() {
+        return new MemberBalance(memberName, totalPaid, totalOwed);
+    }
+}
@@ -0,0 +1,31 @@
+package com.billsplitting.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only copy of a group member, safe to cache and share between threads, unlike the entity.
+ */
+public class GroupMemberView {
+    private final Long id;
+    private final String memberName;
+    private final LocalDateTime createdAt;
+
+    public GroupMemberView(Long id, String memberName, LocalDateTime createdAt) {
+        this.id = id;
+        this.memberName = memberName;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.billsplitting.dto;
+
+public class GroupResplitResult {
+    private final int expenses;
+    private final int splits;
+
+    public GroupResplitResult(int expenses, int splits) {
+        this.expenses = expenses;
+        this.splits = splits;
+    }
+
+    // Getters
+    public int getExpenses() {
+        return expenses;
+    }
+
+    public int getSplits() {
+        return splits;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.billsplitting.dto;
+
+public class GroupRevision {
+    private final Long groupId;
+    private final long revision;
+
+    public GroupRevision(Long groupId, long revision) {
+        this.groupId = groupId;
+        this.revision = revision;
+    }
+
+    // Getters
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+}
@@ -0,0 +1,25 @@
+package com.billsplitting.dto;
+
+public class ImportRowError {
+    private final long lineNumber;
+    private final String message;
+
+    public ImportRowError(long lineNumber, String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+
+    // Getters
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "line " + lineNumber + ": " + message;
+    }
+}
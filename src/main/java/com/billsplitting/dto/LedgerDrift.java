@@ -0,0 +1,45 @@
+package com.billsplitting.dto;
+
+public class LedgerDrift {
+    private String memberName;
+    private Money ledgerPaid;
+    private Money actualPaid;
+    private Money ledgerOwed;
+    private Money actualOwed;
+
+    public LedgerDrift(String memberName, Money ledgerPaid, Money actualPaid,
+                       Money ledgerOwed, Money actualOwed) {
+        this.memberName = memberName;
+        this.ledgerPaid = ledgerPaid;
+        this.actualPaid = actualPaid;
+        this.ledgerOwed = ledgerOwed;
+        this.actualOwed = actualOwed;
+    }
+
+    // Getters
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public Money getLedgerPaid() {
+        return ledgerPaid;
+    }
+
+    public Money getActualPaid() {
+        return actualPaid;
+    }
+
+    public Money getLedgerOwed() {
+        return ledgerOwed;
+    }
+
+    public Money getActualOwed() {
+        return actualOwed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: paid %s -> %s, owed %s -> %s",
+                memberName, ledgerPaid, actualPaid, ledgerOwed, actualOwed);
+    }
+}
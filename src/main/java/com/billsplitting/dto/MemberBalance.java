@@ -1,64 +1,44 @@
 package com.billsplitting.dto;
 
-import java.math.BigDecimal;
-
 public class MemberBalance {
-    private String memberName;
-    private BigDecimal totalPaid;
-    private BigDecimal totalOwed;
-    private BigDecimal netBalance;
+    private final String memberName;
+    private final Money totalPaid;
+    private final Money totalOwed;
+    private final Money netBalance;
 
-    public MemberBalance(String memberName, BigDecimal totalPaid, BigDecimal totalOwed) {
+    public MemberBalance(String memberName, Money totalPaid, Money totalOwed) {
         this.memberName = memberName;
         this.totalPaid = totalPaid;
         this.totalOwed = totalOwed;
-        this.netBalance = totalPaid.subtract(totalOwed);
+        this.netBalance = totalPaid.minus(totalOwed);
     }
 
-    // Getters and Setters
+    // Getters
     public String getMemberName() {
         return memberName;
     }
 
-    public void setMemberName(String memberName) {
-        this.memberName = memberName;
-    }
-
-    public BigDecimal getTotalPaid() {
+    public Money getTotalPaid() {
         return totalPaid;
     }
 
-    public void setTotalPaid(BigDecimal totalPaid) {
-        this.totalPaid = totalPaid;
-        this.netBalance = this.totalPaid.subtract(this.totalOwed);
-    }
-
-    public BigDecimal getTotalOwed() {
+    public Money getTotalOwed() {
         return totalOwed;
     }
 
-    public void setTotalOwed(BigDecimal totalOwed) {
-        this.totalOwed = totalOwed;
-        this.netBalance = this.totalPaid.subtract(this.totalOwed);
-    }
-
-    public BigDecimal getNetBalance() {
+    public Money getNetBalance() {
         return netBalance;
     }
 
-    public void setNetBalance(BigDecimal netBalance) {
-        this.netBalance = netBalance;
-    }
-
     public boolean isCreditor() {
-        return netBalance.compareTo(BigDecimal.ZERO) > 0;
+        return netBalance.isPositive();
     }
 
     public boolean isDebtor() {
-        return netBalance.compareTo(BigDecimal.ZERO) < 0;
+        return netBalance.isNegative();
     }
 
     public boolean isSettled() {
-        return netBalance.compareTo(BigDecimal.ZERO) == 0;
+        return netBalance.isZero();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.billsplitting.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * The summed paid and owed deltas of one member over a range of ledger events.
+ * Amounts cross into {@link Money} at this boundary.
+ */
+public class MemberLedgerDelta {
+    private final Long memberId;
+    private final String memberName;
+    private final Money paid;
+    private final Money owed;
+
+    public MemberLedgerDelta(Long memberId, String memberName, BigDecimal paid, BigDecimal owed) {
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.paid = Money.ofNullable(paid);
+        this.owed = Money.ofNullable(owed);
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public Money getPaid() {
+        return paid;
+    }
+
+    public Money getOwed() {
+        return owed;
+    }
+}
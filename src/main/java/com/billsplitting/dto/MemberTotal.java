@@ -0,0 +1,32 @@
+package com.billsplitting.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-member aggregate produced by the GROUP BY member projection queries.
+ * A member with no matching rows comes back from the LEFT JOIN with a null sum,
+ * which is normalised to zero here. Amounts cross into {@link Money} at this boundary.
+ */
+public class MemberTotal {
+    private final Long memberId;
+    private final String memberName;
+    private final Money amount;
+
+    public MemberTotal(Long memberId, String memberName, BigDecimal amount) {
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.amount = Money.ofNullable(amount);
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,178 @@
+package com.billsplitting.dto;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Immutable INR amount held as a whole number of paise. All arithmetic is exact and throws
+ * {@link ArithmeticException} on overflow; conversion to and from {@link BigDecimal} happens
+ * only at the JPA and MCP boundaries.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+
+    private final long paise;
+
+    private Money(long paise) {
+        this.paise = paise;
+    }
+
+    public static Money ofPaise(long paise) {
+        return paise == 0 ? ZERO : new Money(paise);
+    }
+
+    /**
+     * Converts an amount with at most two significant decimal places.
+     *
+     * @throws ArithmeticException if the amount has sub-paisa precision or does not fit in a long
+     */
+    public static Money of(BigDecimal amount) {
+        return ofPaise(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    public static Money ofNullable(BigDecimal amount) {
+        return amount != null ? of(amount) : ZERO;
+    }
+
+    public long toPaise() {
+        return paise;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(paise, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofPaise(Math.addExact(paise, other.paise));
+    }
+
+    public Money minus(Money other) {
+        return ofPaise(Math.subtractExact(paise, other.paise));
+    }
+
+    public Money times(long factor) {
+        return ofPaise(Math.multiplyExact(paise, factor));
+    }
+
+    public Money negate() {
+        return ofPaise(Math.negateExact(paise));
+    }
+
+    public Money abs() {
+        return paise < 0 ? negate() : this;
+    }
+
+    public Money min(Money other) {
+        return paise <= other.paise ? this : other;
+    }
+
+    public Money max(Money other) {
+        return paise >= other.paise ? this : other;
+    }
+
+    public int signum() {
+        return Long.signum(paise);
+    }
+
+    public boolean isPositive() {
+        return paise > 0;
+    }
+
+    public boolean isNegative() {
+        return paise < 0;
+    }
+
+    public boolean isZero() {
+        return paise == 0;
+    }
+
+    /**
+     * Splits this amount into {@code parts} shares that differ by at most one paisa, handing the
+     * remainder paise to the first shares in order.
+     */
+    public Money[] allocate(int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("Cannot allocate into " + parts + " parts");
+        }
+        long base = paise / parts;
+        long remainder = Math.abs(paise % parts);
+        long step = paise < 0 ? -1 : 1;
+
+        Money[] shares = new Money[parts];
+        for (int i = 0; i < parts; i++) {
+            shares[i] = ofPaise(i < remainder ? base + step : base);
+        }
+        return shares;
+    }
+
+    /**
+     * Splits this amount in proportion to non-negative {@code weights} using the largest-remainder
+     * method: every share is first rounded down, then the leftover paise go to the shares with the
+     * largest fractional parts (earlier index first on ties). Shares always sum to this amount.
+     */
+    public Money[] allocate(long[] weights) {
+        long totalWeight = 0;
+        for (long weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Allocation weights cannot be negative");
+            }
+            totalWeight = Math.addExact(totalWeight, weight);
+        }
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("Allocation weights must not all be zero");
+        }
+
+        long magnitude = Math.abs(paise);
+        long[] shares = new long[weights.length];
+        long[] remainders = new long[weights.length];
+        long allocated = 0;
+        for (int i = 0; i < weights.length; i++) {
+            long product = Math.multiplyExact(magnitude, weights[i]);
+            shares[i] = product / totalWeight;
+            remainders[i] = product % totalWeight;
+            allocated += shares[i];
+        }
+
+        // The leftover is always smaller than the number of shares with a non-zero remainder
+        int leftover = (int) (magnitude - allocated);
+        if (leftover > 0) {
+            Integer[] order = new Integer[weights.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(remainders[b], remainders[a]));
+            for (int i = 0; i < leftover; i++) {
+                shares[order[i]]++;
+            }
+        }
+
+        Money[] result = new Money[weights.length];
+        for (int i = 0; i < shares.length; i++) {
+            result[i] = ofPaise(paise < 0 ? -shares[i] : shares[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && paise == other.paise);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(paise);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
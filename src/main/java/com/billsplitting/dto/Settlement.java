@@ -1,45 +1,31 @@
 package com.billsplitting.dto;
 
-import java.math.BigDecimal;
-
 public class Settlement {
-    private String fromMember;
-    private String toMember;
-    private BigDecimal amount;
+    private final String fromMember;
+    private final String toMember;
+    private final Money amount;
 
-    public Settlement(String fromMember, String toMember, BigDecimal amount) {
+    public Settlement(String fromMember, String toMember, Money amount) {
         this.fromMember = fromMember;
         this.toMember = toMember;
         this.amount = amount;
     }
 
-    // Getters and Setters
+    // Getters
     public String getFromMember() {
         return fromMember;
     }
 
-    public void setFromMember(String fromMember) {
-        this.fromMember = fromMember;
-    }
-
     public String getToMember() {
         return toMember;
     }
 
-    public void setToMember(String toMember) {
-        this.toMember = toMember;
-    }
-
-    public BigDecimal getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
-        this.amount = amount;
-    }
-
     @Override
     public String toString() {
-        return String.format("%s pays ₹%.2f to %s", fromMember, amount, toMember);
+        return String.format("%s pays ₹%s to %s", fromMember, amount, toMember);
     }
-}
\ No newline at end of file
+}
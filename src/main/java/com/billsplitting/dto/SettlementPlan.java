@@ -0,0 +1,28 @@
+package com.billsplitting.dto;
+
+import java.util.List;
+
+public class SettlementPlan {
+    private final String strategy;
+    private final List<Settlement> settlements;
+    private final long solveTimeNanos;
+
+    public SettlementPlan(String strategy, List<Settlement> settlements, long solveTimeNanos) {
+        this.strategy = strategy;
+        this.settlements = settlements;
+        this.solveTimeNanos = solveTimeNanos;
+    }
+
+    // Getters
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public List<Settlement> getSettlements() {
+        return settlements;
+    }
+
+    public long getSolveTimeNanos() {
+        return solveTimeNanos;
+    }
+}
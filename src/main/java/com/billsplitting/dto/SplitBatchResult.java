@@ -0,0 +1,23 @@
+package com.billsplitting.dto;
+
+import com.billsplitting.entity.SplitType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The splits written by one {@code split_expenses_batch} call. It is stored as JSON under the
+ * call's idempotency key; {@code replayed} tells a retried call that nothing was rewritten.
+ */
+public record SplitBatchResult(String idempotencyKey, boolean replayed, List<ExpenseShares> expenses) {
+
+    public SplitBatchResult asReplayed() {
+        return new SplitBatchResult(idempotencyKey, true, expenses);
+    }
+
+    public record ExpenseShares(Long expenseId, SplitType splitType, List<Share> shares) {
+    }
+
+    public record Share(String memberName, BigDecimal amount, BigDecimal percentage, BigDecimal weight) {
+    }
+}
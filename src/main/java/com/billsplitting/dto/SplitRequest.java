@@ -0,0 +1,12 @@
+package com.billsplitting.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * One expense of a {@code split_expenses_batch} call. {@code type} is a {@code SplitType} name;
+ * {@code shares} maps member names to amounts, percentages or weights, only the names count for
+ * EQUAL_SUBSET, and it is left out for EQUAL, which splits among all members.
+ */
+public record SplitRequest(Long expenseId, String type, Map<String, BigDecimal> shares) {
+}
@@ -17,8 +17,10 @@ import java.util.List;
 @Table(name = "expenses")
 public class Expense {
 
+    // Pooled sequence rather than IDENTITY so that imported expenses can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_id_gen")
+    @SequenceGenerator(name = "expenses_id_gen", sequenceName = "expenses_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,6 +3,7 @@ package com.billsplitting.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -35,6 +36,11 @@ public class ExpenseGroup {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Only ever changed by ExpenseGroupRepository.incrementRevision, never by flushing this entity
+    @ColumnDefault("0")
+    @Column(name = "revision", nullable = false, insertable = false, updatable = false)
+    private long revision;
+
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<GroupMember> members = new ArrayList<>();
 
@@ -86,6 +92,10 @@ public class ExpenseGroup {
         return updatedAt;
     }
 
+    public long getRevision() {
+        return revision;
+    }
+
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
@@ -15,8 +15,10 @@ import java.time.LocalDateTime;
 })
 public class ExpenseSplit {
 
+    // Pooled sequence rather than IDENTITY so that split inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_splits_id_gen")
+    @SequenceGenerator(name = "expense_splits_id_gen", sequenceName = "expense_splits_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,6 +39,11 @@ public class ExpenseSplit {
     @Column(name = "percentage", precision = 5, scale = 2)
     private BigDecimal percentage;
 
+    // The member's weight in a SHARES split
+    @DecimalMin(value = "0.0000", message = "Weight cannot be negative")
+    @Column(name = "weight", precision = 12, scale = 4)
+    private BigDecimal weight;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -98,6 +105,14 @@ public class ExpenseSplit {
         this.percentage = percentage;
     }
 
+    public BigDecimal getWeight() {
+        return weight;
+    }
+
+    public void setWeight(BigDecimal weight) {
+        this.weight = weight;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,81 @@
+package com.billsplitting.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "ledger_events")
+public class LedgerEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain ids rather than associations: events are never navigated, and outlive the expense or member
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private LedgerEventType eventType;
+
+    @Column(name = "expense_id")
+    private Long expenseId;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    // Stamped by the JVM once the group row is locked, so it follows the event order within a group
+    @CreationTimestamp
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    @ElementCollection
+    @CollectionTable(name = "ledger_event_deltas", joinColumns = @JoinColumn(name = "event_id"))
+    private List<LedgerEventDelta> deltas = new ArrayList<>();
+
+    // Constructors
+    public LedgerEvent() {}
+
+    public LedgerEvent(Long groupId, LedgerEventType eventType, Long expenseId, Long memberId,
+                       List<LedgerEventDelta> deltas) {
+        this.groupId = groupId;
+        this.eventType = eventType;
+        this.expenseId = expenseId;
+        this.memberId = memberId;
+        this.deltas = deltas;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public LedgerEventType getEventType() {
+        return eventType;
+    }
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public List<LedgerEventDelta> getDeltas() {
+        return deltas;
+    }
+}
@@ -0,0 +1,49 @@
+package com.billsplitting.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+
+@Embeddable
+public class LedgerEventDelta {
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "member_name", nullable = false)
+    private String memberName;
+
+    @Column(name = "paid_delta", nullable = false, precision = 14, scale = 2)
+    private BigDecimal paidDelta;
+
+    @Column(name = "owed_delta", nullable = false, precision = 14, scale = 2)
+    private BigDecimal owedDelta;
+
+    // Constructors
+    public LedgerEventDelta() {}
+
+    public LedgerEventDelta(Long memberId, String memberName, BigDecimal paidDelta, BigDecimal owedDelta) {
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.paidDelta = paidDelta;
+        this.owedDelta = owedDelta;
+    }
+
+    // Getters
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public BigDecimal getPaidDelta() {
+        return paidDelta;
+    }
+
+    public BigDecimal getOwedDelta() {
+        return owedDelta;
+    }
+}
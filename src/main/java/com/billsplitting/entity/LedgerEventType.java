@@ -0,0 +1,12 @@
+package com.billsplitting.entity;
+
+public enum LedgerEventType {
+    EXPENSE_ADDED,
+    EXPENSE_UPDATED,
+    EXPENSE_DELETED,
+    SPLITS_REPLACED,
+    EXPENSES_IMPORTED,
+    MEMBER_ADDED,
+    MEMBER_REMOVED,
+    LEDGER_CORRECTED
+}
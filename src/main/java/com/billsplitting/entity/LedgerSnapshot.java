@@ -0,0 +1,70 @@
+package com.billsplitting.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "ledger_snapshots")
+public class LedgerSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    // The newest event folded into the balances, and when it happened
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @CreationTimestamp
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private LocalDateTime takenAt;
+
+    @ElementCollection
+    @CollectionTable(name = "ledger_snapshot_balances", joinColumns = @JoinColumn(name = "snapshot_id"))
+    private List<LedgerSnapshotBalance> balances = new ArrayList<>();
+
+    // Constructors
+    public LedgerSnapshot() {}
+
+    public LedgerSnapshot(Long groupId, Long lastEventId, LocalDateTime asOf, List<LedgerSnapshotBalance> balances) {
+        this.groupId = groupId;
+        this.lastEventId = lastEventId;
+        this.asOf = asOf;
+        this.balances = balances;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public List<LedgerSnapshotBalance> getBalances() {
+        return balances;
+    }
+}
@@ -0,0 +1,49 @@
+package com.billsplitting.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+
+@Embeddable
+public class LedgerSnapshotBalance {
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "member_name", nullable = false)
+    private String memberName;
+
+    @Column(name = "total_paid", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalPaid;
+
+    @Column(name = "total_owed", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalOwed;
+
+    // Constructors
+    public LedgerSnapshotBalance() {}
+
+    public LedgerSnapshotBalance(Long memberId, String memberName, BigDecimal totalPaid, BigDecimal totalOwed) {
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.totalPaid = totalPaid;
+        this.totalOwed = totalOwed;
+    }
+
+    // Getters
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public BigDecimal getTotalPaid() {
+        return totalPaid;
+    }
+
+    public BigDecimal getTotalOwed() {
+        return totalOwed;
+    }
+}
@@ -0,0 +1,77 @@
+package com.billsplitting.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "member_balances")
+public class MemberBalanceLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Matches V5's ON DELETE CASCADE, so schemas Hibernate generates let members and groups be deleted too
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false, unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private GroupMember member;
+
+    @NotNull(message = "Total paid cannot be null")
+    @Column(name = "total_paid", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+
+    @NotNull(message = "Total owed cannot be null")
+    @Column(name = "total_owed", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalOwed = BigDecimal.ZERO;
+
+    // Constructors
+    public MemberBalanceLedger() {}
+
+    public MemberBalanceLedger(GroupMember member) {
+        this.member = member;
+    }
+
+    public MemberBalanceLedger(GroupMember member, BigDecimal totalPaid, BigDecimal totalOwed) {
+        this.member = member;
+        this.totalPaid = totalPaid;
+        this.totalOwed = totalOwed;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public GroupMember getMember() {
+        return member;
+    }
+
+    public void setMember(GroupMember member) {
+        this.member = member;
+    }
+
+    public BigDecimal getTotalPaid() {
+        return totalPaid;
+    }
+
+    public void setTotalPaid(BigDecimal totalPaid) {
+        this.totalPaid = totalPaid;
+    }
+
+    public BigDecimal getTotalOwed() {
+        return totalOwed;
+    }
+
+    public void setTotalOwed(BigDecimal totalOwed) {
+        this.totalOwed = totalOwed;
+    }
+}
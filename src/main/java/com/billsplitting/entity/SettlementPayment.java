@@ -0,0 +1,41 @@
+package com.billsplitting.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+
+@Embeddable
+public class SettlementPayment {
+
+    @Column(name = "from_member", nullable = false)
+    private String fromMember;
+
+    @Column(name = "to_member", nullable = false)
+    private String toMember;
+
+    @Column(name = "amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+
+    // Constructors
+    public SettlementPayment() {}
+
+    public SettlementPayment(String fromMember, String toMember, BigDecimal amount) {
+        this.fromMember = fromMember;
+        this.toMember = toMember;
+        this.amount = amount;
+    }
+
+    // Getters
+    public String getFromMember() {
+        return fromMember;
+    }
+
+    public String getToMember() {
+        return toMember;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
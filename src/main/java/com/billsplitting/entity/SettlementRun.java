@@ -0,0 +1,80 @@
+package com.billsplitting.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "settlement_runs")
+public class SettlementRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "strategy", nullable = false, length = 50)
+    private String strategy;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "group_count", nullable = false)
+    private int groupCount;
+
+    @Column(name = "load_millis", nullable = false)
+    private long loadMillis;
+
+    @Column(name = "solve_millis", nullable = false)
+    private long solveMillis;
+
+    @OneToMany(mappedBy = "run", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("groupName")
+    private List<SettlementRunGroup> groups = new ArrayList<>();
+
+    // Constructors
+    public SettlementRun() {}
+
+    public SettlementRun(String strategy, LocalDateTime startedAt, long loadMillis, long solveMillis) {
+        this.strategy = strategy;
+        this.startedAt = startedAt;
+        this.loadMillis = loadMillis;
+        this.solveMillis = solveMillis;
+    }
+
+    public void addGroup(SettlementRunGroup group) {
+        group.setRun(this);
+        groups.add(group);
+        groupCount = groups.size();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public int getGroupCount() {
+        return groupCount;
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    public long getSolveMillis() {
+        return solveMillis;
+    }
+
+    public List<SettlementRunGroup> getGroups() {
+        return groups;
+    }
+}
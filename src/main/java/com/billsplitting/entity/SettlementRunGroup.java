@@ -0,0 +1,92 @@
+package com.billsplitting.entity;
+
+import jakarta.persistence.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "settlement_run_groups")
+public class SettlementRunGroup {
+
+    // Pooled sequence rather than IDENTITY so that a run's groups can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "settlement_run_groups_id_gen")
+    @SequenceGenerator(name = "settlement_run_groups_id_gen", sequenceName = "settlement_run_groups_id_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private SettlementRun run;
+
+    // A plain id rather than an association: the run outlives the group and never loads it
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @Column(name = "group_name", nullable = false)
+    private String groupName;
+
+    @Column(name = "group_revision", nullable = false)
+    private long groupRevision;
+
+    @Column(name = "member_count", nullable = false)
+    private int memberCount;
+
+    @Column(name = "solve_micros", nullable = false)
+    private long solveMicros;
+
+    @ElementCollection
+    @CollectionTable(name = "settlement_run_payments", joinColumns = @JoinColumn(name = "run_group_id"))
+    @OrderColumn(name = "payment_order")
+    private List<SettlementPayment> payments = new ArrayList<>();
+
+    // Constructors
+    public SettlementRunGroup() {}
+
+    public SettlementRunGroup(Long groupId, String groupName, long groupRevision, int memberCount,
+                              long solveMicros, List<SettlementPayment> payments) {
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.groupRevision = groupRevision;
+        this.memberCount = memberCount;
+        this.solveMicros = solveMicros;
+        this.payments = payments;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public SettlementRun getRun() {
+        return run;
+    }
+
+    public void setRun(SettlementRun run) {
+        this.run = run;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public long getGroupRevision() {
+        return groupRevision;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public long getSolveMicros() {
+        return solveMicros;
+    }
+
+    public List<SettlementPayment> getPayments() {
+        return payments;
+    }
+}
@@ -2,6 +2,8 @@ package com.billsplitting.entity;
 
 public enum SplitType {
     EQUAL,
+    EQUAL_SUBSET,
     AMOUNT,
-    PERCENTAGE
-}
\ No newline at end of file
+    PERCENTAGE,
+    SHARES
+}
@@ -0,0 +1,15 @@
+package com.billsplitting.exception;
+
+public class InvalidImportRowException extends RuntimeException {
+
+    private final long lineNumber;
+
+    public InvalidImportRowException(long lineNumber, String message) {
+        super(message);
+        this.lineNumber = lineNumber;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
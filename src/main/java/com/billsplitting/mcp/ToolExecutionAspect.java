@@ -0,0 +1,98 @@
+package com.billsplitting.mcp;
+
+import com.billsplitting.exception.ServerBusyException;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@code @McpTool} method behind a fair semaphore sized to the connection pool, so a
+ * burst of concurrent calls queues here instead of timing out inside Hikari. In {@code virtual}
+ * mode the method body also runs on a virtual thread; callers that already are one (the MCP
+ * scheduler, see {@code ToolExecutionEnvironmentPostProcessor}) run it in place.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ToolExecutionAspect {
+
+    public static final String PLATFORM = "platform";
+    public static final String VIRTUAL = "virtual";
+
+    private final boolean virtual;
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private final ExecutorService virtualThreads;
+
+    public ToolExecutionAspect(@Value("${billsplitting.tools.execution:platform}") String execution,
+                               @Value("${billsplitting.tools.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+                               @Value("${billsplitting.tools.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        if (!PLATFORM.equals(execution) && !VIRTUAL.equals(execution)) {
+            throw new IllegalArgumentException("billsplitting.tools.execution must be 'platform' or 'virtual'");
+        }
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("billsplitting.tools.max-concurrent must be at least 1");
+        }
+        this.virtual = VIRTUAL.equals(execution);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.virtualThreads = virtual
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mcp-tool-", 0).factory())
+                : null;
+    }
+
+    @Around("@annotation(org.springaicommunity.mcp.annotation.McpTool)")
+    public Object execute(ProceedingJoinPoint call) throws Throwable {
+        if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new ServerBusyException("Too many concurrent tool calls, try again shortly");
+        }
+        try {
+            if (virtual && !Thread.currentThread().isVirtual()) {
+                return onVirtualThread(call);
+            }
+            return call.proceed();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Object onVirtualThread(ProceedingJoinPoint call) throws Throwable {
+        Future<Object> result = virtualThreads.submit(() -> {
+            try {
+                return call.proceed();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        });
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (virtualThreads != null) {
+            virtualThreads.shutdownNow();
+        }
+    }
+}
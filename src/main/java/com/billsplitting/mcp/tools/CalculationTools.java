@@ -1,38 +1,51 @@
 package com.billsplitting.mcp.tools;
 
+import com.billsplitting.dto.ExpenseHistoryCursor;
+import com.billsplitting.dto.ExpenseHistoryPage;
+import com.billsplitting.dto.LedgerDrift;
 import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
 import com.billsplitting.dto.Settlement;
+import com.billsplitting.dto.SettlementPlan;
 import com.billsplitting.service.CalculationService;
+import com.billsplitting.service.ExpenseService;
 import org.springaicommunity.mcp.annotation.McpArg;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
 public class CalculationTools {
 
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+
     private final CalculationService calculationService;
+    private final ExpenseService expenseService;
 
-    public CalculationTools(CalculationService calculationService) {
+    public CalculationTools(CalculationService calculationService, ExpenseService expenseService) {
         this.calculationService = calculationService;
+        this.expenseService = expenseService;
     }
 
     @McpTool(name = "calculate_group_totals", description = "Calculate total expenses and member balances for a group")
     public GroupTotalsResponse calculateGroupTotals(
             @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName) {
         Map<String, MemberBalance> balances = calculationService.calculateGroupTotals(groupName);
-        BigDecimal totalExpenses = calculationService.getTotalGroupExpenses(groupName);
+        Money totalExpenses = calculationService.getTotalGroupExpenses(groupName);
         
         List<MemberBalanceDetail> memberBalances = balances.values().stream()
-                .map(balance -> new MemberBalanceDetail(balance.getMemberName(), balance.getTotalPaid(),
-                        balance.getTotalOwed(), balance.getNetBalance()))
+                .map(this::toMemberBalanceDetail)
                 .collect(Collectors.toList());
         
-        return new GroupTotalsResponse(groupName, totalExpenses, memberBalances);
+        return new GroupTotalsResponse(groupName, totalExpenses.toBigDecimal(), memberBalances);
     }
 
     @McpTool(name = "get_member_balance", description = "Get balance details for a specific member")
@@ -40,31 +53,109 @@ public class CalculationTools {
             @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName,
             @McpArg(name = "memberName", description = "Name of the member", required = true) String memberName) {
         MemberBalance balance = calculationService.calculateMemberBalance(groupName, memberName);
-        return new MemberBalanceDetail(balance.getMemberName(), balance.getTotalPaid(),
-                balance.getTotalOwed(), balance.getNetBalance());
+        return toMemberBalanceDetail(balance);
     }
 
     @McpTool(name = "generate_settlement_summary", description = "Generate a final settlement summary with payment recommendations")
     public SettlementSummaryResponse generateSettlementSummary(
-            @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName) {
-        List<Settlement> settlements = calculationService.generateSettlementPlan(groupName);
-        BigDecimal totalExpenses = calculationService.getTotalGroupExpenses(groupName);
+            @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName,
+            @McpArg(name = "strategy", description = "Settlement strategy: greedy, largest-first or optimal (fewest payments)", required = false) String strategy) {
+        SettlementPlan plan = calculationService.generateSettlementPlan(groupName, strategy);
+        List<Settlement> settlements = plan.getSettlements();
+        Money totalExpenses = calculationService.getTotalGroupExpenses(groupName);
         
         List<SettlementDetail> settlementDetails = settlements.stream()
                 .map(settlement -> new SettlementDetail(settlement.getFromMember(), 
-                        settlement.getToMember(), settlement.getAmount()))
+                        settlement.getToMember(), settlement.getAmount().toBigDecimal()))
                 .collect(Collectors.toList());
         
-        return new SettlementSummaryResponse(groupName, totalExpenses, settlementDetails,
+        return new SettlementSummaryResponse(groupName, totalExpenses.toBigDecimal(), settlementDetails,
+                plan.getStrategy(), TimeUnit.NANOSECONDS.toMicros(plan.getSolveTimeNanos()),
                 "Settlement plan generated with " + settlements.size() + " transactions");
     }
 
-    @McpTool(name = "get_expense_history", description = "Get expense history for a group or all groups")
+    @McpTool(name = "get_expense_history", description = "Get a group's expenses newest first, one page at a time. " +
+            "Pass the returned nextCursor to get the following page")
     public ExpenseHistoryResponse getExpenseHistory(
+            @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName,
+            @McpArg(name = "cursor", description = "nextCursor of the previous page; omit for the newest expenses", required = false) String cursor,
+            @McpArg(name = "limit", description = "Expenses per page, 1 to 500 (default 50)", required = false) Integer limit,
+            @McpArg(name = "from", description = "Only expenses created on or after this date (yyyy-MM-dd or ISO date-time)", required = false) String from,
+            @McpArg(name = "to", description = "Only expenses created up to this date, inclusive (yyyy-MM-dd), or before this ISO date-time", required = false) String to,
+            @McpArg(name = "paidBy", description = "Only expenses paid by this member", required = false) String paidBy) {
+        ExpenseHistoryPage page = expenseService.getExpenseHistory(groupName, blankToNull(paidBy),
+                parseBound(from, false), parseBound(to, true),
+                cursor == null || cursor.isBlank() ? null : ExpenseHistoryCursor.decode(cursor),
+                limit != null ? limit : DEFAULT_HISTORY_PAGE_SIZE);
+
+        List<ExpenseHistoryDetail> expenses = page.getEntries().stream()
+                .map(entry -> new ExpenseHistoryDetail(entry.getId(), entry.getDescription(),
+                        entry.getAmount().toBigDecimal(), entry.getPaidBy(), entry.getSplitType().toString(),
+                        entry.getSplitCount(), entry.getCreatedAt().toString()))
+                .collect(Collectors.toList());
+
+        return new ExpenseHistoryResponse(groupName, expenses,
+                page.hasMore() ? page.getNextCursor().encode() : null, page.hasMore());
+    }
+
+    @McpTool(name = "get_balances_at", description = "Get a group's member balances as they stood at a past moment, " +
+            "replayed from the ledger history")
+    public BalancesAtResponse getBalancesAt(
+            @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName,
+            @McpArg(name = "at", description = "yyyy-MM-dd for the end of that day, or an ISO date-time", required = true) String at) {
+        LocalDateTime until = parseBound(at, true);
+        if (until == null) {
+            throw new IllegalArgumentException("A date or date-time is required");
+        }
+        List<MemberBalanceDetail> memberBalances = calculationService.calculateGroupTotalsBefore(groupName, until).stream()
+                .map(this::toMemberBalanceDetail)
+                .collect(Collectors.toList());
+        
+        return new BalancesAtResponse(groupName, until.toString(), memberBalances);
+    }
+
+    @McpTool(name = "reconcile_member_balances", description = "Rebuild the stored member balances of a group from its expenses and report any drift")
+    public ReconcileBalancesResponse reconcileMemberBalances(
             @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName) {
-        // This would integrate with ExpenseService to get detailed expense history
-        // For now, returning a placeholder structure
-        return new ExpenseHistoryResponse(groupName, "Expense history retrieved");
+        List<LedgerDrift> drift = calculationService.reconcileGroupBalances(groupName);
+        
+        List<BalanceDriftDetail> driftDetails = drift.stream()
+                .map(d -> new BalanceDriftDetail(d.getMemberName(), d.getLedgerPaid().toBigDecimal(),
+                        d.getActualPaid().toBigDecimal(), d.getLedgerOwed().toBigDecimal(),
+                        d.getActualOwed().toBigDecimal()))
+                .collect(Collectors.toList());
+        
+        return new ReconcileBalancesResponse(groupName, driftDetails,
+                drift.isEmpty() ? "Member balances are consistent" : "Corrected " + drift.size() + " member balances");
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Accepts an ISO date or date-time. A plain date as upper bound covers that whole day, so the
+     * (exclusive) bound becomes the start of the next day.
+     */
+    private static LocalDateTime parseBound(String value, boolean upper) {
+        String bound = blankToNull(value);
+        if (bound == null) {
+            return null;
+        }
+        try {
+            if (bound.length() == 10) {
+                LocalDate date = LocalDate.parse(bound);
+                return upper ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(bound);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + value + "', expected yyyy-MM-dd or an ISO date-time");
+        }
+    }
+
+    private MemberBalanceDetail toMemberBalanceDetail(MemberBalance balance) {
+        return new MemberBalanceDetail(balance.getMemberName(), balance.getTotalPaid().toBigDecimal(),
+                balance.getTotalOwed().toBigDecimal(), balance.getNetBalance().toBigDecimal());
     }
 
     public record GroupTotalsResponse(
@@ -73,6 +164,12 @@ public class CalculationTools {
             List<MemberBalanceDetail> memberBalances
     ) {}
 
+    public record BalancesAtResponse(
+            String groupName,
+            String before,
+            List<MemberBalanceDetail> memberBalances
+    ) {}
+
     public record MemberBalanceDetail(
             String memberName,
             BigDecimal totalPaid,
@@ -84,6 +181,8 @@ public class CalculationTools {
             String groupName,
             BigDecimal totalExpenses,
             List<SettlementDetail> settlements,
+            String strategy,
+            long solveTimeMicros,
             String message
     ) {}
 
@@ -93,8 +192,34 @@ public class CalculationTools {
             BigDecimal amount
     ) {}
 
-    public record ExpenseHistoryResponse(
+    public record ReconcileBalancesResponse(
             String groupName,
+            List<BalanceDriftDetail> drift,
             String message
     ) {}
+
+    public record BalanceDriftDetail(
+            String memberName,
+            BigDecimal ledgerPaid,
+            BigDecimal actualPaid,
+            BigDecimal ledgerOwed,
+            BigDecimal actualOwed
+    ) {}
+
+    public record ExpenseHistoryResponse(
+            String groupName,
+            List<ExpenseHistoryDetail> expenses,
+            String nextCursor,
+            boolean hasMore
+    ) {}
+
+    public record ExpenseHistoryDetail(
+            Long id,
+            String description,
+            BigDecimal amount,
+            String paidBy,
+            String splitType,
+            int splitCount,
+            String createdAt
+    ) {}
 }
\ No newline at end of file
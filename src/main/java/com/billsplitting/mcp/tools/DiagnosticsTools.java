@@ -0,0 +1,35 @@
+package com.billsplitting.mcp.tools;
+
+import com.billsplitting.service.CacheStatisticsService;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class DiagnosticsTools {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public DiagnosticsTools(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @McpTool(name = "get_cache_statistics", description = "Show hit, miss and eviction counts of the server's lookup caches")
+    public List<CacheStatisticsDetail> getCacheStatistics() {
+        return cacheStatisticsService.getCacheStatistics().stream()
+                .map(stats -> new CacheStatisticsDetail(stats.getCacheName(), stats.getSize(), stats.getHits(),
+                        stats.getMisses(), stats.getHitRate(), stats.getEvictions()))
+                .collect(Collectors.toList());
+    }
+
+    public record CacheStatisticsDetail(
+            String cacheName,
+            long size,
+            long hits,
+            long misses,
+            double hitRate,
+            long evictions
+    ) {}
+}
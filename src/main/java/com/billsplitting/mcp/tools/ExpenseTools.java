@@ -1,12 +1,15 @@
 package com.billsplitting.mcp.tools;
 
+import com.billsplitting.dto.ExpenseImportResult;
 import com.billsplitting.entity.Expense;
 import com.billsplitting.service.ExpenseService;
+import com.billsplitting.service.importer.ImportFormat;
 import org.springaicommunity.mcp.annotation.McpArg;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -52,13 +55,36 @@ public class ExpenseTools {
     @McpTool(name = "list_expenses", description = "List all expenses for a group")
     public List<ExpenseSummary> listExpenses(
             @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName) {
-        return expenseService.getExpensesByGroup(groupName).stream()
-                .map(expense -> new ExpenseSummary(expense.getId(), expense.getDescription(), 
-                        expense.getAmount(), expense.getPaidByMember().getMemberName(),
+        return expenseService.getExpenseSummariesByGroup(groupName).stream()
+                .map(expense -> new ExpenseSummary(expense.getId(), expense.getDescription(),
+                        expense.getAmount().toBigDecimal(), expense.getPaidBy(),
                         expense.getSplitType().toString(), expense.getCreatedAt().toString()))
                 .collect(Collectors.toList());
     }
 
+    @McpTool(name = "import_expenses", description = "Bulk import expenses and their splits from a local CSV or JSONL file. " +
+            "Columns/keys: group, description, amount, paidBy, splitType (EQUAL, AMOUNT, PERCENTAGE or SHARES, default EQUAL) " +
+            "and splits (e.g. 'Alice=40;Bob=60', or 'Alice;Bob' for an equal split; empty splits equally among all members). " +
+            "Invalid rows are reported by line number and skipped")
+    public ImportExpensesResponse importExpenses(
+            @McpArg(name = "filePath", description = "Path of the file to import on the server's file system; " +
+                    "relative to the server's import directory, and confined to it, when one is configured", required = true) String filePath,
+            @McpArg(name = "format", description = "csv or jsonl; guessed from the file extension when omitted", required = false) String format) {
+        Path path = Path.of(filePath);
+        ExpenseImportResult result = expenseService.importExpenses(path, ImportFormat.resolve(format, path));
+        
+        long rowsPerSecond = result.getElapsedMillis() > 0
+                ? result.getImported() * 1000L / result.getElapsedMillis()
+                : result.getImported();
+        List<ImportErrorDetail> errors = result.getErrors().stream()
+                .map(error -> new ImportErrorDetail(error.getLineNumber(), error.getMessage()))
+                .collect(Collectors.toList());
+        
+        return new ImportExpensesResponse(result.getImported(), result.getFailed(), result.getElapsedMillis(),
+                rowsPerSecond, errors,
+                "Imported " + result.getImported() + " expenses, " + result.getFailed() + " rows failed");
+    }
+
     public record AddExpenseResponse(
             Long id,
             String description,
@@ -89,4 +115,18 @@ public class ExpenseTools {
             String splitType,
             String createdAt
     ) {}
-}
\ No newline at end of file
+
+    public record ImportExpensesResponse(
+            int imported,
+            int failed,
+            long elapsedMillis,
+            long rowsPerSecond,
+            List<ImportErrorDetail> errors,
+            String message
+    ) {}
+
+    public record ImportErrorDetail(
+            long line,
+            String message
+    ) {}
+}
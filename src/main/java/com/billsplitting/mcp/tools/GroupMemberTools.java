@@ -38,7 +38,7 @@ public class GroupMemberTools {
     @McpTool(name = "list_group_members", description = "List all members in an expense group")
     public List<GroupMemberSummary> listGroupMembers(
             @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName) {
-        return groupMemberService.listMembers(groupName).stream()
+        return groupMemberService.listMemberViews(groupName).stream()
                 .map(member -> new GroupMemberSummary(member.getId(), member.getMemberName(), 
                         member.getCreatedAt().toString()))
                 .collect(Collectors.toList());
@@ -0,0 +1,61 @@
+package com.billsplitting.mcp.tools;
+
+import com.billsplitting.entity.SettlementRun;
+import com.billsplitting.service.SettlementRunService;
+import org.springaicommunity.mcp.annotation.McpArg;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class SettlementTools {
+
+    private final SettlementRunService settlementRunService;
+
+    public SettlementTools(SettlementRunService settlementRunService) {
+        this.settlementRunService = settlementRunService;
+    }
+
+    @McpTool(name = "run_settlements", description = "Generate settlement plans for many groups at once and store them as a settlement run")
+    public SettlementRunResponse runSettlements(
+            @McpArg(name = "groupNames", description = "Names of the groups to settle, or [\"all\"] for every group", required = true) List<String> groupNames,
+            @McpArg(name = "strategy", description = "Settlement strategy: greedy, largest-first or optimal (fewest payments)", required = false) String strategy) {
+        SettlementRun run = settlementRunService.runSettlements(groupNames, strategy);
+
+        List<GroupSettlementDetail> groups = run.getGroups().stream()
+                .map(group -> new GroupSettlementDetail(group.getGroupName(), group.getMemberCount(),
+                        group.getSolveMicros(), group.getPayments().stream()
+                                .map(payment -> new PaymentDetail(payment.getFromMember(), payment.getToMember(),
+                                        payment.getAmount()))
+                                .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+
+        return new SettlementRunResponse(run.getId(), run.getStrategy(), run.getGroupCount(),
+                run.getLoadMillis(), run.getSolveMillis(), groups);
+    }
+
+    public record SettlementRunResponse(
+            Long runId,
+            String strategy,
+            int groupCount,
+            long loadMillis,
+            long solveMillis,
+            List<GroupSettlementDetail> groups
+    ) {}
+
+    public record GroupSettlementDetail(
+            String groupName,
+            int memberCount,
+            long solveMicros,
+            List<PaymentDetail> payments
+    ) {}
+
+    public record PaymentDetail(
+            String fromMember,
+            String toMember,
+            BigDecimal amount
+    ) {}
+}
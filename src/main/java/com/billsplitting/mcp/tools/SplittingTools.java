@@ -1,7 +1,11 @@
 package com.billsplitting.mcp.tools;
 
+import com.billsplitting.dto.GroupResplitResult;
+import com.billsplitting.dto.SplitBatchResult;
+import com.billsplitting.dto.SplitRequest;
 import com.billsplitting.entity.ExpenseSplit;
 import com.billsplitting.service.ExpenseSplitService;
+import com.billsplitting.service.SplitBatchService;
 import org.springaicommunity.mcp.annotation.McpArg;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springframework.stereotype.Component;
@@ -15,9 +19,11 @@ import java.util.stream.Collectors;
 public class SplittingTools {
 
     private final ExpenseSplitService expenseSplitService;
+    private final SplitBatchService splitBatchService;
 
-    public SplittingTools(ExpenseSplitService expenseSplitService) {
+    public SplittingTools(ExpenseSplitService expenseSplitService, SplitBatchService splitBatchService) {
         this.expenseSplitService = expenseSplitService;
+        this.splitBatchService = splitBatchService;
     }
 
     @McpTool(name = "split_expense_equally", description = "Split an expense equally among all group members")
@@ -61,6 +67,66 @@ public class SplittingTools {
         return new SplitExpenseResponse(expenseId, "PERCENTAGE", splitDetails, "Expense split by percentages");
     }
 
+    @McpTool(name = "split_expense_by_shares", description = "Split an expense in proportion to each member's shares, e.g. 2:1:1")
+    public SplitExpenseResponse splitExpenseByShares(
+            @McpArg(name = "expenseId", description = "ID of the expense to split", required = true) Long expenseId,
+            @McpArg(name = "memberShares", description = "Map of member names to their share weights, e.g. {\"Asha\": 2, \"Ben\": 1}", required = true) Map<String, BigDecimal> memberShares) {
+        expenseSplitService.splitByShares(expenseId, memberShares);
+        List<ExpenseSplit> splits = expenseSplitService.getSplitsByExpense(expenseId);
+        
+        List<SplitDetail> splitDetails = splits.stream()
+                .map(split -> new SplitDetail(split.getMember().getMemberName(), split.getAmount(), null, split.getWeight()))
+                .collect(Collectors.toList());
+        
+        return new SplitExpenseResponse(expenseId, "SHARES", splitDetails, "Expense split by shares");
+    }
+
+    @McpTool(name = "split_expense_equally_among", description = "Split an expense equally among some of the group's members")
+    public SplitExpenseResponse splitExpenseEquallyAmong(
+            @McpArg(name = "expenseId", description = "ID of the expense to split", required = true) Long expenseId,
+            @McpArg(name = "memberNames", description = "Names of the members sharing the expense", required = true) List<String> memberNames) {
+        expenseSplitService.splitEquallyAmong(expenseId, memberNames);
+        List<ExpenseSplit> splits = expenseSplitService.getSplitsByExpense(expenseId);
+        
+        List<SplitDetail> splitDetails = splits.stream()
+                .map(split -> new SplitDetail(split.getMember().getMemberName(), split.getAmount()))
+                .collect(Collectors.toList());
+        
+        return new SplitExpenseResponse(expenseId, "EQUAL_SUBSET", splitDetails,
+                "Expense split equally among " + splitDetails.size() + " members");
+    }
+
+    @McpTool(name = "split_expenses_batch", description = "Split many expenses in one call and one transaction. " +
+            "Retrying with the same idempotencyKey returns the stored result instead of splitting again")
+    public SplitBatchResponse splitExpensesBatch(
+            @McpArg(name = "idempotencyKey", description = "Unique key for this batch, reused only when retrying it", required = true) String idempotencyKey,
+            @McpArg(name = "splits", description = "Expenses to split: expenseId, type (EQUAL, EQUAL_SUBSET, AMOUNT, PERCENTAGE " +
+                    "or SHARES) and shares mapping member names to amounts, percentages or weights (leave out for EQUAL; " +
+                    "for EQUAL_SUBSET only the names count)", required = true) List<SplitRequest> splits) {
+        SplitBatchResult result = splitBatchService.splitBatch(idempotencyKey, splits);
+        
+        List<SplitExpenseResponse> expenses = result.expenses().stream()
+                .map(expense -> new SplitExpenseResponse(expense.expenseId(), expense.splitType().name(),
+                        expense.shares().stream()
+                                .map(share -> new SplitDetail(share.memberName(), share.amount(), share.percentage(), share.weight()))
+                                .collect(Collectors.toList()),
+                        null))
+                .collect(Collectors.toList());
+        
+        return new SplitBatchResponse(result.idempotencyKey(), result.replayed(), expenses,
+                result.replayed() ? "Batch already applied, returning the stored result"
+                        : "Split " + expenses.size() + " expenses");
+    }
+
+    @McpTool(name = "resplit_group", description = "Re-split every equally split expense of a group among its current members, " +
+            "e.g. after someone joined mid-trip")
+    public ResplitGroupResponse resplitGroup(
+            @McpArg(name = "groupName", description = "Name of the expense group", required = true) String groupName) {
+        GroupResplitResult result = expenseSplitService.resplitGroup(groupName);
+        return new ResplitGroupResponse(groupName, result.getExpenses(), result.getSplits(),
+                "Re-split " + result.getExpenses() + " expenses equally among current members");
+    }
+
     public record SplitExpenseResponse(
             Long expenseId,
             String splitType,
@@ -71,11 +137,30 @@ public class SplittingTools {
     public record SplitDetail(
             String memberName,
             BigDecimal amount,
-            BigDecimal percentage
+            BigDecimal percentage,
+            BigDecimal weight
     ) {
         // Constructor for splits without percentage
         public SplitDetail(String memberName, BigDecimal amount) {
-            this(memberName, amount, null);
+            this(memberName, amount, null, null);
+        }
+
+        public SplitDetail(String memberName, BigDecimal amount, BigDecimal percentage) {
+            this(memberName, amount, percentage, null);
         }
     }
-}
\ No newline at end of file
+
+    public record SplitBatchResponse(
+            String idempotencyKey,
+            boolean replayed,
+            List<SplitExpenseResponse> expenses,
+            String message
+    ) {}
+
+    public record ResplitGroupResponse(
+            String groupName,
+            int expensesResplit,
+            int splitsWritten,
+            String message
+    ) {}
+}
@@ -0,0 +1,59 @@
+package com.billsplitting.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Records how many rows each query method of the application's repositories returns. Query
+ * latency per repository method is already timed by Spring Boot as
+ * {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.billsplitting.repository..*Repository.*(..))")
+    public Object countRows(ProceedingJoinPoint call) throws Throwable {
+        Object result = call.proceed();
+        int rows = rows(result);
+        if (rows >= 0) {
+            DistributionSummary.builder("repository.rows")
+                    .description("Rows returned per repository query")
+                    .tags("repository", call.getSignature().getDeclaringType().getSimpleName(),
+                            "method", call.getSignature().getName())
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+        return result;
+    }
+
+    /**
+     * Row count of a query result, or -1 for results that are not rows (counts, sums, void).
+     */
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
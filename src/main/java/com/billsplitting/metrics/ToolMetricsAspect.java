@@ -0,0 +1,83 @@
+package com.billsplitting.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a timer, an error counter and the number of SQL statements per {@code @McpTool} call,
+ * and logs the arguments of calls slower than {@code billsplitting.metrics.slow-call-threshold-ms}.
+ * It runs inside {@code ToolExecutionAspect}, on the thread that executes the tool body, so the
+ * statement count and the timer exclude the wait for an execution permit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ToolMetricsAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(ToolMetricsAspect.class);
+
+    private static final int MAX_LOGGED_ARGUMENTS_LENGTH = 2000;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowCallThresholdNanos;
+
+    public ToolMetricsAspect(MeterRegistry meterRegistry,
+                             @Value("${billsplitting.metrics.slow-call-threshold-ms:1000}") long slowCallThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMillis);
+    }
+
+    @Around("@annotation(tool)")
+    public Object record(ProceedingJoinPoint call, McpTool tool) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.open()) {
+            try {
+                return call.proceed();
+            } catch (Throwable t) {
+                outcome = "error";
+                meterRegistry.counter("mcp.tool.errors", "tool", tool.name(), "exception", t.getClass().getSimpleName())
+                        .increment();
+                throw t;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                Timer.builder("mcp.tool.calls")
+                        .description("MCP tool call latency")
+                        .tags("tool", tool.name(), "outcome", outcome)
+                        .register(meterRegistry)
+                        .record(elapsed, TimeUnit.NANOSECONDS);
+                DistributionSummary.builder("mcp.tool.sql.statements")
+                        .description("SQL statements prepared by Hibernate per MCP tool call")
+                        .tag("tool", tool.name())
+                        .register(meterRegistry)
+                        .record(statements.getCount());
+
+                if (elapsed >= slowCallThresholdNanos) {
+                    log.warn("Slow tool call {} took {} ms with {} SQL statements ({}), arguments {}", tool.name(),
+                            TimeUnit.NANOSECONDS.toMillis(elapsed), statements.getCount(), outcome, arguments(call));
+                }
+            }
+        }
+    }
+
+    private static String arguments(ProceedingJoinPoint call) {
+        String arguments = Arrays.deepToString(call.getArgs());
+        return arguments.length() <= MAX_LOGGED_ARGUMENTS_LENGTH
+                ? arguments
+                : arguments.substring(0, MAX_LOGGED_ARGUMENTS_LENGTH) + "...";
+    }
+}
@@ -1,20 +1,36 @@
 package com.billsplitting.repository;
 
+import com.billsplitting.config.CacheConfig;
+import com.billsplitting.dto.GroupRevision;
 import com.billsplitting.entity.ExpenseGroup;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ExpenseGroupRepository extends JpaRepository<ExpenseGroup, Long> {
     
+    @Cacheable(cacheNames = CacheConfig.GROUPS_BY_NAME, unless = "#result == null")
     Optional<ExpenseGroup> findByName(String name);
     
+    // Bypasses the name cache, so a write loads its own managed copy instead of changing the shared one
+    @Query("SELECT g FROM ExpenseGroup g WHERE g.name = :name")
+    Optional<ExpenseGroup> findByNameForUpdate(@Param("name") String name);
+    
     boolean existsByName(String name);
     
+    List<ExpenseGroup> findByNameIn(Collection<String> names);
+    
+    List<ExpenseGroup> findAllByOrderByNameAsc();
+    
     @Query("SELECT g FROM ExpenseGroup g LEFT JOIN FETCH g.members WHERE g.name = :name")
     Optional<ExpenseGroup> findByNameWithMembers(@Param("name") String name);
     
@@ -23,4 +39,23 @@ public interface ExpenseGroupRepository extends JpaRepository<ExpenseGroup, Long
     
     @Query("SELECT g FROM ExpenseGroup g LEFT JOIN FETCH g.members LEFT JOIN FETCH g.expenses WHERE g.name = :name")
     Optional<ExpenseGroup> findByNameWithMembersAndExpenses(@Param("name") String name);
+    
+    @Query("SELECT m.memberName FROM GroupMember m WHERE m.group.id = :groupId")
+    List<String> findMemberNamesByGroupId(@Param("groupId") Long groupId);
+    
+    @Query("SELECT new com.billsplitting.dto.GroupRevision(g.id, g.revision) FROM ExpenseGroup g WHERE g.name = :name")
+    Optional<GroupRevision> findRevisionByName(@Param("name") String name);
+    
+    // Ledger writers take these row locks before touching member_balances; several groups lock in id order
+    @Query(value = "SELECT id FROM expense_groups WHERE id IN (:groupIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockGroups(@Param("groupIds") Collection<Long> groupIds);
+    
+    @Query(value = "SELECT id FROM expense_groups WHERE name = :name FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockGroupByName(@Param("name") String name);
+    
+    // The eviction waits for the commit, so a rolled back write leaves the working set in place
+    @Modifying
+    @CacheEvict(cacheNames = CacheConfig.HOT_GROUPS, key = "#p0")
+    @Query(value = "UPDATE expense_groups SET revision = revision + 1 WHERE id = :groupId", nativeQuery = true)
+    void incrementRevision(@Param("groupId") Long groupId);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.billsplitting.repository;
 
+import com.billsplitting.dto.ExpenseHistoryEntry;
+import com.billsplitting.dto.MemberTotal;
 import com.billsplitting.entity.Expense;
 import com.billsplitting.entity.SplitType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,20 +12,35 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseRepositoryCustom {
     
     List<Expense> findByGroupId(Long groupId);
     
+    @EntityGraph(attributePaths = "paidByMember")
     @Query("SELECT e FROM Expense e WHERE e.group.name = :groupName ORDER BY e.createdAt DESC")
     List<Expense> findByGroupNameOrderByCreatedAtDesc(@Param("groupName") String groupName);
     
+    @Query("SELECT new com.billsplitting.dto.ExpenseHistoryEntry(e.id, e.description, e.amount, p.memberName, " +
+           "e.splitType, SIZE(e.splits), e.createdAt) FROM Expense e JOIN e.paidByMember p " +
+           "WHERE e.group.name = :groupName ORDER BY e.createdAt DESC, e.id DESC")
+    List<ExpenseHistoryEntry> findHistoryByGroupName(@Param("groupName") String groupName);
+    
+    // Tool responses and split paths read the group and payer of the expense they look up
+    @EntityGraph(attributePaths = {"group", "paidByMember"})
+    Optional<Expense> findWithGroupAndPayerById(Long id);
+    
+    @EntityGraph(attributePaths = {"group", "paidByMember"})
+    List<Expense> findWithGroupAndPayerByIdIn(Collection<Long> ids);
+    
     @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.splits WHERE e.id = :expenseId")
     Optional<Expense> findByIdWithSplits(@Param("expenseId") Long expenseId);
     
+    @EntityGraph(attributePaths = "paidByMember")
     @Query("SELECT e FROM Expense e WHERE e.group.id = :groupId AND e.createdAt BETWEEN :startDate AND :endDate")
     List<Expense> findByGroupIdAndDateRange(@Param("groupId") Long groupId, 
                                           @Param("startDate") LocalDateTime startDate, 
@@ -37,6 +55,14 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query("SELECT e FROM Expense e WHERE e.paidByMember.id = :memberId")
     List<Expense> findByPaidByMemberId(@Param("memberId") Long memberId);
     
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.paidByMember.id = :memberId")
+    BigDecimal getTotalPaidByMember(@Param("memberId") Long memberId);
+    
+    @Query("SELECT new com.billsplitting.dto.MemberTotal(m.id, m.memberName, SUM(e.amount)) " +
+           "FROM GroupMember m LEFT JOIN m.paidExpenses e " +
+           "WHERE m.group.name = :groupName GROUP BY m.id, m.memberName")
+    List<MemberTotal> getTotalPaidPerMemberByGroupName(@Param("groupName") String groupName);
+    
     @Query("SELECT e FROM Expense e WHERE e.splitType = :splitType")
     List<Expense> findBySplitType(@Param("splitType") SplitType splitType);
 }
\ No newline at end of file
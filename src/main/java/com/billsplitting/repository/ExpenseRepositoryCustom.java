@@ -0,0 +1,18 @@
+package com.billsplitting.repository;
+
+import com.billsplitting.dto.ExpenseHistoryCursor;
+import com.billsplitting.dto.ExpenseHistoryEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ExpenseRepositoryCustom {
+
+    /**
+     * Up to {@code limit} history rows of a group, newest first by {@code (created_at, id)},
+     * starting after {@code after}. Each filter that is null is left out of the query, so every
+     * combination gets its own plan on the {@code (group_id, created_at, id)} index.
+     */
+    List<ExpenseHistoryEntry> findHistoryPage(Long groupId, Long paidByMemberId, LocalDateTime from,
+                                              LocalDateTime to, ExpenseHistoryCursor after, int limit);
+}
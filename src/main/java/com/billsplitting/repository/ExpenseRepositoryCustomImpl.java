@@ -0,0 +1,57 @@
+package com.billsplitting.repository;
+
+import com.billsplitting.dto.ExpenseHistoryCursor;
+import com.billsplitting.dto.ExpenseHistoryEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    private static final String HISTORY_SELECT =
+        "SELECT new com.billsplitting.dto.ExpenseHistoryEntry(e.id, e.description, e.amount, p.memberName, " +
+        "e.splitType, SIZE(e.splits), e.createdAt) FROM Expense e JOIN e.paidByMember p WHERE e.group.id = :groupId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ExpenseHistoryEntry> findHistoryPage(Long groupId, Long paidByMemberId, LocalDateTime from,
+                                                     LocalDateTime to, ExpenseHistoryCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(HISTORY_SELECT);
+        if (paidByMemberId != null) {
+            jpql.append(" AND p.id = :paidByMemberId");
+        }
+        if (from != null) {
+            jpql.append(" AND e.createdAt >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND e.createdAt < :to");
+        }
+        if (after != null) {
+            jpql.append(" AND (e.createdAt, e.id) < (:afterCreatedAt, :afterId)");
+        }
+        jpql.append(" ORDER BY e.createdAt DESC, e.id DESC");
+
+        TypedQuery<ExpenseHistoryEntry> query = entityManager.createQuery(jpql.toString(), ExpenseHistoryEntry.class)
+                .setParameter("groupId", groupId)
+                .setMaxResults(limit);
+        if (paidByMemberId != null) {
+            query.setParameter("paidByMemberId", paidByMemberId);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.createdAt());
+            query.setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+}
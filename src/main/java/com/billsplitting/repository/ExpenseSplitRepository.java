@@ -1,19 +1,28 @@
 package com.billsplitting.repository;
 
+import com.billsplitting.dto.MemberTotal;
 import com.billsplitting.entity.ExpenseSplit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ExpenseSplitRepository extends JpaRepository<ExpenseSplit, Long> {
+public interface ExpenseSplitRepository extends JpaRepository<ExpenseSplit, Long>, ExpenseSplitRepositoryCustom {
     
+    // Split responses print every member's name, so members come back in the same SELECT
+    @EntityGraph(attributePaths = "member")
     List<ExpenseSplit> findByExpenseId(Long expenseId);
     
+    @EntityGraph(attributePaths = "member")
+    List<ExpenseSplit> findByExpenseIdIn(Collection<Long> expenseIds);
+    
     List<ExpenseSplit> findByMemberId(Long memberId);
     
     @Query("SELECT s FROM ExpenseSplit s WHERE s.expense.id = :expenseId AND s.member.id = :memberId")
@@ -25,8 +34,24 @@ public interface ExpenseSplitRepository extends JpaRepository<ExpenseSplit, Long
     @Query("SELECT SUM(s.amount) FROM ExpenseSplit s WHERE s.member.group.id = :groupId AND s.member.id = :memberId")
     BigDecimal getTotalOwedByMemberInGroup(@Param("groupId") Long groupId, @Param("memberId") Long memberId);
     
+    @EntityGraph(attributePaths = {"member", "expense"})
     @Query("SELECT s FROM ExpenseSplit s WHERE s.member.group.name = :groupName AND s.member.memberName = :memberName")
     List<ExpenseSplit> findByGroupNameAndMemberName(@Param("groupName") String groupName, @Param("memberName") String memberName);
     
-    void deleteByExpenseId(Long expenseId);
+    @Query("SELECT new com.billsplitting.dto.MemberTotal(m.id, m.memberName, SUM(s.amount)) " +
+           "FROM GroupMember m LEFT JOIN m.expenseSplits s " +
+           "WHERE m.group.name = :groupName GROUP BY m.id, m.memberName")
+    List<MemberTotal> getTotalOwedPerMemberByGroupName(@Param("groupName") String groupName);
+    
+    @Query("SELECT DISTINCT s.expense.id FROM ExpenseSplit s " +
+           "WHERE s.expense.group.id = :groupId AND s.expense.splitType = com.billsplitting.entity.SplitType.EQUAL")
+    List<Long> findEqualSplitExpenseIdsByGroupId(@Param("groupId") Long groupId);
+    
+    @Modifying
+    @Query("DELETE FROM ExpenseSplit s WHERE s.expense.id = :expenseId")
+    void deleteByExpenseId(@Param("expenseId") Long expenseId);
+    
+    @Modifying
+    @Query("DELETE FROM ExpenseSplit s WHERE s.expense.id IN :expenseIds")
+    void deleteByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
 }
\ No newline at end of file
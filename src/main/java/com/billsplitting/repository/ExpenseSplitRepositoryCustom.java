@@ -0,0 +1,15 @@
+package com.billsplitting.repository;
+
+import java.util.Collection;
+
+public interface ExpenseSplitRepositoryCustom {
+
+    /**
+     * Replaces the splits of the given expenses with equal shares among every current member of
+     * each expense's group, using one DELETE and one INSERT ... SELECT. Shares are rounded down to
+     * the paisa and the remainder paise go one each to the members with the lowest ids, exactly
+     * as {@code SplitCalculator.equalShares} does for members listed in id order. Returns the
+     * number of splits written.
+     */
+    int resplitEqually(Collection<Long> expenseIds);
+}
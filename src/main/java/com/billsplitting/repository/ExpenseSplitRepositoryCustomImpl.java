@@ -0,0 +1,95 @@
+package com.billsplitting.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Collection;
+
+public class ExpenseSplitRepositoryCustomImpl implements ExpenseSplitRepositoryCustom {
+
+    private static final String SEQUENCE = "expense_splits_id_seq";
+
+    // Ids per sequence value; matches ExpenseSplit's allocationSize and the INCREMENT BY set in V6
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String DELETE_SPLITS =
+        "DELETE FROM expense_splits WHERE expense_id IN (:expenseIds)";
+
+    // Holding the group rows keeps members from being added or removed between the count and the insert
+    private static final String LOCK_GROUPS =
+        "SELECT id FROM expense_groups WHERE id IN " +
+        "(SELECT group_id FROM expenses WHERE id IN (:expenseIds)) ORDER BY id FOR UPDATE";
+
+    private static final String COUNT_EQUAL_SPLITS =
+        "SELECT COUNT(*) FROM expenses e JOIN group_members m ON m.group_id = e.group_id " +
+        "WHERE e.id IN (:expenseIds)";
+
+    // %s maps split_row to an id inside the blocks reserved for this statement
+    private static final String INSERT_EQUAL_SPLITS =
+        "INSERT INTO expense_splits (id, expense_id, member_id, amount, percentage, created_at) " +
+        "SELECT %s, expense_id, member_id, " +
+        "(base_paise + CASE WHEN member_rank <= remainder_paise THEN 1 ELSE 0 END) * 0.01, " +
+        "NULL, CURRENT_TIMESTAMP " +
+        "FROM (SELECT e.id AS expense_id, m.id AS member_id, " +
+        "CAST(e.amount * 100 AS BIGINT) / COUNT(*) OVER (PARTITION BY e.id) AS base_paise, " +
+        "MOD(CAST(e.amount * 100 AS BIGINT), COUNT(*) OVER (PARTITION BY e.id)) AS remainder_paise, " +
+        "ROW_NUMBER() OVER (PARTITION BY e.id ORDER BY m.id) AS member_rank, " +
+        "ROW_NUMBER() OVER (ORDER BY e.id, m.id) AS split_row " +
+        "FROM expenses e JOIN group_members m ON m.group_id = e.group_id " +
+        "WHERE e.id IN (:expenseIds)) shares";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int resplitEqually(Collection<Long> expenseIds) {
+        if (expenseIds.isEmpty()) {
+            return 0;
+        }
+        entityManager.createNativeQuery(LOCK_GROUPS)
+                .setParameter("expenseIds", expenseIds)
+                .getResultList();
+        // The unique (expense_id, member_id) constraint means old splits have to go first
+        entityManager.createNativeQuery(DELETE_SPLITS)
+                .setParameter("expenseIds", expenseIds)
+                .executeUpdate();
+        long rows = ((Number) entityManager.createNativeQuery(COUNT_EQUAL_SPLITS)
+                .setParameter("expenseIds", expenseIds)
+                .getSingleResult()).longValue();
+        if (rows == 0) {
+            return 0;
+        }
+        return entityManager.createNativeQuery(INSERT_EQUAL_SPLITS.formatted(splitIds(rows)))
+                .setParameter("expenseIds", expenseIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Reserves one sequence value per {@value #ID_BLOCK_SIZE} rows and returns an expression that
+     * numbers the rows through those blocks. A value v owns the block of ids ending at v, which is the range
+     * Hibernate's pooled optimizer takes for a value it fetched itself, so the two never overlap.
+     */
+    private String splitIds(long rows) {
+        String nextValue = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(SEQUENCE);
+        StringBuilder blocks = new StringBuilder("CASE (split_row - 1) / " + ID_BLOCK_SIZE);
+        for (long block = 0; block * ID_BLOCK_SIZE < rows; block++) {
+            long last = nextValue(nextValue);
+            // Only the first value of a fresh sequence is this small; its block would reach below 1
+            while (last < ID_BLOCK_SIZE) {
+                last = nextValue(nextValue);
+            }
+            blocks.append(" WHEN ").append(block).append(" THEN ").append(last - ID_BLOCK_SIZE + 1);
+        }
+        return blocks.append(" END + MOD(split_row - 1, ").append(ID_BLOCK_SIZE).append(')').toString();
+    }
+
+    private long nextValue(String nextValueQuery) {
+        return ((Number) entityManager.createNativeQuery(nextValueQuery).getSingleResult()).longValue();
+    }
+}
@@ -1,11 +1,13 @@
 package com.billsplitting.repository;
 
+import com.billsplitting.dto.GroupMemberView;
 import com.billsplitting.entity.GroupMember;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +18,22 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
     
     Optional<GroupMember> findByGroupIdAndMemberName(Long groupId, String memberName);
     
-    @Query("SELECT m FROM GroupMember m WHERE m.group.name = :groupName")
+    // Not cached: splits and writes need the members as they are now, as entities of the caller's
+    // session. Equal splits hand remainder paise out in this order, and resplitEqually relies on it being by id
+    @Query("SELECT m FROM GroupMember m JOIN FETCH m.group g WHERE g.name = :groupName ORDER BY m.id")
     List<GroupMember> findByGroupName(@Param("groupName") String groupName);
     
-    @Query("SELECT m FROM GroupMember m WHERE m.group.name = :groupName AND m.memberName = :memberName")
+    @Query("SELECT m FROM GroupMember m JOIN FETCH m.group g WHERE g.name = :groupName AND m.memberName = :memberName")
     Optional<GroupMember> findByGroupNameAndMemberName(@Param("groupName") String groupName, @Param("memberName") String memberName);
     
+    @Query("SELECT new com.billsplitting.dto.GroupMemberView(m.id, m.memberName, m.createdAt) " +
+           "FROM GroupMember m WHERE m.group.id = :groupId ORDER BY m.id")
+    List<GroupMemberView> findViewsByGroupId(@Param("groupId") Long groupId);
+    
+    @Query("SELECT m FROM GroupMember m WHERE m.group.id = :groupId AND m.memberName IN :memberNames")
+    List<GroupMember> findByGroupIdAndMemberNameIn(@Param("groupId") Long groupId,
+                                                   @Param("memberNames") Collection<String> memberNames);
+    
     boolean existsByGroupIdAndMemberName(Long groupId, String memberName);
     
     @Query("SELECT COUNT(m) FROM GroupMember m WHERE m.group.id = :groupId")
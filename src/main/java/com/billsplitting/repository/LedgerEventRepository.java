@@ -0,0 +1,39 @@
+package com.billsplitting.repository;
+
+import com.billsplitting.dto.MemberLedgerDelta;
+import com.billsplitting.entity.LedgerEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerEventRepository extends JpaRepository<LedgerEvent, Long> {
+    
+    @Query("SELECT new com.billsplitting.dto.MemberLedgerDelta(d.memberId, MAX(d.memberName), SUM(d.paidDelta), SUM(d.owedDelta)) " +
+           "FROM LedgerEvent e JOIN e.deltas d " +
+           "WHERE e.groupId = :groupId AND e.id > :afterEventId AND e.id <= :upToEventId AND e.occurredAt < :until " +
+           "GROUP BY d.memberId")
+    List<MemberLedgerDelta> sumDeltasByMember(@Param("groupId") Long groupId,
+                                              @Param("afterEventId") Long afterEventId,
+                                              @Param("upToEventId") Long upToEventId,
+                                              @Param("until") LocalDateTime until);
+    
+    @Query("SELECT e.memberId FROM LedgerEvent e " +
+           "WHERE e.groupId = :groupId AND e.eventType = com.billsplitting.entity.LedgerEventType.MEMBER_REMOVED " +
+           "AND e.id <= :upToEventId AND e.occurredAt < :until")
+    List<Long> findRemovedMemberIds(@Param("groupId") Long groupId,
+                                    @Param("upToEventId") Long upToEventId,
+                                    @Param("until") LocalDateTime until);
+    
+    Optional<LedgerEvent> findFirstByGroupIdOrderByIdDesc(Long groupId);
+    
+    @Query("SELECT e.groupId FROM LedgerEvent e " +
+           "WHERE e.id > COALESCE((SELECT MAX(s.lastEventId) FROM LedgerSnapshot s WHERE s.groupId = e.groupId), 0) " +
+           "GROUP BY e.groupId HAVING COUNT(e) >= :minEvents")
+    List<Long> findGroupIdsWithEventsSinceSnapshot(@Param("minEvents") long minEvents);
+}
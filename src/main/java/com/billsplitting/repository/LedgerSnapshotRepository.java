@@ -0,0 +1,16 @@
+package com.billsplitting.repository;
+
+import com.billsplitting.entity.LedgerSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface LedgerSnapshotRepository extends JpaRepository<LedgerSnapshot, Long> {
+    
+    Optional<LedgerSnapshot> findFirstByGroupIdAndAsOfBeforeOrderByAsOfDescIdDesc(Long groupId, LocalDateTime until);
+    
+    Optional<LedgerSnapshot> findFirstByGroupIdOrderByLastEventIdDesc(Long groupId);
+}
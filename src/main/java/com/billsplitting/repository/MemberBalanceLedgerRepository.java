@@ -0,0 +1,32 @@
+package com.billsplitting.repository;
+
+import com.billsplitting.dto.GroupLedgerRow;
+import com.billsplitting.entity.MemberBalanceLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MemberBalanceLedgerRepository extends JpaRepository<MemberBalanceLedger, Long>,
+        MemberBalanceLedgerRepositoryCustom {
+    
+    Optional<MemberBalanceLedger> findByMemberId(Long memberId);
+    
+    @Query("SELECT l FROM MemberBalanceLedger l JOIN FETCH l.member m WHERE m.group.name = :groupName")
+    List<MemberBalanceLedger> findByGroupName(@Param("groupName") String groupName);
+    
+    @Query("SELECT new com.billsplitting.dto.GroupLedgerRow(m.group.id, m.memberName, l.totalPaid, l.totalOwed) " +
+           "FROM MemberBalanceLedger l JOIN l.member m WHERE m.group.id IN :groupIds")
+    List<GroupLedgerRow> findRowsByGroupIds(@Param("groupIds") Collection<Long> groupIds);
+    
+    @Modifying
+    @Query("UPDATE MemberBalanceLedger l SET l.totalPaid = l.totalPaid + :delta WHERE l.member.id = :memberId")
+    int addToTotalPaid(@Param("memberId") Long memberId, @Param("delta") BigDecimal delta);
+}
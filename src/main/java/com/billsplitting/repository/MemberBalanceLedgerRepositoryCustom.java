@@ -0,0 +1,20 @@
+package com.billsplitting.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public interface MemberBalanceLedgerRepositoryCustom {
+
+    /**
+     * Adds each member's paid delta in a single JDBC batch and returns the ids of the members
+     * that have no ledger row yet.
+     */
+    List<Long> addToTotalPaid(Map<Long, BigDecimal> deltasByMemberId);
+
+    /**
+     * Adds each member's owed delta in a single JDBC batch and returns the ids of the members
+     * that have no ledger row yet.
+     */
+    List<Long> addToTotalOwed(Map<Long, BigDecimal> deltasByMemberId);
+}
@@ -0,0 +1,54 @@
+package com.billsplitting.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class MemberBalanceLedgerRepositoryCustomImpl implements MemberBalanceLedgerRepositoryCustom {
+
+    private static final String ADD_TO_TOTAL_PAID =
+        "UPDATE member_balances SET total_paid = total_paid + ? WHERE member_id = ?";
+
+    private static final String ADD_TO_TOTAL_OWED =
+        "UPDATE member_balances SET total_owed = total_owed + ? WHERE member_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemberBalanceLedgerRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> addToTotalPaid(Map<Long, BigDecimal> deltasByMemberId) {
+        return addDeltas(ADD_TO_TOTAL_PAID, deltasByMemberId);
+    }
+
+    @Override
+    public List<Long> addToTotalOwed(Map<Long, BigDecimal> deltasByMemberId) {
+        return addDeltas(ADD_TO_TOTAL_OWED, deltasByMemberId);
+    }
+
+    private List<Long> addDeltas(String sql, Map<Long, BigDecimal> deltasByMemberId) {
+        if (deltasByMemberId.isEmpty()) {
+            return List.of();
+        }
+        // Rows are locked in member id order so concurrent splits cannot deadlock each other
+        List<Map.Entry<Long, BigDecimal>> deltas = new ArrayList<>(new TreeMap<>(deltasByMemberId).entrySet());
+        int[] updated = jdbcTemplate.batchUpdate(sql, deltas, deltas.size(), (ps, delta) -> {
+            ps.setBigDecimal(1, delta.getValue());
+            ps.setLong(2, delta.getKey());
+        })[0];
+
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(deltas.get(i).getKey());
+            }
+        }
+        return missing;
+    }
+}
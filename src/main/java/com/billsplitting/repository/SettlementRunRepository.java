@@ -0,0 +1,9 @@
+package com.billsplitting.repository;
+
+import com.billsplitting.entity.SettlementRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SettlementRunRepository extends JpaRepository<SettlementRun, Long> {
+}
@@ -0,0 +1,13 @@
+package com.billsplitting.repository;
+
+import com.billsplitting.entity.SplitBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SplitBatchRepository extends JpaRepository<SplitBatch, Long> {
+    
+    Optional<SplitBatch> findByIdempotencyKey(String idempotencyKey);
+}
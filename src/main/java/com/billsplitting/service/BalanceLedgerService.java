@@ -0,0 +1,386 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.LedgerDrift;
+import com.billsplitting.dto.MemberTotal;
+import com.billsplitting.dto.Money;
+import com.billsplitting.entity.Expense;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.entity.GroupMember;
+import com.billsplitting.entity.LedgerEventDelta;
+import com.billsplitting.entity.LedgerEventType;
+import com.billsplitting.entity.MemberBalanceLedger;
+import com.billsplitting.repository.ExpenseGroupRepository;
+import com.billsplitting.repository.ExpenseRepository;
+import com.billsplitting.repository.ExpenseSplitRepository;
+import com.billsplitting.repository.GroupMemberRepository;
+import com.billsplitting.repository.MemberBalanceLedgerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@code member_balances} ledger. Every write path applies its paid/owed
+ * deltas here inside the caller's transaction, so balance reads only touch one row per member.
+ * <p>
+ * Any change to a group's ledger also bumps the group's revision, which is what
+ * {@link CalculationService} keys its cached results on, and appends one event with the
+ * per-member deltas to the group's history (see {@link LedgerEventService}).
+ * <p>
+ * Every write locks its groups' {@code expense_groups} rows before it applies a delta, and a
+ * rebuild locks the row before it reads anything, so a rebuild never sees a write half-applied
+ * and never overwrites a delta that commits while it runs.
+ */
+@Service
+@Transactional
+public class BalanceLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceLedgerService.class);
+
+    private final MemberBalanceLedgerRepository ledgerRepository;
+    private final ExpenseGroupRepository expenseGroupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseSplitRepository expenseSplitRepository;
+    private final LedgerEventService ledgerEventService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public BalanceLedgerService(MemberBalanceLedgerRepository ledgerRepository,
+                                ExpenseGroupRepository expenseGroupRepository,
+                                GroupMemberRepository groupMemberRepository,
+                                ExpenseRepository expenseRepository,
+                                ExpenseSplitRepository expenseSplitRepository,
+                                LedgerEventService ledgerEventService,
+                                PlatformTransactionManager transactionManager) {
+        this.ledgerRepository = ledgerRepository;
+        this.expenseGroupRepository = expenseGroupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.expenseRepository = expenseRepository;
+        this.expenseSplitRepository = expenseSplitRepository;
+        this.ledgerEventService = ledgerEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void openAccount(GroupMember member) {
+        lock(member.getGroup().getId());
+        ledgerRepository.save(new MemberBalanceLedger(member));
+        // A zero delta, so the member shows up in replays before their first expense
+        publish(member.getGroup().getId(), LedgerEventType.MEMBER_ADDED, null, member.getId(),
+                List.of(new LedgerEventDelta(member.getId(), member.getMemberName(), BigDecimal.ZERO, BigDecimal.ZERO)));
+    }
+
+    /**
+     * Corrects the ledger after a member has left the group; the member list changed, so the
+     * group's cached results go stale even when no balance moved.
+     */
+    public List<LedgerDrift> recordMemberRemoved(GroupMember member) {
+        lock(member.getGroup().getId());
+        Rebuild rebuild = rebuild(member.getGroup().getName());
+        publish(member.getGroup().getId(), LedgerEventType.MEMBER_REMOVED, null, member.getId(), rebuild.deltas());
+        return rebuild.drift();
+    }
+
+    /**
+     * Re-derives the owed totals of a group whose splits were rewritten in bulk, bypassing the
+     * per-split deltas of {@link #recordShares}.
+     */
+    public List<LedgerDrift> recordGroupResplit(ExpenseGroup group) {
+        lock(group.getId());
+        Rebuild rebuild = rebuild(group.getName());
+        publish(group.getId(), LedgerEventType.SPLITS_REPLACED, null, null, rebuild.deltas());
+        return rebuild.drift();
+    }
+
+    public void recordExpenseAdded(Expense expense) {
+        lock(expense.getGroup().getId());
+        Money amount = Money.of(expense.getAmount());
+        recordPayment(expense.getPaidByMember(), amount);
+        publish(expense.getGroup().getId(), LedgerEventType.EXPENSE_ADDED, expense.getId(), null,
+                new EventDeltas().paid(expense.getPaidByMember(), amount).toList());
+    }
+
+    /**
+     * Moves the paid amount of an edited expense from its previous payer and amount to the
+     * current ones; records nothing when neither changed.
+     */
+    public void recordExpenseUpdated(Expense expense, GroupMember previousPayer, BigDecimal previousAmount) {
+        if (previousPayer.getId().equals(expense.getPaidByMember().getId())
+                && previousAmount.compareTo(expense.getAmount()) == 0) {
+            return;
+        }
+        lock(expense.getGroup().getId());
+        Money previous = Money.of(previousAmount).negate();
+        Money current = Money.of(expense.getAmount());
+        recordPayment(previousPayer, previous);
+        recordPayment(expense.getPaidByMember(), current);
+        publish(expense.getGroup().getId(), LedgerEventType.EXPENSE_UPDATED, expense.getId(), null,
+                new EventDeltas().paid(previousPayer, previous).paid(expense.getPaidByMember(), current).toList());
+    }
+
+    // Only applies the delta; callers lock the group and publish the event that explains it
+    void recordPayment(GroupMember payer, Money delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        if (ledgerRepository.addToTotalPaid(payer.getId(), delta.toBigDecimal()) == 0) {
+            ledgerRepository.save(new MemberBalanceLedger(payer, delta.toBigDecimal(), BigDecimal.ZERO));
+        }
+    }
+
+    public void recordShares(List<ExpenseSplit> removed, List<ExpenseSplit> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        // All splits belong to one expense; its group is already loaded with it
+        Expense expense = (!added.isEmpty() ? added.get(0) : removed.get(0)).getExpense();
+        lock(expense.getGroup().getId());
+        EventDeltas deltas = shareDeltas(removed, added);
+        if (applyOwed(deltas.owed, deltas.members)) {
+            publish(expense.getGroup().getId(), LedgerEventType.SPLITS_REPLACED, expense.getId(), null, deltas.toList());
+        }
+    }
+
+    /**
+     * Books the split changes of many expenses with one batched ledger update and one event per
+     * group. Groups are locked in id order, so concurrent batches cannot deadlock on them.
+     */
+    public void recordSplitBatch(List<ExpenseSplit> removed, List<ExpenseSplit> added) {
+        lock(Stream.concat(removed.stream(), added.stream())
+                .map(split -> split.getMember().getGroup().getId())
+                .collect(Collectors.toSet()));
+        EventDeltas all = shareDeltas(removed, added);
+        if (!applyOwed(all.owed, all.members)) {
+            return;
+        }
+        Map<Long, EventDeltas> groupDeltas = new TreeMap<>();
+        for (ExpenseSplit split : removed) {
+            groupDeltas.computeIfAbsent(split.getMember().getGroup().getId(), id -> new EventDeltas())
+                    .owed(split.getMember(), Money.of(split.getAmount()).negate());
+        }
+        for (ExpenseSplit split : added) {
+            groupDeltas.computeIfAbsent(split.getMember().getGroup().getId(), id -> new EventDeltas())
+                    .owed(split.getMember(), Money.of(split.getAmount()));
+        }
+        groupDeltas.forEach((groupId, deltas) -> {
+            List<LedgerEventDelta> changed = deltas.toList();
+            if (!changed.isEmpty()) {
+                publish(groupId, LedgerEventType.SPLITS_REPLACED, null, null, changed);
+            }
+        });
+    }
+
+    private static EventDeltas shareDeltas(List<ExpenseSplit> removed, List<ExpenseSplit> added) {
+        EventDeltas deltas = new EventDeltas();
+        for (ExpenseSplit split : removed) {
+            deltas.owed(split.getMember(), Money.of(split.getAmount()).negate());
+        }
+        for (ExpenseSplit split : added) {
+            deltas.owed(split.getMember(), Money.of(split.getAmount()));
+        }
+        return deltas;
+    }
+
+    /**
+     * Books a batch of new expenses and their splits with one batched update per column.
+     */
+    public void recordImport(List<Expense> expenses, List<ExpenseSplit> splits) {
+        Map<Long, GroupMember> members = new HashMap<>();
+        Map<Long, Money> paid = new HashMap<>();
+        Map<Long, EventDeltas> groupDeltas = new LinkedHashMap<>();
+        for (Expense expense : expenses) {
+            members.put(expense.getPaidByMember().getId(), expense.getPaidByMember());
+            paid.merge(expense.getPaidByMember().getId(), Money.of(expense.getAmount()), Money::plus);
+            groupDeltas.computeIfAbsent(expense.getGroup().getId(), id -> new EventDeltas())
+                    .paid(expense.getPaidByMember(), Money.of(expense.getAmount()));
+        }
+        Map<Long, Money> owed = new HashMap<>();
+        for (ExpenseSplit split : splits) {
+            members.put(split.getMember().getId(), split.getMember());
+            owed.merge(split.getMember().getId(), Money.of(split.getAmount()), Money::plus);
+            groupDeltas.computeIfAbsent(split.getMember().getGroup().getId(), id -> new EventDeltas())
+                    .owed(split.getMember(), Money.of(split.getAmount()));
+        }
+
+        lock(groupDeltas.keySet());
+        Map<Long, BigDecimal> paidDeltas = nonZero(paid);
+        for (Long memberId : ledgerRepository.addToTotalPaid(paidDeltas)) {
+            ledgerRepository.save(new MemberBalanceLedger(members.get(memberId), paidDeltas.get(memberId), BigDecimal.ZERO));
+        }
+        applyOwed(owed, members);
+        groupDeltas.forEach((groupId, deltas) ->
+                publish(groupId, LedgerEventType.EXPENSES_IMPORTED, null, null, deltas.toList()));
+    }
+
+    private boolean applyOwed(Map<Long, Money> deltas, Map<Long, GroupMember> members) {
+        Map<Long, BigDecimal> owedDeltas = nonZero(deltas);
+        for (Long memberId : ledgerRepository.addToTotalOwed(owedDeltas)) {
+            ledgerRepository.save(new MemberBalanceLedger(members.get(memberId), BigDecimal.ZERO, owedDeltas.get(memberId)));
+        }
+        return !owedDeltas.isEmpty();
+    }
+
+    /**
+     * Bumps the group's revision and appends the event. Writers hold the group's row lock by
+     * now, so concurrent writers to one group append their events in commit order.
+     */
+    private void publish(Long groupId, LedgerEventType type, Long expenseId, Long memberId,
+                         List<LedgerEventDelta> deltas) {
+        expenseGroupRepository.incrementRevision(groupId);
+        ledgerEventService.append(groupId, type, expenseId, memberId, deltas);
+    }
+
+    private void lock(Long groupId) {
+        expenseGroupRepository.lockGroups(List.of(groupId));
+    }
+
+    private void lock(Collection<Long> groupIds) {
+        if (!groupIds.isEmpty()) {
+            expenseGroupRepository.lockGroups(groupIds);
+        }
+    }
+
+    private static Map<Long, BigDecimal> nonZero(Map<Long, Money> deltas) {
+        Map<Long, BigDecimal> changed = new HashMap<>();
+        deltas.forEach((memberId, delta) -> {
+            if (!delta.isZero()) {
+                changed.put(memberId, delta.toBigDecimal());
+            }
+        });
+        return changed;
+    }
+
+    public void recordExpenseRemoved(Expense expense) {
+        lock(expense.getGroup().getId());
+        EventDeltas deltas = shareDeltas(expenseSplitRepository.findByExpenseId(expense.getId()), List.of());
+        applyOwed(deltas.owed, deltas.members);
+        Money refund = Money.of(expense.getAmount()).negate();
+        recordPayment(expense.getPaidByMember(), refund);
+        publish(expense.getGroup().getId(), LedgerEventType.EXPENSE_DELETED, expense.getId(), null,
+                deltas.paid(expense.getPaidByMember(), refund).toList());
+    }
+
+    /**
+     * Recomputes the ledger rows of one group from expenses and splits, corrects any row
+     * that disagrees and returns what was corrected.
+     */
+    public List<LedgerDrift> rebuildGroup(String groupName) {
+        Optional<Long> groupId = expenseGroupRepository.lockGroupByName(groupName);
+        if (groupId.isEmpty()) {
+            return List.of();
+        }
+        Rebuild rebuild = rebuild(groupName);
+        if (!rebuild.drift().isEmpty()) {
+            publish(groupId.get(), LedgerEventType.LEDGER_CORRECTED, null, null, rebuild.deltas());
+        }
+        return rebuild.drift();
+    }
+
+    // Callers lock the group first, so no write can commit between the three reads or change a row after them
+    private Rebuild rebuild(String groupName) {
+        Map<Long, Money> actualOwed = expenseSplitRepository.getTotalOwedPerMemberByGroupName(groupName)
+                .stream()
+                .collect(Collectors.toMap(MemberTotal::getMemberId, MemberTotal::getAmount));
+        Map<Long, MemberBalanceLedger> ledgers = ledgerRepository.findByGroupName(groupName)
+                .stream()
+                .collect(Collectors.toMap(ledger -> ledger.getMember().getId(), Function.identity()));
+
+        List<LedgerDrift> drift = new ArrayList<>();
+        List<LedgerEventDelta> deltas = new ArrayList<>();
+        for (MemberTotal paid : expenseRepository.getTotalPaidPerMemberByGroupName(groupName)) {
+            Money owed = actualOwed.getOrDefault(paid.getMemberId(), Money.ZERO);
+            MemberBalanceLedger ledger = ledgers.get(paid.getMemberId());
+
+            if (ledger == null) {
+                drift.add(new LedgerDrift(paid.getMemberName(), Money.ZERO, paid.getAmount(), Money.ZERO, owed));
+                deltas.add(new LedgerEventDelta(paid.getMemberId(), paid.getMemberName(),
+                        paid.getAmount().toBigDecimal(), owed.toBigDecimal()));
+                ledgerRepository.save(new MemberBalanceLedger(groupMemberRepository.getReferenceById(paid.getMemberId()),
+                        paid.getAmount().toBigDecimal(), owed.toBigDecimal()));
+                continue;
+            }
+
+            Money ledgerPaid = Money.of(ledger.getTotalPaid());
+            Money ledgerOwed = Money.of(ledger.getTotalOwed());
+            if (!ledgerPaid.equals(paid.getAmount()) || !ledgerOwed.equals(owed)) {
+                drift.add(new LedgerDrift(paid.getMemberName(), ledgerPaid, paid.getAmount(), ledgerOwed, owed));
+                deltas.add(new LedgerEventDelta(paid.getMemberId(), paid.getMemberName(),
+                        paid.getAmount().minus(ledgerPaid).toBigDecimal(), owed.minus(ledgerOwed).toBigDecimal()));
+                ledger.setTotalPaid(paid.getAmount().toBigDecimal());
+                ledger.setTotalOwed(owed.toBigDecimal());
+            }
+        }
+        return new Rebuild(drift, deltas);
+    }
+
+    // One transaction per group, so each group's lock is only held while that group is rebuilt
+    @Scheduled(cron = "${billsplitting.ledger.reconcile-cron:-}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileAll() {
+        int driftedMembers = 0;
+        for (ExpenseGroup group : expenseGroupRepository.findAllByOrderByNameAsc()) {
+            List<LedgerDrift> drift = transactionTemplate.execute(status -> rebuildGroup(group.getName()));
+            if (!drift.isEmpty()) {
+                log.warn("Ledger drift corrected in group '{}': {}", group.getName(), drift);
+                driftedMembers += drift.size();
+            }
+        }
+        log.info("Ledger reconciliation finished, {} member balances corrected", driftedMembers);
+    }
+
+    private record Rebuild(List<LedgerDrift> drift, List<LedgerEventDelta> deltas) {
+    }
+
+    /**
+     * Per-member paid and owed deltas of one event, summed per member.
+     */
+    private static final class EventDeltas {
+        private final Map<Long, GroupMember> members = new LinkedHashMap<>();
+        private final Map<Long, Money> paid = new HashMap<>();
+        private final Map<Long, Money> owed = new HashMap<>();
+
+        EventDeltas paid(GroupMember member, Money delta) {
+            members.put(member.getId(), member);
+            paid.merge(member.getId(), delta, Money::plus);
+            return this;
+        }
+
+        EventDeltas owed(GroupMember member, Money delta) {
+            members.put(member.getId(), member);
+            owed.merge(member.getId(), delta, Money::plus);
+            return this;
+        }
+
+        List<LedgerEventDelta> toList() {
+            List<LedgerEventDelta> deltas = new ArrayList<>();
+            members.forEach((memberId, member) -> {
+                Money paidDelta = paid.getOrDefault(memberId, Money.ZERO);
+                Money owedDelta = owed.getOrDefault(memberId, Money.ZERO);
+                if (!paidDelta.isZero() || !owedDelta.isZero()) {
+                    deltas.add(new LedgerEventDelta(memberId, member.getMemberName(),
+                            paidDelta.toBigDecimal(), owedDelta.toBigDecimal()));
+                }
+            });
+            return deltas;
+        }
+    }
+}
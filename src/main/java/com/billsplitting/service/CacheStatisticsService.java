@@ -0,0 +1,42 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.CacheStatistics;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheStatisticsService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Hit, miss and eviction counts of every Caffeine cache since startup.
+     */
+    public List<CacheStatistics> getCacheStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                CacheStats stats = caffeine.stats();
+                statistics.add(new CacheStatistics(cacheName, caffeine.estimatedSize(),
+                        stats.hitCount(), stats.missCount(), stats.evictionCount()));
+            }
+        }
+        return statistics;
+    }
+}
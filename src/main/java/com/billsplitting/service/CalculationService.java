@@ -1,156 +1,188 @@
 package com.billsplitting.service;
 
+import com.billsplitting.config.CacheConfig;
+import com.billsplitting.dto.GroupRevision;
+import com.billsplitting.dto.LedgerDrift;
 import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
 import com.billsplitting.dto.Settlement;
-import com.billsplitting.entity.Expense;
-import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.dto.SettlementPlan;
 import com.billsplitting.entity.GroupMember;
-import com.billsplitting.repository.ExpenseSplitRepository;
+import com.billsplitting.entity.MemberBalanceLedger;
+import com.billsplitting.exception.GroupNotFoundException;
+import com.billsplitting.repository.ExpenseGroupRepository;
+import com.billsplitting.repository.MemberBalanceLedgerRepository;
+import com.billsplitting.service.settlement.SettlementStrategies;
+import com.billsplitting.service.settlement.SettlementStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Balance, total and settlement calculations. Results are cached under the group's id and
+ * revision, so a lookup costs one primary-key read of the revision and any write to the group
+ * makes older entries unreachable instead of having to evict them. In hot group mode they come
+ * from the group's {@link GroupWorkingSet} instead (see {@link HotGroupService}).
+ */
 @Service
 @Transactional(readOnly = true)
 public class CalculationService {
 
     private final ExpenseService expenseService;
     private final GroupMemberService groupMemberService;
-    private final ExpenseSplitRepository expenseSplitRepository;
+    private final MemberBalanceLedgerRepository ledgerRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final LedgerEventService ledgerEventService;
+    private final SettlementStrategies settlementStrategies;
+    private final ExpenseGroupRepository expenseGroupRepository;
+    private final CacheManager cacheManager;
+    private final HotGroupService hotGroupService;
 
     @Autowired
     public CalculationService(ExpenseService expenseService,
                              GroupMemberService groupMemberService,
-                             ExpenseSplitRepository expenseSplitRepository) {
+                             MemberBalanceLedgerRepository ledgerRepository,
+                             BalanceLedgerService balanceLedgerService,
+                             LedgerEventService ledgerEventService,
+                             SettlementStrategies settlementStrategies,
+                             ExpenseGroupRepository expenseGroupRepository,
+                             CacheManager cacheManager,
+                             HotGroupService hotGroupService) {
         this.expenseService = expenseService;
         this.groupMemberService = groupMemberService;
-        this.expenseSplitRepository = expenseSplitRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.ledgerEventService = ledgerEventService;
+        this.settlementStrategies = settlementStrategies;
+        this.expenseGroupRepository = expenseGroupRepository;
+        this.cacheManager = cacheManager;
+        this.hotGroupService = hotGroupService;
     }
 
     public Map<String, MemberBalance> calculateGroupTotals(String groupName) {
-        List<GroupMember> members = groupMemberService.listMembers(groupName);
-        Map<String, MemberBalance> balances = new HashMap<>();
+        return hotGroupService.workingSet(groupName)
+                .map(GroupWorkingSet::getBalances)
+                .orElseGet(() -> cachedForRevision(CacheConfig.GROUP_BALANCES, groupName, null,
+                        () -> loadGroupTotals(groupName)));
+    }
 
-        for (GroupMember member : members) {
-            // Calculate total paid by this member
-            BigDecimal totalPaid = expenseService.getExpensesPaidByMember(groupName, member.getMemberName())
-                    .stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Calculate total owed by this member
-            BigDecimal totalOwed = expenseSplitRepository.findByGroupNameAndMemberName(groupName, member.getMemberName())
-                    .stream()
-                    .map(ExpenseSplit::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            MemberBalance balance = new MemberBalance(member.getMemberName(), totalPaid, totalOwed);
-            balances.put(member.getMemberName(), balance);
+    private Map<String, MemberBalance> loadGroupTotals(String groupName) {
+        return toBalances(ledgerRepository.findByGroupName(groupName));
+    }
+
+    static Map<String, MemberBalance> toBalances(List<MemberBalanceLedger> ledgerRows) {
+        Map<String, MemberBalance> balances = new HashMap<>();
+        for (MemberBalanceLedger ledger : ledgerRows) {
+            String memberName = ledger.getMember().getMemberName();
+            balances.put(memberName, new MemberBalance(memberName,
+                    Money.of(ledger.getTotalPaid()), Money.of(ledger.getTotalOwed())));
         }
+        return Collections.unmodifiableMap(balances);
+    }
 
-        return balances;
+    /**
+     * The group's member balances as they stood just before {@code until}, replayed from the
+     * ledger history rather than read from the current ledger.
+     */
+    public List<MemberBalance> calculateGroupTotalsBefore(String groupName, LocalDateTime until) {
+        Long groupId = expenseGroupRepository.findByName(groupName)
+                .orElseThrow(() -> new GroupNotFoundException("Group with name '" + groupName + "' not found"))
+                .getId();
+        return ledgerEventService.balancesBefore(groupId, until);
     }
 
     public MemberBalance calculateMemberBalance(String groupName, String memberName) {
-        // Verify member exists
-        groupMemberService.getMemberByGroupNameAndMemberName(groupName, memberName);
-
-        // Calculate total paid
-        BigDecimal totalPaid = expenseService.getExpensesPaidByMember(groupName, memberName)
-                .stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate total owed
-        BigDecimal totalOwed = expenseSplitRepository.findByGroupNameAndMemberName(groupName, memberName)
-                .stream()
-                .map(ExpenseSplit::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return new MemberBalance(memberName, totalPaid, totalOwed);
+        Optional<GroupWorkingSet> workingSet = hotGroupService.workingSet(groupName);
+        // Every member has a ledger row, so a working set knows all of them; others are looked up to be rejected
+        MemberBalance hot = workingSet.map(set -> set.getBalances().get(memberName)).orElse(null);
+        if (hot != null) {
+            return hot;
+        }
+        GroupMember member = groupMemberService.getMemberByGroupNameAndMemberName(groupName, memberName);
+        if (workingSet.isPresent()) {
+            return new MemberBalance(memberName, Money.ZERO, Money.ZERO);
+        }
+
+        return ledgerRepository.findByMemberId(member.getId())
+                .map(ledger -> new MemberBalance(memberName,
+                        Money.of(ledger.getTotalPaid()), Money.of(ledger.getTotalOwed())))
+                .orElseGet(() -> new MemberBalance(memberName, Money.ZERO, Money.ZERO));
     }
 
     public List<Settlement> generateSettlementPlan(String groupName) {
-        Map<String, MemberBalance> balances = calculateGroupTotals(groupName);
-        
-        // Separate creditors (positive balance) and debtors (negative balance)
-        List<MemberBalance> creditors = balances.values().stream()
-                .filter(MemberBalance::isCreditor)
-                .sorted((a, b) -> b.getNetBalance().compareTo(a.getNetBalance())) // Sort by balance descending
-                .collect(Collectors.toList());
-
-        List<MemberBalance> debtors = balances.values().stream()
-                .filter(MemberBalance::isDebtor)
-                .sorted((a, b) -> a.getNetBalance().compareTo(b.getNetBalance())) // Sort by balance ascending (most negative first)
-                .collect(Collectors.toList());
-
-        List<Settlement> settlements = new ArrayList<>();
-
-        // Create working copies to avoid modifying original balances
-        Queue<MemberBalance> creditorQueue = new LinkedList<>();
-        Queue<MemberBalance> debtorQueue = new LinkedList<>();
-
-        for (MemberBalance creditor : creditors) {
-            creditorQueue.offer(new MemberBalance(creditor.getMemberName(), 
-                creditor.getTotalPaid(), creditor.getTotalOwed()));
-        }
+        return generateSettlementPlan(groupName, null).getSettlements();
+    }
 
-        for (MemberBalance debtor : debtors) {
-            debtorQueue.offer(new MemberBalance(debtor.getMemberName(), 
-                debtor.getTotalPaid(), debtor.getTotalOwed()));
+    public SettlementPlan generateSettlementPlan(String groupName, String strategyName) {
+        SettlementStrategy strategy = settlementStrategies.resolve(strategyName);
+        Optional<GroupWorkingSet> workingSet = hotGroupService.workingSet(groupName);
+        if (workingSet.isPresent()) {
+            return workingSet.get().plan(strategy.getName(), balances -> solve(strategy, balances));
         }
+        return cachedForRevision(CacheConfig.SETTLEMENT_PLANS, groupName, strategy.getName(),
+                () -> solve(strategy, loadGroupTotals(groupName).values()));
+    }
 
-        // Match creditors with debtors to minimize transactions
-        while (!creditorQueue.isEmpty() && !debtorQueue.isEmpty()) {
-            MemberBalance creditor = creditorQueue.poll();
-            MemberBalance debtor = debtorQueue.poll();
-
-            BigDecimal creditorAmount = creditor.getNetBalance();
-            BigDecimal debtorAmount = debtor.getNetBalance().abs(); // Make positive
-
-            BigDecimal settlementAmount = creditorAmount.min(debtorAmount);
-            settlements.add(new Settlement(debtor.getMemberName(), creditor.getMemberName(), settlementAmount));
+    // A cached plan reports the solve time of the run that produced it
+    private static SettlementPlan solve(SettlementStrategy strategy, Collection<MemberBalance> balances) {
+        List<MemberBalance> members = new ArrayList<>(balances);
 
-            // Update balances
-            BigDecimal newCreditorBalance = creditorAmount.subtract(settlementAmount);
-            BigDecimal newDebtorBalance = debtorAmount.subtract(settlementAmount);
+        long start = System.nanoTime();
+        List<Settlement> settlements = List.copyOf(strategy.settle(members));
+        return new SettlementPlan(strategy.getName(), settlements, System.nanoTime() - start);
+    }
 
-            // Re-queue if there's remaining balance
-            if (newCreditorBalance.compareTo(BigDecimal.ZERO) > 0) {
-                creditor.setNetBalance(newCreditorBalance);
-                creditorQueue.offer(creditor);
-            }
+    public Money getTotalGroupExpenses(String groupName) {
+        return hotGroupService.workingSet(groupName)
+                .map(GroupWorkingSet::getTotalExpenses)
+                .orElseGet(() -> cachedForRevision(CacheConfig.GROUP_EXPENSE_TOTALS, groupName, null,
+                        () -> expenseService.getTotalExpensesByGroup(groupName)));
+    }
 
-            if (newDebtorBalance.compareTo(BigDecimal.ZERO) > 0) {
-                debtor.setNetBalance(newDebtorBalance.negate()); // Make negative again
-                debtorQueue.offer(debtor);
-            }
+    public Map<String, Money> getMemberPaymentSummary(String groupName) {
+        Optional<GroupWorkingSet> workingSet = hotGroupService.workingSet(groupName);
+        if (workingSet.isPresent()) {
+            return workingSet.get().getBalances().values().stream()
+                    .collect(Collectors.toMap(MemberBalance::getMemberName, MemberBalance::getTotalPaid));
         }
-
-        return settlements;
+        return ledgerRepository.findByGroupName(groupName).stream()
+                .collect(Collectors.toMap(ledger -> ledger.getMember().getMemberName(),
+                        ledger -> Money.of(ledger.getTotalPaid())));
     }
 
-    public BigDecimal getTotalGroupExpenses(String groupName) {
-        return expenseService.getTotalExpensesByGroup(groupName);
+    @Transactional
+    public List<LedgerDrift> reconcileGroupBalances(String groupName) {
+        return balanceLedgerService.rebuildGroup(groupName);
     }
 
-    public Map<String, BigDecimal> getMemberPaymentSummary(String groupName) {
-        List<GroupMember> members = groupMemberService.listMembers(groupName);
-        Map<String, BigDecimal> paymentSummary = new HashMap<>();
-
-        for (GroupMember member : members) {
-            BigDecimal totalPaid = expenseService.getExpensesPaidByMember(groupName, member.getMemberName())
-                    .stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            paymentSummary.put(member.getMemberName(), totalPaid);
+    /**
+     * Returns the cached result for the group's current revision, computing it on a miss.
+     * Unknown groups and calls that join a read-write transaction bypass the cache: the latter
+     * could see an uncommitted revision whose result must not outlive a rollback.
+     */
+    private <T> T cachedForRevision(String cacheName, String groupName, Object variant, Supplier<T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        Optional<GroupRevision> revision = expenseGroupRepository.findRevisionByName(groupName);
+        Cache cache = cacheManager.getCache(cacheName);
+        if (revision.isEmpty() || cache == null) {
+            return loader.get();
         }
 
-        return paymentSummary;
+        GroupRevision current = revision.get();
+        List<Object> key = variant == null
+                ? List.of(current.getGroupId(), current.getRevision())
+                : List.of(current.getGroupId(), current.getRevision(), variant);
+        return cache.get(key, loader::get);
     }
 }
\ No newline at end of file
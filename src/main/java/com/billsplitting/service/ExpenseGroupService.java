@@ -1,10 +1,12 @@
 package com.billsplitting.service;
 
+import com.billsplitting.config.CacheConfig;
 import com.billsplitting.entity.ExpenseGroup;
 import com.billsplitting.exception.DuplicateEntityException;
 import com.billsplitting.exception.GroupNotFoundException;
 import com.billsplitting.repository.ExpenseGroupRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -59,13 +61,17 @@ public class ExpenseGroupService {
                 .orElseThrow(() -> new GroupNotFoundException("Group with name '" + name + "' not found"));
     }
 
+    // Member lists are keyed by the group's revision, so once the group is gone none of them can be hit
+    @CacheEvict(cacheNames = CacheConfig.GROUPS_BY_NAME, key = "#name")
     public void deleteGroup(String name) {
         ExpenseGroup group = getGroupByName(name);
         expenseGroupRepository.delete(group);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.GROUPS_BY_NAME, key = "#name")
     public ExpenseGroup updateGroup(String name, String newDescription) {
-        ExpenseGroup group = getGroupByName(name);
+        ExpenseGroup group = expenseGroupRepository.findByNameForUpdate(name)
+                .orElseThrow(() -> new GroupNotFoundException("Group with name '" + name + "' not found"));
         group.setDescription(newDescription);
         return expenseGroupRepository.save(group);
     }
@@ -1,58 +1,118 @@
 package com.billsplitting.service;
 
+import com.billsplitting.dto.ExpenseHistoryCursor;
+import com.billsplitting.dto.ExpenseHistoryEntry;
+import com.billsplitting.dto.ExpenseHistoryPage;
+import com.billsplitting.dto.ExpenseImportResult;
+import com.billsplitting.dto.ImportRowError;
+import com.billsplitting.dto.Money;
 import com.billsplitting.entity.Expense;
 import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.entity.ExpenseSplit;
 import com.billsplitting.entity.GroupMember;
+import com.billsplitting.entity.SplitType;
 import com.billsplitting.exception.ExpenseNotFoundException;
+import com.billsplitting.exception.GroupNotFoundException;
+import com.billsplitting.exception.InvalidImportRowException;
+import com.billsplitting.exception.InvalidSplitException;
 import com.billsplitting.repository.ExpenseRepository;
+import com.billsplitting.repository.ExpenseSplitRepository;
+import com.billsplitting.service.importer.ExpenseImportReader;
+import com.billsplitting.service.importer.ExpenseImportRow;
+import com.billsplitting.service.importer.ImportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedRuntimeException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Transactional
 public class ExpenseService {
 
+    public static final int MAX_HISTORY_PAGE_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseService.class);
+
+    // Import errors beyond this many are counted but not listed
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 1000;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
     private final ExpenseRepository expenseRepository;
+    private final ExpenseSplitRepository expenseSplitRepository;
     private final ExpenseGroupService expenseGroupService;
     private final GroupMemberService groupMemberService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int importChunkSize;
+    private final Path importDirectory;
 
     @Autowired
     public ExpenseService(ExpenseRepository expenseRepository,
+                         ExpenseSplitRepository expenseSplitRepository,
                          ExpenseGroupService expenseGroupService,
-                         GroupMemberService groupMemberService) {
+                         GroupMemberService groupMemberService,
+                         BalanceLedgerService balanceLedgerService,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${billsplitting.import.chunk-size:1000}") int importChunkSize,
+                         @Value("${billsplitting.import.directory:}") String importDirectory) {
         this.expenseRepository = expenseRepository;
+        this.expenseSplitRepository = expenseSplitRepository;
         this.expenseGroupService = expenseGroupService;
         this.groupMemberService = groupMemberService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importChunkSize = importChunkSize;
+        this.importDirectory = importDirectory == null || importDirectory.isBlank()
+                ? null : Path.of(importDirectory).toAbsolutePath().normalize();
     }
 
     public Expense addExpense(String groupName, String description, BigDecimal amount, String paidBy) {
         ExpenseGroup group = expenseGroupService.getGroupByName(groupName);
         GroupMember paidByMember = groupMemberService.getMemberByGroupNameAndMemberName(groupName, paidBy);
         
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Expense amount must be greater than 0");
-        }
+        validateAmount(amount);
         
         Expense expense = new Expense(group, description, amount, paidByMember);
-        return expenseRepository.save(expense);
+        Expense saved = expenseRepository.save(expense);
+        balanceLedgerService.recordExpenseAdded(saved);
+        return saved;
     }
 
     public Expense updateExpense(Long expenseId, String description, BigDecimal amount, String paidBy) {
         Expense expense = getExpenseById(expenseId);
+        GroupMember previousPayer = expense.getPaidByMember();
+        BigDecimal previousAmount = expense.getAmount();
         
         if (description != null && !description.trim().isEmpty()) {
             expense.setDescription(description);
         }
         
         if (amount != null) {
-            if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-                throw new IllegalArgumentException("Expense amount must be greater than 0");
-            }
+            validateAmount(amount);
             expense.setAmount(amount);
         }
         
@@ -62,20 +122,191 @@ public class ExpenseService {
             expense.setPaidByMember(paidByMember);
         }
         
+        balanceLedgerService.recordExpenseUpdated(expense, previousPayer, previousAmount);
+        
         return expenseRepository.save(expense);
     }
 
     public void deleteExpense(Long expenseId) {
         Expense expense = getExpenseById(expenseId);
+        balanceLedgerService.recordExpenseRemoved(expense);
         expenseRepository.delete(expense);
     }
 
+    /**
+     * Streams expenses and their splits from a CSV or JSONL file (see {@link ExpenseImportReader})
+     * and writes them in chunks, each chunk in its own transaction. Groups and members are looked
+     * up once per group. Rows that cannot be parsed, resolved or written are reported back by line
+     * number while the rest of the file is still imported.
+     * <p>
+     * When {@code billsplitting.import.directory} is set, the path is resolved against it and
+     * files outside it are refused.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ExpenseImportResult importExpenses(Path path, ImportFormat format) {
+        path = resolveImportFile(path);
+        long started = System.nanoTime();
+        ImportTally tally = new ImportTally();
+        Map<String, Optional<ImportGroup>> groups = new HashMap<>();
+        List<PendingExpense> chunk = new ArrayList<>(importChunkSize);
+
+        try (ExpenseImportReader reader = new ExpenseImportReader(path, format)) {
+            while (true) {
+                ExpenseImportRow row;
+                try {
+                    row = reader.next();
+                    if (row == null) {
+                        break;
+                    }
+                    chunk.add(prepareImport(row, groups));
+                } catch (InvalidImportRowException e) {
+                    tally.fail(e.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                if (chunk.size() == importChunkSize) {
+                    writeImportChunk(chunk, tally);
+                    chunk.clear();
+                }
+            }
+            writeImportChunk(chunk, tally);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read import file " + path, e);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Imported {} expenses from {} in {} ms, {} rows failed", tally.imported, path, elapsedMillis, tally.failed);
+        return new ExpenseImportResult(tally.imported, tally.failed, tally.errors, elapsedMillis);
+    }
+
+    // Follows .. and symbolic links before the check, so neither can lead out of the import directory
+    private Path resolveImportFile(Path path) {
+        if (importDirectory == null) {
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalArgumentException("Import file not found: " + path);
+            }
+            return path;
+        }
+        Path file = importDirectory.resolve(path).normalize();
+        try {
+            if (Files.isRegularFile(file) && file.toRealPath().startsWith(importDirectory.toRealPath())) {
+                return file;
+            }
+        } catch (IOException e) {
+            // Reported as not found below
+        }
+        throw new IllegalArgumentException("Import file not found in the import directory: " + path);
+    }
+
+    private PendingExpense prepareImport(ExpenseImportRow row, Map<String, Optional<ImportGroup>> groups) {
+        long line = row.lineNumber();
+        ImportGroup group = groups.computeIfAbsent(row.groupName(), this::loadImportGroup)
+                .orElseThrow(() -> new InvalidImportRowException(line, "Group '" + row.groupName() + "' not found"));
+
+        if (row.description().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new InvalidImportRowException(line, "Description cannot exceed " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        GroupMember payer = group.member(line, row.paidBy());
+
+        for (String memberName : row.splits().keySet()) {
+            group.member(line, memberName);
+        }
+
+        try {
+            validateAmount(row.amount());
+            // EQUAL rows that name members split among those members only
+            SplitType splitType = row.splitType() == SplitType.EQUAL && !row.splits().isEmpty()
+                    ? SplitType.EQUAL_SUBSET : row.splitType();
+            SplitPlan plan = SplitPlan.create(Money.of(row.amount()), splitType, row.splits(), group.members());
+            return new PendingExpense(line, group.group(), row.description(), row.amount(), payer, plan);
+        } catch (IllegalArgumentException | ArithmeticException | InvalidSplitException e) {
+            throw new InvalidImportRowException(line, e.getMessage());
+        }
+    }
+
+    private Optional<ImportGroup> loadImportGroup(String groupName) {
+        ExpenseGroup group;
+        try {
+            group = expenseGroupService.getGroupByName(groupName);
+        } catch (GroupNotFoundException e) {
+            return Optional.empty();
+        }
+        Map<String, GroupMember> members = new LinkedHashMap<>();
+        for (GroupMember member : groupMemberService.listMembers(groupName)) {
+            members.put(member.getMemberName(), member);
+        }
+        return Optional.of(new ImportGroup(group, members));
+    }
+
+    private void writeImportChunk(List<PendingExpense> chunk, ImportTally tally) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistImport(chunk));
+            tally.imported += chunk.size();
+        } catch (RuntimeException e) {
+            // Retry row by row so one bad row does not reject the rest of its chunk; whatever a single
+            // row throws, database or validation failure alike, rejects only that row
+            log.warn("Import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+            for (PendingExpense row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistImport(List.of(row)));
+                    tally.imported++;
+                } catch (RuntimeException rowFailure) {
+                    tally.fail(row.lineNumber(), importFailureMessage(rowFailure));
+                }
+            }
+        }
+    }
+
+    private static String importFailureMessage(RuntimeException failure) {
+        Throwable cause = failure instanceof NestedRuntimeException nested ? nested.getMostSpecificCause() : failure;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private void persistImport(List<PendingExpense> rows) {
+        List<Expense> expenses = new ArrayList<>(rows.size());
+        List<ExpenseSplit> splits = new ArrayList<>();
+        for (PendingExpense row : rows) {
+            Expense expense = new Expense(row.group(), row.description(), row.amount(), row.payer());
+            expense.setSplitType(row.plan().getType());
+            expenses.add(expense);
+            splits.addAll(row.plan().toSplits(expense));
+        }
+        expenseRepository.saveAll(expenses);
+        expenseSplitRepository.saveAll(splits);
+        balanceLedgerService.recordImport(expenses, splits);
+    }
+
+    private void validateAmount(BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Expense amount must be greater than 0");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("Expense amount cannot have more than 2 decimal places");
+        }
+    }
+
     @Transactional(readOnly = true)
     public Expense getExpenseById(Long expenseId) {
-        return expenseRepository.findById(expenseId)
+        return expenseRepository.findWithGroupAndPayerById(expenseId)
                 .orElseThrow(() -> new ExpenseNotFoundException("Expense with ID " + expenseId + " not found"));
     }
 
+    /**
+     * Loads the expenses with their groups and payers in one query, failing on any unknown id.
+     */
+    @Transactional(readOnly = true)
+    public List<Expense> getExpensesByIds(Collection<Long> expenseIds) {
+        List<Expense> expenses = expenseRepository.findWithGroupAndPayerByIdIn(expenseIds);
+        if (expenses.size() != expenseIds.size()) {
+            Set<Long> missing = new TreeSet<>(expenseIds);
+            expenses.forEach(expense -> missing.remove(expense.getId()));
+            throw new ExpenseNotFoundException("Expenses with IDs " + missing + " not found");
+        }
+        return expenses;
+    }
+
     @Transactional(readOnly = true)
     public Expense getExpenseByIdWithSplits(Long expenseId) {
         return expenseRepository.findByIdWithSplits(expenseId)
@@ -87,6 +318,37 @@ public class ExpenseService {
         return expenseRepository.findByGroupNameOrderByCreatedAtDesc(groupName);
     }
 
+    @Transactional(readOnly = true)
+    public List<ExpenseHistoryEntry> getExpenseSummariesByGroup(String groupName) {
+        return expenseRepository.findHistoryByGroupName(groupName);
+    }
+
+    /**
+     * One page of a group's expenses, newest first. Pages are addressed by the position of the
+     * previous page's last row rather than an offset, so every page costs the same however deep
+     * into the history it is, and only {@code limit} rows are ever held in memory.
+     */
+    @Transactional(readOnly = true)
+    public ExpenseHistoryPage getExpenseHistory(String groupName, String paidBy, LocalDateTime from, LocalDateTime to,
+                                                ExpenseHistoryCursor after, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+        ExpenseGroup group = expenseGroupService.getGroupByName(groupName);
+        Long paidByMemberId = paidBy != null
+                ? groupMemberService.getMemberByGroupNameAndMemberName(groupName, paidBy).getId()
+                : null;
+
+        // One extra row tells whether another page follows
+        List<ExpenseHistoryEntry> rows = expenseRepository.findHistoryPage(group.getId(), paidByMemberId, from, to,
+                after, limit + 1);
+        if (rows.size() <= limit) {
+            return new ExpenseHistoryPage(rows, null);
+        }
+        List<ExpenseHistoryEntry> page = List.copyOf(rows.subList(0, limit));
+        return new ExpenseHistoryPage(page, ExpenseHistoryCursor.after(page.get(limit - 1)));
+    }
+
     @Transactional(readOnly = true)
     public List<Expense> getExpensesByGroupAndDateRange(String groupName, LocalDateTime startDate, LocalDateTime endDate) {
         ExpenseGroup group = expenseGroupService.getGroupByName(groupName);
@@ -94,9 +356,8 @@ public class ExpenseService {
     }
 
     @Transactional(readOnly = true)
-    public BigDecimal getTotalExpensesByGroup(String groupName) {
-        BigDecimal total = expenseRepository.getTotalExpensesByGroupName(groupName);
-        return total != null ? total : BigDecimal.ZERO;
+    public Money getTotalExpensesByGroup(String groupName) {
+        return Money.ofNullable(expenseRepository.getTotalExpensesByGroupName(groupName));
     }
 
     @Transactional(readOnly = true)
@@ -104,4 +365,32 @@ public class ExpenseService {
         GroupMember member = groupMemberService.getMemberByGroupNameAndMemberName(groupName, memberName);
         return expenseRepository.findByPaidByMemberId(member.getId());
     }
+
+    private record ImportGroup(ExpenseGroup group, Map<String, GroupMember> members) {
+
+        GroupMember member(long line, String memberName) {
+            GroupMember member = members.get(memberName);
+            if (member == null) {
+                throw new InvalidImportRowException(line,
+                    "Member '" + memberName + "' not found in group '" + group.getName() + "'");
+            }
+            return member;
+        }
+    }
+
+    private record PendingExpense(long lineNumber, ExpenseGroup group, String description, BigDecimal amount,
+                                  GroupMember payer, SplitPlan plan) {}
+
+    private static final class ImportTally {
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        void fail(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_IMPORT_ERRORS) {
+                errors.add(new ImportRowError(lineNumber, message));
+            }
+        }
+    }
 }
\ No newline at end of file
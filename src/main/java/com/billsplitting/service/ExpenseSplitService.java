@@ -1,6 +1,9 @@
 package com.billsplitting.service;
 
+import com.billsplitting.dto.GroupResplitResult;
+import com.billsplitting.dto.Money;
 import com.billsplitting.entity.Expense;
+import com.billsplitting.entity.ExpenseGroup;
 import com.billsplitting.entity.ExpenseSplit;
 import com.billsplitting.entity.GroupMember;
 import com.billsplitting.entity.SplitType;
@@ -11,7 +14,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,163 +23,101 @@ import java.util.Map;
 @Transactional
 public class ExpenseSplitService {
 
+    // Expense ids bound per resplit statement, well below the drivers' parameter limits
+    private static final int RESPLIT_CHUNK_SIZE = 1000;
+
     private final ExpenseSplitRepository expenseSplitRepository;
     private final ExpenseService expenseService;
+    private final ExpenseGroupService expenseGroupService;
     private final GroupMemberService groupMemberService;
+    private final BalanceLedgerService balanceLedgerService;
 
     @Autowired
     public ExpenseSplitService(ExpenseSplitRepository expenseSplitRepository,
                               ExpenseService expenseService,
-                              GroupMemberService groupMemberService) {
+                              ExpenseGroupService expenseGroupService,
+                              GroupMemberService groupMemberService,
+                              BalanceLedgerService balanceLedgerService) {
         this.expenseSplitRepository = expenseSplitRepository;
         this.expenseService = expenseService;
+        this.expenseGroupService = expenseGroupService;
         this.groupMemberService = groupMemberService;
+        this.balanceLedgerService = balanceLedgerService;
     }
 
     public void splitEqually(Long expenseId) {
         Expense expense = expenseService.getExpenseById(expenseId);
-        List<GroupMember> members = groupMemberService.listMembers(expense.getGroup().getName());
-        
-        if (members.isEmpty()) {
-            throw new InvalidSplitException("Cannot split expense: no members in group");
+        Map<String, GroupMember> members = new LinkedHashMap<>();
+        for (GroupMember member : groupMemberService.listMembers(expense.getGroup().getName())) {
+            members.put(member.getMemberName(), member);
         }
-        
-        // Clear existing splits
-        expenseSplitRepository.deleteByExpenseId(expenseId);
-        
-        BigDecimal totalAmount = expense.getAmount();
-        int memberCount = members.size();
-        
-        // Calculate base amount per member (rounded down to nearest paisa)
-        BigDecimal baseAmount = totalAmount.divide(BigDecimal.valueOf(memberCount), 2, RoundingMode.DOWN);
-        
-        // Calculate remainder in paisa
-        BigDecimal totalBaseAmount = baseAmount.multiply(BigDecimal.valueOf(memberCount));
-        BigDecimal remainder = totalAmount.subtract(totalBaseAmount);
-        int remainderPaisa = remainder.multiply(BigDecimal.valueOf(100)).intValue();
-        
-        // Create splits
-        for (int i = 0; i < members.size(); i++) {
-            BigDecimal memberAmount = baseAmount;
-            
-            // Distribute remainder (1 paisa each to first few members)
-            if (i < remainderPaisa) {
-                memberAmount = memberAmount.add(BigDecimal.valueOf(0.01));
-            }
-            
-            ExpenseSplit split = new ExpenseSplit(expense, members.get(i), memberAmount);
-            expenseSplitRepository.save(split);
+        apply(expense, SplitPlan.create(Money.of(expense.getAmount()), SplitType.EQUAL, Map.of(), members));
+    }
+
+    /**
+     * Splits an expense equally among the named members only, e.g. the three who had dessert.
+     */
+    public void splitEquallyAmong(Long expenseId, Collection<String> memberNames) {
+        Map<String, BigDecimal> subset = new LinkedHashMap<>();
+        if (memberNames != null) {
+            memberNames.forEach(memberName -> subset.put(memberName, null));
         }
-        
-        // Update expense split type
-        expense.setSplitType(SplitType.EQUAL);
-        expenseService.updateExpense(expenseId, null, null, null);
+        split(expenseId, SplitType.EQUAL_SUBSET, subset);
     }
 
     public void splitByAmount(Long expenseId, Map<String, BigDecimal> memberAmounts) {
-        Expense expense = expenseService.getExpenseById(expenseId);
-        String groupName = expense.getGroup().getName();
-        
-        // Validate that amounts sum to expense total
-        BigDecimal totalSplitAmount = memberAmounts.values().stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        if (totalSplitAmount.compareTo(expense.getAmount()) != 0) {
-            throw new InvalidSplitException(
-                String.format("Split amounts (%.2f) do not equal expense amount (%.2f)", 
-                    totalSplitAmount, expense.getAmount()));
-        }
-        
-        // Validate all members exist
-        for (String memberName : memberAmounts.keySet()) {
-            if (!groupMemberService.memberExists(groupName, memberName)) {
-                throw new InvalidSplitException("Member '" + memberName + "' not found in group");
-            }
-        }
-        
-        // Clear existing splits
-        expenseSplitRepository.deleteByExpenseId(expenseId);
-        
-        // Create new splits
-        for (Map.Entry<String, BigDecimal> entry : memberAmounts.entrySet()) {
-            String memberName = entry.getKey();
-            BigDecimal amount = entry.getValue();
-            
-            if (amount.compareTo(BigDecimal.ZERO) < 0) {
-                throw new InvalidSplitException("Split amount cannot be negative for member: " + memberName);
-            }
-            
-            GroupMember member = groupMemberService.getMemberByGroupNameAndMemberName(groupName, memberName);
-            ExpenseSplit split = new ExpenseSplit(expense, member, amount);
-            expenseSplitRepository.save(split);
-        }
-        
-        // Update expense split type
-        expense.setSplitType(SplitType.AMOUNT);
+        split(expenseId, SplitType.AMOUNT, memberAmounts);
     }
 
     public void splitByPercentage(Long expenseId, Map<String, BigDecimal> memberPercentages) {
+        split(expenseId, SplitType.PERCENTAGE, memberPercentages);
+    }
+
+    /**
+     * Splits an expense in proportion to the members' weights, e.g. 2:1:1 for a couple and two
+     * singles.
+     */
+    public void splitByShares(Long expenseId, Map<String, BigDecimal> memberWeights) {
+        split(expenseId, SplitType.SHARES, memberWeights);
+    }
+
+    // The named members are looked up with one query, whatever their number
+    private void split(Long expenseId, SplitType type, Map<String, BigDecimal> shares) {
+        Map<String, BigDecimal> requested = shares == null ? Map.of() : shares;
         Expense expense = expenseService.getExpenseById(expenseId);
-        String groupName = expense.getGroup().getName();
-        
-        // Validate that percentages sum to 100%
-        BigDecimal totalPercentage = memberPercentages.values().stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        if (totalPercentage.compareTo(BigDecimal.valueOf(100)) != 0) {
-            throw new InvalidSplitException(
-                String.format("Percentages must sum to 100%%, got %.2f%%", totalPercentage));
-        }
-        
-        // Validate all members exist and percentages are valid
-        for (Map.Entry<String, BigDecimal> entry : memberPercentages.entrySet()) {
-            String memberName = entry.getKey();
-            BigDecimal percentage = entry.getValue();
-            
-            if (!groupMemberService.memberExists(groupName, memberName)) {
-                throw new InvalidSplitException("Member '" + memberName + "' not found in group");
-            }
-            
-            if (percentage.compareTo(BigDecimal.ZERO) < 0 || percentage.compareTo(BigDecimal.valueOf(100)) > 0) {
-                throw new InvalidSplitException("Invalid percentage for member " + memberName + ": " + percentage);
-            }
-        }
-        
-        // Clear existing splits
-        expenseSplitRepository.deleteByExpenseId(expenseId);
-        
-        // Calculate amounts from percentages
-        BigDecimal totalAmount = expense.getAmount();
-        BigDecimal totalCalculatedAmount = BigDecimal.ZERO;
-        
-        // First pass: calculate amounts for all but the last member
-        String lastMemberName = null;
-        for (Map.Entry<String, BigDecimal> entry : memberPercentages.entrySet()) {
-            lastMemberName = entry.getKey();
+        Map<String, GroupMember> members = groupMemberService.getMembersByName(expense.getGroup().getId(), requested.keySet());
+        apply(expense, SplitPlan.create(Money.of(expense.getAmount()), type, requested, members));
+    }
+
+    private void apply(Expense expense, SplitPlan plan) {
+        List<ExpenseSplit> previousSplits = expenseSplitRepository.findByExpenseId(expense.getId());
+        expenseSplitRepository.deleteByExpenseId(expense.getId());
+        List<ExpenseSplit> newSplits = plan.toSplits(expense);
+        expenseSplitRepository.saveAll(newSplits);
+        balanceLedgerService.recordShares(previousSplits, newSplits);
+        expense.setSplitType(plan.getType());
+    }
+
+    /**
+     * Re-splits every equally split expense of a group among its current members, for when
+     * someone joined or left after the expenses were split. The splits are rewritten with
+     * set-based SQL instead of one {@link #splitEqually} per expense, with the same amounts.
+     * Expenses that were never split are left alone.
+     */
+    public GroupResplitResult resplitGroup(String groupName) {
+        ExpenseGroup group = expenseGroupService.getGroupByName(groupName);
+        if (groupMemberService.getMemberCount(groupName) == 0) {
+            throw new InvalidSplitException("Cannot split expense: no members in group");
         }
-        
-        for (Map.Entry<String, BigDecimal> entry : memberPercentages.entrySet()) {
-            String memberName = entry.getKey();
-            BigDecimal percentage = entry.getValue();
-            
-            GroupMember member = groupMemberService.getMemberByGroupNameAndMemberName(groupName, memberName);
-            
-            BigDecimal amount;
-            if (memberName.equals(lastMemberName)) {
-                // Last member gets the remainder to ensure exact total
-                amount = totalAmount.subtract(totalCalculatedAmount);
-            } else {
-                amount = totalAmount.multiply(percentage)
-                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-                totalCalculatedAmount = totalCalculatedAmount.add(amount);
-            }
-            
-            ExpenseSplit split = new ExpenseSplit(expense, member, amount, percentage);
-            expenseSplitRepository.save(split);
+
+        List<Long> expenseIds = expenseSplitRepository.findEqualSplitExpenseIdsByGroupId(group.getId());
+        int splits = 0;
+        for (int from = 0; from < expenseIds.size(); from += RESPLIT_CHUNK_SIZE) {
+            List<Long> chunk = expenseIds.subList(from, Math.min(from + RESPLIT_CHUNK_SIZE, expenseIds.size()));
+            splits += expenseSplitRepository.resplitEqually(chunk);
         }
-        
-        // Update expense split type
-        expense.setSplitType(SplitType.PERCENTAGE);
+        balanceLedgerService.recordGroupResplit(group);
+        return new GroupResplitResult(expenseIds.size(), splits);
     }
 
     @Transactional(readOnly = true)
@@ -1,15 +1,26 @@
 package com.billsplitting.service;
 
+import com.billsplitting.config.CacheConfig;
+import com.billsplitting.dto.GroupRevision;
+import com.billsplitting.dto.GroupMemberView;
 import com.billsplitting.entity.ExpenseGroup;
 import com.billsplitting.entity.GroupMember;
 import com.billsplitting.exception.DuplicateEntityException;
 import com.billsplitting.exception.MemberNotFoundException;
+import com.billsplitting.repository.ExpenseGroupRepository;
 import com.billsplitting.repository.GroupMemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -17,12 +28,21 @@ public class GroupMemberService {
 
     private final GroupMemberRepository groupMemberRepository;
     private final ExpenseGroupService expenseGroupService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final ExpenseGroupRepository expenseGroupRepository;
+    private final CacheManager cacheManager;
 
     @Autowired
     public GroupMemberService(GroupMemberRepository groupMemberRepository, 
-                             ExpenseGroupService expenseGroupService) {
+                             ExpenseGroupService expenseGroupService,
+                             BalanceLedgerService balanceLedgerService,
+                             ExpenseGroupRepository expenseGroupRepository,
+                             CacheManager cacheManager) {
         this.groupMemberRepository = groupMemberRepository;
         this.expenseGroupService = expenseGroupService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.expenseGroupRepository = expenseGroupRepository;
+        this.cacheManager = cacheManager;
     }
 
     public GroupMember addMember(String groupName, String memberName) {
@@ -33,19 +53,48 @@ public class GroupMemberService {
         }
         
         GroupMember member = new GroupMember(group, memberName);
-        return groupMemberRepository.save(member);
+        GroupMember saved = groupMemberRepository.save(member);
+        balanceLedgerService.openAccount(saved);
+        return saved;
     }
 
     public void removeMember(String groupName, String memberName) {
         GroupMember member = getMemberByGroupNameAndMemberName(groupName, memberName);
         groupMemberRepository.delete(member);
+        // Removal cascades to the member's paid expenses, which changes what others owe
+        balanceLedgerService.recordMemberRemoved(member);
     }
 
+    /**
+     * The group's members as they are in the database now, for splits and writes.
+     */
     @Transactional(readOnly = true)
     public List<GroupMember> listMembers(String groupName) {
         return groupMemberRepository.findByGroupName(groupName);
     }
 
+    /**
+     * Read-only copies of the group's members, cached under the group's current revision. Adding
+     * or removing a member bumps the revision, in this process or any other, so a hit is never
+     * stale. Calls that join a read-write transaction read the database directly, since they could
+     * see an uncommitted revision.
+     */
+    @Transactional(readOnly = true)
+    public List<GroupMemberView> listMemberViews(String groupName) {
+        Optional<GroupRevision> revision = expenseGroupRepository.findRevisionByName(groupName);
+        if (revision.isEmpty()) {
+            return List.of();
+        }
+        Long groupId = revision.get().getGroupId();
+        Cache cache = cacheManager.getCache(CacheConfig.MEMBERS_BY_GROUP);
+        if (cache == null || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return List.copyOf(groupMemberRepository.findViewsByGroupId(groupId));
+        }
+        return cache.get(List.of(groupId, revision.get().getRevision()),
+                () -> List.copyOf(groupMemberRepository.findViewsByGroupId(groupId)));
+    }
+
     @Transactional(readOnly = true)
     public GroupMember getMemberByGroupNameAndMemberName(String groupName, String memberName) {
         return groupMemberRepository.findByGroupNameAndMemberName(groupName, memberName)
@@ -55,8 +104,24 @@ public class GroupMemberService {
 
     @Transactional(readOnly = true)
     public boolean memberExists(String groupName, String memberName) {
-        ExpenseGroup group = expenseGroupService.getGroupByName(groupName);
-        return groupMemberRepository.existsByGroupIdAndMemberName(group.getId(), memberName);
+        expenseGroupService.getGroupByName(groupName);
+        return listMemberViews(groupName).stream().anyMatch(member -> member.getMemberName().equals(memberName));
+    }
+
+    /**
+     * Looks up the named members of a group with one query. Names that are not members are
+     * simply absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, GroupMember> getMembersByName(Long groupId, Collection<String> memberNames) {
+        Map<String, GroupMember> members = new LinkedHashMap<>();
+        if (memberNames.isEmpty()) {
+            return members;
+        }
+        for (GroupMember member : groupMemberRepository.findByGroupIdAndMemberNameIn(groupId, memberNames)) {
+            members.put(member.getMemberName(), member);
+        }
+        return members;
     }
 
     @Transactional(readOnly = true)
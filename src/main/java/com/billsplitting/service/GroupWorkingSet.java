@@ -0,0 +1,63 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
+import com.billsplitting.dto.SettlementPlan;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A hot group's member balances and expense total as of one revision of the group, held by
+ * {@link HotGroupService}. Settlement plans are solved from the balances on first request and
+ * kept with the set, so they go when the set goes.
+ */
+public final class GroupWorkingSet {
+
+    private final Long groupId;
+    private final long revision;
+    private final Map<String, MemberBalance> balances;
+    private final Money totalExpenses;
+    private final Map<String, SettlementPlan> plans = new ConcurrentHashMap<>();
+    private volatile long checkedAtNanos;
+
+    GroupWorkingSet(Long groupId, long revision, Map<String, MemberBalance> balances, Money totalExpenses,
+                    long checkedAtNanos) {
+        this.groupId = groupId;
+        this.revision = revision;
+        this.balances = balances;
+        this.totalExpenses = totalExpenses;
+        this.checkedAtNanos = checkedAtNanos;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    /** Member name to balance, unmodifiable. */
+    public Map<String, MemberBalance> getBalances() {
+        return balances;
+    }
+
+    public Money getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    public SettlementPlan plan(String strategyName, Function<Collection<MemberBalance>, SettlementPlan> solver) {
+        return plans.computeIfAbsent(strategyName, name -> solver.apply(balances.values()));
+    }
+
+    boolean checkedWithin(long windowNanos, long nowNanos) {
+        return nowNanos - checkedAtNanos < windowNanos;
+    }
+
+    void markChecked(long nowNanos) {
+        checkedAtNanos = nowNanos;
+    }
+}
@@ -0,0 +1,117 @@
+package com.billsplitting.service;
+
+import com.billsplitting.config.CacheConfig;
+import com.billsplitting.dto.GroupRevision;
+import com.billsplitting.dto.Money;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.repository.ExpenseGroupRepository;
+import com.billsplitting.repository.ExpenseRepository;
+import com.billsplitting.repository.MemberBalanceLedgerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Hot group mode ({@code billsplitting.hot-groups.enabled}): each group in use keeps its member
+ * balances, expense total and settlement plans in memory as one {@link GroupWorkingSet}, so the
+ * calculation tools answer without touching the database. A set is loaded in one read-only
+ * transaction on first access and dropped once a write to its group commits in this process.
+ * Writes by other processes on the same database are noticed when the set is next re-checked
+ * against the group's revision, at most {@code revalidate-after} after its last check. Beyond
+ * {@code max-groups} the least recently used sets are evicted.
+ * <p>
+ * Writes themselves are unchanged: they commit to the database before the tool call returns.
+ */
+@Service
+@Transactional(readOnly = true)
+public class HotGroupService {
+
+    private final ExpenseGroupRepository expenseGroupRepository;
+    private final MemberBalanceLedgerRepository ledgerRepository;
+    private final ExpenseRepository expenseRepository;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final long revalidateAfterNanos;
+
+    public HotGroupService(ExpenseGroupRepository expenseGroupRepository,
+                           MemberBalanceLedgerRepository ledgerRepository,
+                           ExpenseRepository expenseRepository,
+                           CacheManager cacheManager,
+                           @Value("${billsplitting.hot-groups.enabled:false}") boolean enabled,
+                           @Value("${billsplitting.hot-groups.revalidate-after:2s}") Duration revalidateAfter) {
+        this.expenseGroupRepository = expenseGroupRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.expenseRepository = expenseRepository;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+    }
+
+    /**
+     * The group's working set, or empty when hot group mode is off, the group does not exist or
+     * the caller is inside a read-write transaction, whose uncommitted changes a set must not hold.
+     */
+    public Optional<GroupWorkingSet> workingSet(String groupName) {
+        if (!enabled || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return Optional.empty();
+        }
+        Optional<ExpenseGroup> group = expenseGroupRepository.findByName(groupName);
+        Cache cache = cacheManager.getCache(CacheConfig.HOT_GROUPS);
+        if (group.isEmpty() || cache == null) {
+            return Optional.empty();
+        }
+
+        Long groupId = group.get().getId();
+        GroupWorkingSet workingSet = cache.get(groupId, GroupWorkingSet.class);
+        if (workingSet == null) {
+            return Optional.of(loadAndCache(cache, groupId, groupName));
+        }
+        long now = System.nanoTime();
+        if (workingSet.checkedWithin(revalidateAfterNanos, now)) {
+            return Optional.of(workingSet);
+        }
+
+        Optional<GroupRevision> revision = expenseGroupRepository.findRevisionByName(groupName);
+        if (revision.isPresent() && revision.get().getGroupId().equals(groupId)
+                && revision.get().getRevision() == workingSet.getRevision()) {
+            workingSet.markChecked(now);
+            return Optional.of(workingSet);
+        }
+        // Changed by another process; evictIfPresent acts at once, unlike the deferred evict
+        cache.evictIfPresent(groupId);
+        if (revision.isEmpty() || !revision.get().getGroupId().equals(groupId)) {
+            return Optional.empty();
+        }
+        return Optional.of(loadAndCache(cache, groupId, groupName));
+    }
+
+    // A write committing mid-load may evict before the store; re-reading the revision after the store
+    // catches it, and any write committing later evicts what was stored
+    private GroupWorkingSet loadAndCache(Cache cache, Long groupId, String groupName) {
+        GroupWorkingSet workingSet = cache.get(groupId, () -> load(groupId, groupName));
+        Optional<GroupRevision> revision = expenseGroupRepository.findRevisionByName(groupName);
+        if (revision.isEmpty() || !revision.get().getGroupId().equals(groupId)
+                || revision.get().getRevision() != workingSet.getRevision()) {
+            cache.evictIfPresent(groupId);
+        }
+        return workingSet;
+    }
+
+    // The revision is read first, so the rows after it are at least as new and a stale check errs towards a reload
+    private GroupWorkingSet load(Long groupId, String groupName) {
+        long revision = expenseGroupRepository.findRevisionByName(groupName)
+                .map(GroupRevision::getRevision)
+                .orElse(-1L);
+        return new GroupWorkingSet(groupId, revision,
+                CalculationService.toBalances(ledgerRepository.findByGroupName(groupName)),
+                Money.ofNullable(expenseRepository.getTotalExpensesByGroupName(groupName)),
+                System.nanoTime());
+    }
+}
@@ -0,0 +1,131 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.MemberLedgerDelta;
+import com.billsplitting.dto.Money;
+import com.billsplitting.entity.LedgerEvent;
+import com.billsplitting.entity.LedgerEventDelta;
+import com.billsplitting.entity.LedgerEventType;
+import com.billsplitting.entity.LedgerSnapshot;
+import com.billsplitting.entity.LedgerSnapshotBalance;
+import com.billsplitting.repository.LedgerEventRepository;
+import com.billsplitting.repository.LedgerSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the append-only {@code ledger_events} history behind {@code member_balances}.
+ * {@link BalanceLedgerService} appends one event per ledger write, in the same transaction and
+ * after it has locked the group's row, so a group's events are numbered in commit order.
+ * <p>
+ * Balances at any moment are the group's latest snapshot before that moment plus the events
+ * that followed it. Snapshots are taken once a group has collected
+ * {@code billsplitting.ledger.snapshot-min-events} events since its last one.
+ */
+@Service
+@Transactional
+public class LedgerEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerEventService.class);
+
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final LedgerEventRepository eventRepository;
+    private final LedgerSnapshotRepository snapshotRepository;
+    private final long snapshotMinEvents;
+
+    public LedgerEventService(LedgerEventRepository eventRepository,
+                              LedgerSnapshotRepository snapshotRepository,
+                              @Value("${billsplitting.ledger.snapshot-min-events:500}") long snapshotMinEvents) {
+        if (snapshotMinEvents < 1) {
+            throw new IllegalArgumentException("billsplitting.ledger.snapshot-min-events must be at least 1");
+        }
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotMinEvents = snapshotMinEvents;
+    }
+
+    public void append(Long groupId, LedgerEventType type, Long expenseId, Long memberId,
+                       List<LedgerEventDelta> deltas) {
+        eventRepository.save(new LedgerEvent(groupId, type, expenseId, memberId, deltas));
+    }
+
+    /**
+     * Replays the group's ledger up to, but not including, {@code until}. Members that had left
+     * the group by then are not listed.
+     */
+    @Transactional(readOnly = true)
+    public List<MemberBalance> balancesBefore(Long groupId, LocalDateTime until) {
+        return replay(groupId, Long.MAX_VALUE, until).values().stream()
+                .map(totals -> new MemberBalance(totals.memberName(), totals.paid(), totals.owed()))
+                .sorted(Comparator.comparing(MemberBalance::getMemberName))
+                .toList();
+    }
+
+    /**
+     * Folds the group's events into a new snapshot, unless nothing happened since the last one.
+     */
+    public Optional<LedgerSnapshot> takeSnapshot(Long groupId) {
+        Optional<LedgerEvent> last = eventRepository.findFirstByGroupIdOrderByIdDesc(groupId);
+        Long previous = snapshotRepository.findFirstByGroupIdOrderByLastEventIdDesc(groupId)
+                .map(LedgerSnapshot::getLastEventId)
+                .orElse(0L);
+        if (last.isEmpty() || last.get().getId() <= previous) {
+            return Optional.empty();
+        }
+
+        // Bounded by id: events committed while this runs belong to the next snapshot
+        LedgerEvent lastEvent = last.get();
+        List<LedgerSnapshotBalance> balances = replay(groupId, lastEvent.getId(), END_OF_TIME).entrySet().stream()
+                .map(entry -> new LedgerSnapshotBalance(entry.getKey(), entry.getValue().memberName(),
+                        entry.getValue().paid().toBigDecimal(), entry.getValue().owed().toBigDecimal()))
+                .collect(Collectors.toList());
+        return Optional.of(snapshotRepository.save(
+                new LedgerSnapshot(groupId, lastEvent.getId(), lastEvent.getOccurredAt(), balances)));
+    }
+
+    @Scheduled(cron = "${billsplitting.ledger.snapshot-cron:-}")
+    public void snapshotBusyGroups() {
+        int taken = 0;
+        for (Long groupId : eventRepository.findGroupIdsWithEventsSinceSnapshot(snapshotMinEvents)) {
+            if (takeSnapshot(groupId).isPresent()) {
+                taken++;
+            }
+        }
+        log.info("Ledger snapshots finished, {} groups snapshotted", taken);
+    }
+
+    private Map<Long, MemberTotals> replay(Long groupId, Long upToEventId, LocalDateTime until) {
+        Map<Long, MemberTotals> totals = new HashMap<>();
+        Optional<LedgerSnapshot> snapshot = snapshotRepository
+                .findFirstByGroupIdAndAsOfBeforeOrderByAsOfDescIdDesc(groupId, until);
+        snapshot.ifPresent(s -> s.getBalances().forEach(balance -> totals.put(balance.getMemberId(),
+                new MemberTotals(balance.getMemberName(), Money.of(balance.getTotalPaid()), Money.of(balance.getTotalOwed())))));
+
+        Long afterEventId = snapshot.map(LedgerSnapshot::getLastEventId).orElse(0L);
+        for (MemberLedgerDelta delta : eventRepository.sumDeltasByMember(groupId, afterEventId, upToEventId, until)) {
+            totals.merge(delta.getMemberId(), new MemberTotals(delta.getMemberName(), delta.getPaid(), delta.getOwed()),
+                    MemberTotals::plus);
+        }
+        eventRepository.findRemovedMemberIds(groupId, upToEventId, until).forEach(totals::remove);
+        return totals;
+    }
+
+    private record MemberTotals(String memberName, Money paid, Money owed) {
+        MemberTotals plus(MemberTotals other) {
+            return new MemberTotals(memberName, paid.plus(other.paid), owed.plus(other.owed));
+        }
+    }
+}
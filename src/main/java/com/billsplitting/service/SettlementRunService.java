@@ -0,0 +1,162 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.GroupLedgerRow;
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Settlement;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.entity.SettlementPayment;
+import com.billsplitting.entity.SettlementRun;
+import com.billsplitting.entity.SettlementRunGroup;
+import com.billsplitting.exception.GroupNotFoundException;
+import com.billsplitting.repository.ExpenseGroupRepository;
+import com.billsplitting.repository.MemberBalanceLedgerRepository;
+import com.billsplitting.repository.SettlementRunRepository;
+import com.billsplitting.service.settlement.SettlementStrategies;
+import com.billsplitting.service.settlement.SettlementStrategy;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Settles many groups in one run. The balances of all requested groups are read with one
+ * ledger query per {@value #GROUP_CHUNK_SIZE} groups, every group's plan is solved in parallel on
+ * a dedicated fork-join pool (solving is CPU-bound, so virtual threads would not add anything),
+ * and the run is stored in {@code settlement_runs} with the payments and solve time of each group.
+ */
+@Service
+public class SettlementRunService {
+
+    public static final String ALL_GROUPS = "all";
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementRunService.class);
+
+    private static final int GROUP_CHUNK_SIZE = 1000;
+
+    private final ExpenseGroupRepository expenseGroupRepository;
+    private final MemberBalanceLedgerRepository ledgerRepository;
+    private final SettlementRunRepository settlementRunRepository;
+    private final SettlementStrategies settlementStrategies;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool solvers;
+
+    public SettlementRunService(ExpenseGroupRepository expenseGroupRepository,
+                                MemberBalanceLedgerRepository ledgerRepository,
+                                SettlementRunRepository settlementRunRepository,
+                                SettlementStrategies settlementStrategies,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${billsplitting.settlement.batch.parallelism:0}") int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("billsplitting.settlement.batch.parallelism cannot be negative");
+        }
+        this.expenseGroupRepository = expenseGroupRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.settlementRunRepository = settlementRunRepository;
+        this.settlementStrategies = settlementStrategies;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.solvers = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+    }
+
+    /**
+     * Settles the named groups, or every group when the only name is {@value #ALL_GROUPS}, and
+     * returns the stored run.
+     */
+    public SettlementRun runSettlements(List<String> groupNames, String strategyName) {
+        if (groupNames == null || groupNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one group name, or \"" + ALL_GROUPS + "\", is required");
+        }
+        SettlementStrategy strategy = settlementStrategies.resolve(strategyName);
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        long start = System.nanoTime();
+        List<GroupBalances> groups = readOnlyTransaction.execute(status -> loadBalances(groupNames));
+        long loaded = System.nanoTime();
+        List<SettlementRunGroup> results = solvers.submit(() -> groups.parallelStream()
+                .map(group -> solve(group, strategy))
+                .toList()).join();
+        long solved = System.nanoTime();
+
+        SettlementRun run = new SettlementRun(strategy.getName(), startedAt,
+                TimeUnit.NANOSECONDS.toMillis(loaded - start), TimeUnit.NANOSECONDS.toMillis(solved - loaded));
+        results.forEach(run::addGroup);
+        return transactionTemplate.execute(status -> settlementRunRepository.save(run));
+    }
+
+    @Scheduled(cron = "${billsplitting.settlement.batch.cron:-}")
+    public void runNightly() {
+        SettlementRun run = runSettlements(List.of(ALL_GROUPS), null);
+        log.info("Settlement run {} settled {} groups (load {} ms, solve {} ms)",
+                run.getId(), run.getGroupCount(), run.getLoadMillis(), run.getSolveMillis());
+    }
+
+    private List<GroupBalances> loadBalances(List<String> groupNames) {
+        List<ExpenseGroup> groups = groupNames.size() == 1 && ALL_GROUPS.equalsIgnoreCase(groupNames.get(0).trim())
+                ? expenseGroupRepository.findAllByOrderByNameAsc()
+                : findGroups(groupNames);
+
+        Map<Long, List<MemberBalance>> balances = new HashMap<>();
+        for (int from = 0; from < groups.size(); from += GROUP_CHUNK_SIZE) {
+            List<Long> groupIds = groups.subList(from, Math.min(from + GROUP_CHUNK_SIZE, groups.size())).stream()
+                    .map(ExpenseGroup::getId)
+                    .toList();
+            for (GroupLedgerRow row : ledgerRepository.findRowsByGroupIds(groupIds)) {
+                balances.computeIfAbsent(row.getGroupId(), id -> new ArrayList<>()).add(row.toMemberBalance());
+            }
+        }
+        return groups.stream()
+                .map(group -> new GroupBalances(group.getId(), group.getName(), group.getRevision(),
+                        balances.getOrDefault(group.getId(), List.of())))
+                .toList();
+    }
+
+    private List<ExpenseGroup> findGroups(List<String> groupNames) {
+        Set<String> names = new LinkedHashSet<>(groupNames);
+        List<ExpenseGroup> groups = expenseGroupRepository.findByNameIn(names);
+        if (groups.size() != names.size()) {
+            groups.forEach(group -> names.remove(group.getName()));
+            throw new GroupNotFoundException("Groups not found: " + names);
+        }
+        groups.sort(Comparator.comparing(ExpenseGroup::getName));
+        return groups;
+    }
+
+    private static SettlementRunGroup solve(GroupBalances group, SettlementStrategy strategy) {
+        long start = System.nanoTime();
+        List<Settlement> settlements = strategy.settle(new ArrayList<>(group.balances()));
+        long solveMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        List<SettlementPayment> payments = settlements.stream()
+                .map(settlement -> new SettlementPayment(settlement.getFromMember(), settlement.getToMember(),
+                        settlement.getAmount().toBigDecimal()))
+                .collect(Collectors.toList());
+        return new SettlementRunGroup(group.groupId(), group.groupName(), group.revision(),
+                group.balances().size(), solveMicros, payments);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        solvers.shutdownNow();
+    }
+
+    private record GroupBalances(Long groupId, String groupName, long revision, List<MemberBalance> balances) {
+    }
+}
@@ -0,0 +1,220 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.Money;
+import com.billsplitting.dto.SplitBatchResult;
+import com.billsplitting.dto.SplitRequest;
+import com.billsplitting.entity.Expense;
+import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.entity.GroupMember;
+import com.billsplitting.entity.SplitBatch;
+import com.billsplitting.entity.SplitType;
+import com.billsplitting.exception.InvalidSplitException;
+import com.billsplitting.repository.ExpenseSplitRepository;
+import com.billsplitting.repository.SplitBatchRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Splits many expenses in one transaction for {@code split_expenses_batch}. The expenses, their
+ * previous splits and each group's members are loaded once for the whole batch, the new splits
+ * go out as JDBC batches and the ledger takes one batched update.
+ * <p>
+ * Every batch carries an idempotency key. Its row in {@code split_batches} is inserted before
+ * anything else, so a concurrent call with the same key waits on the unique index and then
+ * replays the stored result, as does any later retry. Failed batches roll back their key too.
+ */
+@Service
+public class SplitBatchService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ExpenseSplitRepository expenseSplitRepository;
+    private final SplitBatchRepository splitBatchRepository;
+    private final ExpenseService expenseService;
+    private final GroupMemberService groupMemberService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transactionTemplate;
+
+    public SplitBatchService(ExpenseSplitRepository expenseSplitRepository,
+                             SplitBatchRepository splitBatchRepository,
+                             ExpenseService expenseService,
+                             GroupMemberService groupMemberService,
+                             BalanceLedgerService balanceLedgerService,
+                             PlatformTransactionManager transactionManager) {
+        this.expenseSplitRepository = expenseSplitRepository;
+        this.splitBatchRepository = splitBatchRepository;
+        this.expenseService = expenseService;
+        this.groupMemberService = groupMemberService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public SplitBatchResult splitBatch(String idempotencyKey, List<SplitRequest> requests) {
+        String key = validate(idempotencyKey, requests);
+        String requestHash = hash(requests);
+
+        Optional<SplitBatchResult> stored = readOnlyTransaction.execute(status -> findStored(key, requestHash));
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        try {
+            return transactionTemplate.execute(status -> writeBatch(key, requestHash, requests));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent call with the same key committed first
+            return readOnlyTransaction.execute(status -> findStored(key, requestHash)).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<SplitBatchResult> findStored(String key, String requestHash) {
+        return splitBatchRepository.findByIdempotencyKey(key).map(batch -> {
+            if (!batch.getRequestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("Idempotency key '" + key + "' was already used for different splits");
+            }
+            return fromJson(batch.getResult()).asReplayed();
+        });
+    }
+
+    private SplitBatchResult writeBatch(String key, String requestHash, List<SplitRequest> requests) {
+        SplitBatch batch = splitBatchRepository.saveAndFlush(new SplitBatch(key, requestHash));
+
+        Map<Long, SplitRequest> byExpense = new LinkedHashMap<>();
+        for (SplitRequest request : requests) {
+            if (byExpense.put(request.expenseId(), request) != null) {
+                throw new InvalidSplitException("Expense " + request.expenseId() + " appears more than once in the batch");
+            }
+        }
+        Map<Long, Expense> expenses = new HashMap<>();
+        expenseService.getExpensesByIds(byExpense.keySet()).forEach(expense -> expenses.put(expense.getId(), expense));
+
+        Map<String, Map<String, GroupMember>> membersByGroup = new HashMap<>();
+        List<ExpenseSplit> newSplits = new ArrayList<>();
+        List<SplitBatchResult.ExpenseShares> results = new ArrayList<>(requests.size());
+        for (SplitRequest request : requests) {
+            Expense expense = expenses.get(request.expenseId());
+            Map<String, GroupMember> members = membersByGroup.computeIfAbsent(expense.getGroup().getName(), this::loadMembers);
+            List<ExpenseSplit> splits = plan(expense, request, members);
+            newSplits.addAll(splits);
+            results.add(new SplitBatchResult.ExpenseShares(expense.getId(), expense.getSplitType(), splits.stream()
+                    .map(split -> new SplitBatchResult.Share(split.getMember().getMemberName(), split.getAmount(),
+                            split.getPercentage(), split.getWeight()))
+                    .toList()));
+        }
+
+        List<ExpenseSplit> previousSplits = expenseSplitRepository.findByExpenseIdIn(byExpense.keySet());
+        expenseSplitRepository.deleteByExpenseIdIn(byExpense.keySet());
+        expenseSplitRepository.saveAll(newSplits);
+        balanceLedgerService.recordSplitBatch(previousSplits, newSplits);
+
+        SplitBatchResult result = new SplitBatchResult(key, false, results);
+        batch.setResult(toJson(result));
+        return result;
+    }
+
+    private Map<String, GroupMember> loadMembers(String groupName) {
+        Map<String, GroupMember> members = new LinkedHashMap<>();
+        for (GroupMember member : groupMemberService.listMembers(groupName)) {
+            members.put(member.getMemberName(), member);
+        }
+        return members;
+    }
+
+    private static List<ExpenseSplit> plan(Expense expense, SplitRequest request, Map<String, GroupMember> members) {
+        SplitPlan plan = SplitPlan.create(Money.of(expense.getAmount()), parseType(request), request.shares(), members);
+        expense.setSplitType(plan.getType());
+        return plan.toSplits(expense);
+    }
+
+    private static SplitType parseType(SplitRequest request) {
+        try {
+            return SplitType.valueOf(request.type().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidSplitException("Expense " + request.expenseId() + ": split type must be one of " + Arrays.toString(SplitType.values()));
+        }
+    }
+
+    private static String validate(String idempotencyKey, List<SplitRequest> requests) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("An idempotency key is required");
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key cannot exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one expense to split is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch cannot split more than " + MAX_BATCH_SIZE + " expenses");
+        }
+        for (SplitRequest request : requests) {
+            if (request == null || request.expenseId() == null) {
+                throw new IllegalArgumentException("Every split needs an expenseId");
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Hashes the requests in a canonical form: shares sorted by member and amounts without
+     * trailing zeros, so "10" and "10.00" count as the same request.
+     */
+    private static String hash(List<SplitRequest> requests) {
+        StringBuilder canonical = new StringBuilder();
+        for (SplitRequest request : requests) {
+            canonical.append(request.expenseId()).append('|')
+                    .append(request.type() == null ? "" : request.type().trim().toUpperCase(Locale.ROOT));
+            if (request.shares() != null) {
+                new TreeMap<>(request.shares()).forEach((member, value) -> canonical.append('|').append(member)
+                        .append('=').append(value == null ? "" : value.stripTrailingZeros().toPlainString()));
+            }
+            canonical.append('\n');
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toJson(SplitBatchResult result) {
+        try {
+            return JSON.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store split batch result", e);
+        }
+    }
+
+    private static SplitBatchResult fromJson(String json) {
+        try {
+            return JSON.readValue(json, SplitBatchResult.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored split batch result", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.Money;
+import com.billsplitting.exception.InvalidSplitException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * Turns an expense amount and a split request into per-member shares. Shares are returned in
+ * the iteration order of the input and always sum to the expense amount; invalid requests throw
+ * {@link InvalidSplitException}. Member lookups are left to the caller.
+ */
+final class SplitCalculator {
+
+    // Percentages are turned into integer allocation weights at this many decimal places
+    private static final int PERCENTAGE_WEIGHT_SCALE = 4;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private SplitCalculator() {
+    }
+
+    /**
+     * Equal shares rounded down to the paisa, remainder paise go 1 each to the first members.
+     */
+    static Money[] equalShares(Money total, int members) {
+        if (members == 0) {
+            throw new InvalidSplitException("Cannot split expense: no members in group");
+        }
+        return total.allocate(members);
+    }
+
+    static Money[] amountShares(Money total, Map<String, BigDecimal> memberAmounts) {
+        Money[] shares = new Money[memberAmounts.size()];
+        Money totalSplitAmount = Money.ZERO;
+        int i = 0;
+        for (Map.Entry<String, BigDecimal> entry : memberAmounts.entrySet()) {
+            Money amount = toSplitAmount(entry.getKey(), entry.getValue());
+            if (amount.isNegative()) {
+                throw new InvalidSplitException("Split amount cannot be negative for member: " + entry.getKey());
+            }
+            totalSplitAmount = totalSplitAmount.plus(amount);
+            shares[i++] = amount;
+        }
+
+        if (!totalSplitAmount.equals(total)) {
+            throw new InvalidSplitException(
+                String.format("Split amounts (%s) do not equal expense amount (%s)",
+                    totalSplitAmount, total));
+        }
+        return shares;
+    }
+
+    /**
+     * Percentage shares by the largest remainder method, so they always sum to the total.
+     */
+    static Money[] percentageShares(Money total, Map<String, BigDecimal> memberPercentages) {
+        for (Map.Entry<String, BigDecimal> entry : memberPercentages.entrySet()) {
+            if (entry.getValue() == null) {
+                throw new InvalidSplitException("Invalid percentage for member " + entry.getKey() + ": null");
+            }
+        }
+        BigDecimal totalPercentage = memberPercentages.values().stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (totalPercentage.compareTo(HUNDRED) != 0) {
+            throw new InvalidSplitException(
+                String.format("Percentages must sum to 100%%, got %.2f%%", totalPercentage));
+        }
+
+        long[] weights = new long[memberPercentages.size()];
+        int i = 0;
+        for (Map.Entry<String, BigDecimal> entry : memberPercentages.entrySet()) {
+            BigDecimal percentage = entry.getValue();
+            if (percentage.compareTo(BigDecimal.ZERO) < 0 || percentage.compareTo(HUNDRED) > 0) {
+                throw new InvalidSplitException("Invalid percentage for member " + entry.getKey() + ": " + percentage);
+            }
+            weights[i++] = percentage.movePointRight(PERCENTAGE_WEIGHT_SCALE)
+                    .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return total.allocate(weights);
+    }
+
+    /**
+     * Shares proportional to the members' weights (2:1:1 and 50:25:25 split alike), by the
+     * largest remainder method.
+     */
+    static Money[] weightedShares(Money total, Map<String, BigDecimal> memberWeights) {
+        long[] weights = new long[memberWeights.size()];
+        long totalWeight = 0;
+        int i = 0;
+        try {
+            for (Map.Entry<String, BigDecimal> entry : memberWeights.entrySet()) {
+                BigDecimal weight = entry.getValue();
+                if (weight == null || weight.signum() < 0) {
+                    throw new InvalidSplitException("Invalid share weight for member " + entry.getKey() + ": " + weight);
+                }
+                weights[i] = weight.movePointRight(PERCENTAGE_WEIGHT_SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                totalWeight = Math.addExact(totalWeight, weights[i++]);
+            }
+            if (totalWeight == 0) {
+                throw new InvalidSplitException("Share weights cannot all be zero");
+            }
+            return total.allocate(weights);
+        } catch (ArithmeticException e) {
+            throw new InvalidSplitException("Share weights are too large to split " + total + ": " + memberWeights.values());
+        }
+    }
+
+    private static Money toSplitAmount(String memberName, BigDecimal amount) {
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException e) {
+            throw new InvalidSplitException("Split amount for member " + memberName + " must be in whole paise: " + amount);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.Money;
+import com.billsplitting.entity.Expense;
+import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.entity.GroupMember;
+import com.billsplitting.entity.SplitType;
+import com.billsplitting.exception.InvalidSplitException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A split request that has been checked against the group's members and turned into one amount
+ * per member. Every split path (single expense, batch, import) builds one of these from members it
+ * looked up in bulk, so validation never queries per member.
+ */
+final class SplitPlan {
+
+    private final SplitType type;
+    private final List<GroupMember> members;
+    private final Money[] amounts;
+    private final Map<String, BigDecimal> shares;
+
+    private SplitPlan(SplitType type, List<GroupMember> members, Money[] amounts, Map<String, BigDecimal> shares) {
+        this.type = type;
+        this.members = members;
+        this.amounts = amounts;
+        this.shares = shares;
+    }
+
+    /**
+     * @param shares member names mapped to amounts, percentages or weights; empty for EQUAL, and
+     *               only the names count for EQUAL_SUBSET
+     * @param groupMembers the group's members by name: all of them for EQUAL, otherwise at least
+     *                     every member named in {@code shares}
+     */
+    static SplitPlan create(Money total, SplitType type, Map<String, BigDecimal> shares,
+                            Map<String, GroupMember> groupMembers) {
+        Map<String, BigDecimal> requested = shares == null ? Map.of() : shares;
+        if (type == SplitType.EQUAL) {
+            if (!requested.isEmpty()) {
+                throw new InvalidSplitException("EQUAL splits use every member; use EQUAL_SUBSET to split among some of them");
+            }
+            List<GroupMember> members = new ArrayList<>(groupMembers.values());
+            return new SplitPlan(type, members, SplitCalculator.equalShares(total, members.size()), requested);
+        }
+        if (requested.isEmpty()) {
+            throw new InvalidSplitException(type + " splits need at least one member");
+        }
+
+        List<GroupMember> members = new ArrayList<>(requested.size());
+        for (String memberName : requested.keySet()) {
+            GroupMember member = groupMembers.get(memberName);
+            if (member == null) {
+                throw new InvalidSplitException("Member '" + memberName + "' not found in group");
+            }
+            members.add(member);
+        }
+        Money[] amounts = switch (type) {
+            case EQUAL, EQUAL_SUBSET -> SplitCalculator.equalShares(total, members.size());
+            case AMOUNT -> SplitCalculator.amountShares(total, requested);
+            case PERCENTAGE -> SplitCalculator.percentageShares(total, requested);
+            case SHARES -> SplitCalculator.weightedShares(total, requested);
+        };
+        return new SplitPlan(type, members, amounts, requested);
+    }
+
+    SplitType getType() {
+        return type;
+    }
+
+    List<ExpenseSplit> toSplits(Expense expense) {
+        List<ExpenseSplit> splits = new ArrayList<>(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            GroupMember member = members.get(i);
+            ExpenseSplit split = new ExpenseSplit(expense, member, amounts[i].toBigDecimal());
+            if (type == SplitType.PERCENTAGE) {
+                split.setPercentage(shares.get(member.getMemberName()));
+            } else if (type == SplitType.SHARES) {
+                split.setWeight(shares.get(member.getMemberName()));
+            }
+            splits.add(split);
+        }
+        return splits;
+    }
+}
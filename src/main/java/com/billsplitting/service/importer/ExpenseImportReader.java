@@ -0,0 +1,253 @@
+package com.billsplitting.service.importer;
+
+import com.billsplitting.entity.SplitType;
+import com.billsplitting.exception.InvalidImportRowException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams {@link ExpenseImportRow}s from a CSV or JSONL file one line at a time.
+ * <p>
+ * CSV files start with a header naming the columns {@code group, description, amount, paidBy,
+ * splitType, splits} in any order (case and underscores are ignored); quoted fields may not span
+ * lines. JSONL lines are objects with the same keys. {@code splitType} defaults to EQUAL and
+ * {@code splits} is written {@code Alice=40;Bob=60}, or {@code Alice;Bob} for an equal split
+ * between some members. In JSONL it may also be an object of member to value or an array of names.
+ */
+public class ExpenseImportReader implements Closeable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("group", "description", "amount", "paidby");
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private Map<String, Integer> columns;
+    private long lineNumber;
+
+    public ExpenseImportReader(Path path, ImportFormat format) throws IOException {
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        this.format = format;
+    }
+
+    /**
+     * Returns the next row, or null at the end of the file. A malformed line throws
+     * {@link InvalidImportRowException} and reading can carry on with the next one.
+     */
+    public ExpenseImportRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.JSONL) {
+                return parseJson(line);
+            }
+            if (columns == null) {
+                columns = parseHeader(line);
+                continue;
+            }
+            return parseCsv(line);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = splitCsvLine(line);
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!header.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header must include the columns group, description, amount and paidBy");
+            }
+        }
+        return header;
+    }
+
+    private ExpenseImportRow parseCsv(String line) {
+        List<String> fields = splitCsvLine(line);
+        return toRow(csvField(fields, "group"), csvField(fields, "description"), csvField(fields, "amount"),
+                csvField(fields, "paidby"), csvField(fields, "splittype"), parseSplits(csvField(fields, "splits")));
+    }
+
+    private String csvField(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidImportRowException(lineNumber, "Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private ExpenseImportRow parseJson(String line) {
+        JsonNode node;
+        try {
+            node = JSON.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportRowException(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new InvalidImportRowException(lineNumber, "Expected a JSON object");
+        }
+
+        JsonNode splitsNode = node.path("splits");
+        Map<String, BigDecimal> splits;
+        if (splitsNode.isObject()) {
+            splits = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = splitsNode.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                splits.put(entry.getKey().trim(), entry.getValue().isNull() ? null : decimal(entry.getValue().asText()));
+            }
+        } else if (splitsNode.isArray()) {
+            splits = new LinkedHashMap<>();
+            for (JsonNode member : splitsNode) {
+                addSplit(splits, member.asText().trim(), null);
+            }
+        } else {
+            splits = parseSplits(jsonText(node, "splits"));
+        }
+
+        return toRow(jsonText(node, "group"), jsonText(node, "description"), jsonText(node, "amount"),
+                jsonText(node, "paidBy"), jsonText(node, "splitType"), splits);
+    }
+
+    private static String jsonText(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.isValueNode() || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private Map<String, BigDecimal> parseSplits(String text) {
+        Map<String, BigDecimal> splits = new LinkedHashMap<>();
+        if (text == null) {
+            return splits;
+        }
+        for (String part : text.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            int separator = part.indexOf('=');
+            if (separator < 0) {
+                addSplit(splits, part.trim(), null);
+            } else {
+                addSplit(splits, part.substring(0, separator).trim(), decimal(part.substring(separator + 1).trim()));
+            }
+        }
+        return splits;
+    }
+
+    private void addSplit(Map<String, BigDecimal> splits, String memberName, BigDecimal value) {
+        if (memberName.isEmpty()) {
+            throw new InvalidImportRowException(lineNumber, "Split member name cannot be blank");
+        }
+        if (splits.containsKey(memberName)) {
+            throw new InvalidImportRowException(lineNumber, "Member '" + memberName + "' is listed twice in splits");
+        }
+        splits.put(memberName, value);
+    }
+
+    private ExpenseImportRow toRow(String groupName, String description, String amount, String paidBy,
+                                   String splitType, Map<String, BigDecimal> splits) {
+        require(groupName, "group");
+        require(description, "description");
+        require(amount, "amount");
+        require(paidBy, "paidBy");
+
+        SplitType type;
+        try {
+            type = splitType == null ? SplitType.EQUAL : SplitType.valueOf(splitType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidImportRowException(lineNumber, "Unknown split type '" + splitType + "'");
+        }
+
+        boolean hasValues = splits.values().stream().anyMatch(value -> value != null);
+        boolean hasAllValues = !splits.isEmpty() && splits.values().stream().allMatch(value -> value != null);
+        boolean namesOnly = type == SplitType.EQUAL || type == SplitType.EQUAL_SUBSET;
+        if (namesOnly && hasValues) {
+            throw new InvalidImportRowException(lineNumber, type + " splits list member names only");
+        }
+        if (type == SplitType.EQUAL_SUBSET && splits.isEmpty()) {
+            throw new InvalidImportRowException(lineNumber, "EQUAL_SUBSET splits need at least one member");
+        }
+        if (!namesOnly && !hasAllValues) {
+            throw new InvalidImportRowException(lineNumber, type + " splits need a value for every member");
+        }
+
+        return new ExpenseImportRow(lineNumber, groupName, description, decimal(amount), paidBy, type, splits);
+    }
+
+    private void require(String value, String column) {
+        if (value == null) {
+            throw new InvalidImportRowException(lineNumber, "Missing " + column);
+        }
+    }
+
+    private BigDecimal decimal(String text) {
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidImportRowException(lineNumber, "Invalid number '" + text + "'");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.billsplitting.service.importer;
+
+import com.billsplitting.entity.SplitType;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * One parsed import line. {@code splits} maps member names to amounts or percentages; for
+ * {@link SplitType#EQUAL} the values are null and an empty map means every group member.
+ */
+public record ExpenseImportRow(
+        long lineNumber,
+        String groupName,
+        String description,
+        BigDecimal amount,
+        String paidBy,
+        SplitType splitType,
+        Map<String, BigDecimal> splits
+) {}
@@ -0,0 +1,30 @@
+package com.billsplitting.service.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    JSONL;
+
+    /**
+     * Resolves an explicit format name, or guesses from the file extension when the name is blank.
+     */
+    public static ImportFormat resolve(String name, Path path) {
+        if (name != null && !name.isBlank()) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format '" + name + "', expected csv or jsonl");
+            }
+        }
+        String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".jsonl") || fileName.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        if (fileName.endsWith(".csv")) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of '" + path.getFileName() + "', pass csv or jsonl");
+    }
+}
@@ -0,0 +1,79 @@
+package com.billsplitting.service.settlement;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
+import com.billsplitting.dto.Settlement;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+/**
+ * Pairs creditors and debtors in two FIFO queues, each sorted by outstanding amount once up front.
+ * Produces at most n-1 payments.
+ */
+@Component
+public class GreedySettlementStrategy implements SettlementStrategy {
+
+    public static final String NAME = "greedy";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<Settlement> settle(List<MemberBalance> balances) {
+        // Separate creditors (positive balance) and debtors (negative balance)
+        List<MemberBalance> creditors = balances.stream()
+                .filter(MemberBalance::isCreditor)
+                .sorted((a, b) -> b.getNetBalance().compareTo(a.getNetBalance())) // Sort by balance descending
+                .collect(Collectors.toList());
+
+        List<MemberBalance> debtors = balances.stream()
+                .filter(MemberBalance::isDebtor)
+                .sorted((a, b) -> a.getNetBalance().compareTo(b.getNetBalance())) // Sort by balance ascending (most negative first)
+                .collect(Collectors.toList());
+
+        List<Settlement> settlements = new ArrayList<>();
+
+        // Working queues of outstanding amounts (both kept positive)
+        Queue<OpenBalance> creditorQueue = new LinkedList<>();
+        Queue<OpenBalance> debtorQueue = new LinkedList<>();
+
+        for (MemberBalance creditor : creditors) {
+            creditorQueue.offer(new OpenBalance(creditor.getMemberName(), creditor.getNetBalance()));
+        }
+
+        for (MemberBalance debtor : debtors) {
+            debtorQueue.offer(new OpenBalance(debtor.getMemberName(), debtor.getNetBalance().abs()));
+        }
+
+        // Match creditors with debtors to minimize transactions
+        while (!creditorQueue.isEmpty() && !debtorQueue.isEmpty()) {
+            OpenBalance creditor = creditorQueue.poll();
+            OpenBalance debtor = debtorQueue.poll();
+
+            Money settlementAmount = creditor.amount().min(debtor.amount());
+            settlements.add(new Settlement(debtor.memberName(), creditor.memberName(), settlementAmount));
+
+            // Re-queue if there's remaining balance
+            Money newCreditorBalance = creditor.amount().minus(settlementAmount);
+            if (newCreditorBalance.isPositive()) {
+                creditorQueue.offer(new OpenBalance(creditor.memberName(), newCreditorBalance));
+            }
+
+            Money newDebtorBalance = debtor.amount().minus(settlementAmount);
+            if (newDebtorBalance.isPositive()) {
+                debtorQueue.offer(new OpenBalance(debtor.memberName(), newDebtorBalance));
+            }
+        }
+
+        return settlements;
+    }
+
+    private record OpenBalance(String memberName, Money amount) {}
+}
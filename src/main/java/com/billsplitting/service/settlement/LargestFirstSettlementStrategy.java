@@ -0,0 +1,72 @@
+package com.billsplitting.service.settlement;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
+import com.billsplitting.dto.Settlement;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Always matches the largest remaining debtor with the largest remaining creditor, using two
+ * max-heaps. Each payment clears at least one member, so a zero-sum set of k members never
+ * needs more than k-1 payments.
+ */
+@Component
+public class LargestFirstSettlementStrategy implements SettlementStrategy {
+
+    public static final String NAME = "largest-first";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<Settlement> settle(List<MemberBalance> balances) {
+        String[] names = new String[balances.size()];
+        long[] amounts = new long[balances.size()];
+        for (int i = 0; i < balances.size(); i++) {
+            names[i] = balances.get(i).getMemberName();
+            amounts[i] = balances.get(i).getNetBalance().toPaise();
+        }
+
+        List<Settlement> settlements = new ArrayList<>();
+        settle(names, amounts, settlements);
+        return settlements;
+    }
+
+    /**
+     * Settles members whose net balances in paise (positive = owed money) sum to zero.
+     */
+    static void settle(String[] names, long[] amounts, List<Settlement> settlements) {
+        PriorityQueue<long[]> creditors = new PriorityQueue<>((a, b) -> Long.compare(b[1], a[1]));
+        PriorityQueue<long[]> debtors = new PriorityQueue<>((a, b) -> Long.compare(b[1], a[1]));
+
+        // Heap entries are {member index, outstanding paise}, both sides kept positive
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] > 0) {
+                creditors.offer(new long[] {i, amounts[i]});
+            } else if (amounts[i] < 0) {
+                debtors.offer(new long[] {i, -amounts[i]});
+            }
+        }
+
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            long[] creditor = creditors.poll();
+            long[] debtor = debtors.poll();
+
+            long amount = Math.min(creditor[1], debtor[1]);
+            settlements.add(new Settlement(names[(int) debtor[0]], names[(int) creditor[0]], Money.ofPaise(amount)));
+
+            if (creditor[1] > amount) {
+                creditors.offer(new long[] {creditor[0], creditor[1] - amount});
+            }
+            if (debtor[1] > amount) {
+                debtors.offer(new long[] {debtor[0], debtor[1] - amount});
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.billsplitting.service.settlement;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Settlement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds a plan with the fewest possible payments. A group of n non-zero members whose balances
+ * can be partitioned into k zero-sum subsets needs exactly n-k payments, so the solver maximises k
+ * with a DP over member bitmasks and then settles each subset on its own.
+ * <p>
+ * The DP is O(n * 2^n) in time and holds 9 * 2^n bytes while it runs, so it only
+ * runs up to {@code max-members} non-zero members and within {@code time-budget-ms}; otherwise it
+ * falls back to {@link LargestFirstSettlementStrategy}. A settlement run may have one solve going
+ * per batch solver, so the limit is lowered at startup until they fit in a quarter of the heap.
+ */
+@Component
+public class OptimalSettlementStrategy implements SettlementStrategy {
+
+    public static final String NAME = "optimal";
+
+    private static final Logger log = LoggerFactory.getLogger(OptimalSettlementStrategy.class);
+
+    // How many masks are processed between two deadline checks
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 12;
+
+    // 2^22 subsets take 36 MiB per solve
+    static final int MAX_MEMBERS_LIMIT = 22;
+
+    private final int maxMembers;
+    private final long timeBudgetNanos;
+
+    public OptimalSettlementStrategy(@Value("${billsplitting.settlement.optimal.max-members:20}") int maxMembers,
+                                     @Value("${billsplitting.settlement.optimal.time-budget-ms:250}") long timeBudgetMillis,
+                                     @Value("${billsplitting.settlement.batch.parallelism:0}") int parallelism) {
+        if (maxMembers < 1 || maxMembers > MAX_MEMBERS_LIMIT) {
+            throw new IllegalArgumentException(
+                    "billsplitting.settlement.optimal.max-members must be between 1 and " + MAX_MEMBERS_LIMIT);
+        }
+        int solvers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxMembers = fitToHeap(maxMembers, solvers, Runtime.getRuntime().maxMemory());
+        if (this.maxMembers < maxMembers) {
+            log.warn("Lowered billsplitting.settlement.optimal.max-members from {} to {} so {} concurrent solves "
+                    + "fit in a quarter of the heap", maxMembers, this.maxMembers, solvers);
+        }
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+    }
+
+    /** Bytes one solve over {@code members} members allocates: a long sum and a byte count per subset. */
+    static long solveBytes(int members) {
+        return 9L << members;
+    }
+
+    /** The largest member limit, at most {@code maxMembers}, whose solves all fit in a quarter of the heap. */
+    static int fitToHeap(int maxMembers, int solvers, long maxHeapBytes) {
+        int members = maxMembers;
+        while (members > 1 && solveBytes(members) * solvers > maxHeapBytes / 4) {
+            members--;
+        }
+        return members;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<Settlement> settle(List<MemberBalance> balances) {
+        List<MemberBalance> open = balances.stream()
+                .filter(balance -> !balance.isSettled())
+                .sorted(Comparator.comparing(MemberBalance::getMemberName))
+                .toList();
+
+        int n = open.size();
+        String[] names = new String[n];
+        long[] amounts = new long[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = open.get(i).getMemberName();
+            amounts[i] = open.get(i).getNetBalance().toPaise();
+        }
+
+        List<Settlement> settlements = new ArrayList<>();
+        if (n > maxMembers) {
+            log.debug("{} open balances exceed the optimal solver limit of {}, using largest-first", n, maxMembers);
+            LargestFirstSettlementStrategy.settle(names, amounts, settlements);
+            return settlements;
+        }
+
+        List<int[]> subsets = zeroSumPartition(amounts, System.nanoTime() + timeBudgetNanos);
+        if (subsets == null) {
+            log.debug("Optimal settlement for {} open balances exceeded its time budget, using largest-first", n);
+            LargestFirstSettlementStrategy.settle(names, amounts, settlements);
+            return settlements;
+        }
+
+        for (int[] subset : subsets) {
+            String[] subsetNames = new String[subset.length];
+            long[] subsetAmounts = new long[subset.length];
+            for (int i = 0; i < subset.length; i++) {
+                subsetNames[i] = names[subset[i]];
+                subsetAmounts[i] = amounts[subset[i]];
+            }
+            LargestFirstSettlementStrategy.settle(subsetNames, subsetAmounts, settlements);
+        }
+        return settlements;
+    }
+
+    /**
+     * Splits the members into the largest number of zero-sum subsets, or returns null when the
+     * deadline passes first. {@code zeroSets[mask]} is the most zero-sum subsets that {@code mask}
+     * can be partitioned into, found by removing one member at a time.
+     */
+    private static List<int[]> zeroSumPartition(long[] amounts, long deadline) {
+        int n = amounts.length;
+        int full = (1 << n) - 1;
+        long[] sums = new long[full + 1];
+        byte[] zeroSets = new byte[full + 1];
+
+        for (int mask = 1; mask <= full; mask++) {
+            if ((mask & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline) {
+                return null;
+            }
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            sums[mask] = sums[mask & (mask - 1)] + amounts[lowest];
+
+            int best = 0;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                best = Math.max(best, zeroSets[mask & ~Integer.lowestOneBit(rest)]);
+            }
+            zeroSets[mask] = (byte) (sums[mask] == 0 ? best + 1 : best);
+        }
+
+        // Walk back from the full set; every zero-sum mask on the path closes a subset
+        List<int[]> subsets = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        int mask = full;
+        while (mask != 0) {
+            int target = zeroSets[mask] - (sums[mask] == 0 ? 1 : 0);
+            int member = -1;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                int candidate = Integer.numberOfTrailingZeros(rest);
+                if (zeroSets[mask & ~(1 << candidate)] == target) {
+                    member = candidate;
+                    break;
+                }
+            }
+            current.add(member);
+            mask &= ~(1 << member);
+            if (sums[mask] == 0) {
+                subsets.add(current.stream().mapToInt(Integer::intValue).toArray());
+                current = new ArrayList<>();
+            }
+        }
+        return subsets;
+    }
+}
@@ -0,0 +1,37 @@
+package com.billsplitting.service.settlement;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class SettlementStrategies {
+
+    private final Map<String, SettlementStrategy> strategies = new LinkedHashMap<>();
+    private final String defaultStrategy;
+
+    public SettlementStrategies(List<SettlementStrategy> strategies,
+                                @Value("${billsplitting.settlement.default-strategy:greedy}") String defaultStrategy) {
+        for (SettlementStrategy strategy : strategies) {
+            this.strategies.put(strategy.getName(), strategy);
+        }
+        this.defaultStrategy = defaultStrategy;
+        resolve(defaultStrategy);
+    }
+
+    /**
+     * Looks up a strategy by name, falling back to the configured default when the name is blank.
+     */
+    public SettlementStrategy resolve(String name) {
+        String key = name == null || name.isBlank() ? defaultStrategy : name.trim().toLowerCase();
+        SettlementStrategy strategy = strategies.get(key);
+        if (strategy == null) {
+            throw new IllegalArgumentException(
+                "Unknown settlement strategy '" + name + "', expected one of " + strategies.keySet());
+        }
+        return strategy;
+    }
+}
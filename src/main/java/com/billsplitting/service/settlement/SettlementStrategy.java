@@ -0,0 +1,17 @@
+package com.billsplitting.service.settlement;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Settlement;
+
+import java.util.List;
+
+/**
+ * Turns a group's net balances into a list of payments that settles every member.
+ * Implementations must not assume any ordering of the input balances.
+ */
+public interface SettlementStrategy {
+
+    String getName();
+
+    List<Settlement> settle(List<MemberBalance> balances);
+}
@@ -0,0 +1,4 @@
+-- Expense history pages by (created_at, id) descending; with id in the index the keyset
+-- condition and the ORDER BY are both answered from it, without a sort on ties
+CREATE INDEX idx_expenses_group_created_at_id ON expenses (group_id, created_at DESC, id DESC);
+DROP INDEX idx_expenses_group_created_at;
@@ -0,0 +1,33 @@
+-- One row per batch settlement run, one row per group it settled and the group's payments
+CREATE TABLE settlement_runs (
+    id BIGSERIAL PRIMARY KEY,
+    strategy VARCHAR(50) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    group_count INT NOT NULL,
+    load_millis BIGINT NOT NULL,
+    solve_millis BIGINT NOT NULL
+);
+
+CREATE TABLE settlement_run_groups (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL REFERENCES settlement_runs(id) ON DELETE CASCADE,
+    group_id BIGINT REFERENCES expense_groups(id) ON DELETE SET NULL,
+    group_name VARCHAR(255) NOT NULL,
+    group_revision BIGINT NOT NULL,
+    member_count INT NOT NULL,
+    solve_micros BIGINT NOT NULL
+);
+
+-- Run groups are written as JDBC batches; the increment must match SettlementRunGroup's allocationSize
+ALTER SEQUENCE settlement_run_groups_id_seq INCREMENT BY 50;
+
+CREATE INDEX idx_settlement_run_groups_run ON settlement_run_groups (run_id);
+
+CREATE TABLE settlement_run_payments (
+    run_group_id BIGINT NOT NULL REFERENCES settlement_run_groups(id) ON DELETE CASCADE,
+    payment_order INT NOT NULL,
+    from_member VARCHAR(255) NOT NULL,
+    to_member VARCHAR(255) NOT NULL,
+    amount DECIMAL(14,2) NOT NULL CHECK (amount > 0),
+    PRIMARY KEY (run_group_id, payment_order)
+);
@@ -0,0 +1,51 @@
+-- Append-only history of every change to member_balances, one event per ledger write
+CREATE TABLE ledger_events (
+    id BIGSERIAL PRIMARY KEY,
+    group_id BIGINT NOT NULL REFERENCES expense_groups(id) ON DELETE CASCADE,
+    event_type VARCHAR(30) NOT NULL,
+    expense_id BIGINT,
+    member_id BIGINT,
+    occurred_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_ledger_events_group ON ledger_events (group_id, id);
+
+CREATE TABLE ledger_event_deltas (
+    event_id BIGINT NOT NULL REFERENCES ledger_events(id) ON DELETE CASCADE,
+    member_id BIGINT NOT NULL,
+    member_name VARCHAR(255) NOT NULL,
+    paid_delta DECIMAL(14,2) NOT NULL,
+    owed_delta DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (event_id, member_id)
+);
+
+-- Per-group balances as of an event, so a replay only reads the events after the latest snapshot
+CREATE TABLE ledger_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    group_id BIGINT NOT NULL REFERENCES expense_groups(id) ON DELETE CASCADE,
+    last_event_id BIGINT NOT NULL,
+    as_of TIMESTAMP NOT NULL,
+    taken_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_ledger_snapshots_group ON ledger_snapshots (group_id, as_of);
+
+CREATE TABLE ledger_snapshot_balances (
+    snapshot_id BIGINT NOT NULL REFERENCES ledger_snapshots(id) ON DELETE CASCADE,
+    member_id BIGINT NOT NULL,
+    member_name VARCHAR(255) NOT NULL,
+    total_paid DECIMAL(14,2) NOT NULL,
+    total_owed DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (snapshot_id, member_id)
+);
+
+-- History starts here: existing balances become each group's first snapshot
+INSERT INTO ledger_snapshots (group_id, last_event_id, as_of, taken_at)
+SELECT g.id, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM expense_groups g;
+
+INSERT INTO ledger_snapshot_balances (snapshot_id, member_id, member_name, total_paid, total_owed)
+SELECT s.id, m.id, m.member_name, COALESCE(b.total_paid, 0), COALESCE(b.total_owed, 0)
+FROM ledger_snapshots s
+JOIN group_members m ON m.group_id = s.group_id
+LEFT JOIN member_balances b ON b.member_id = m.id;
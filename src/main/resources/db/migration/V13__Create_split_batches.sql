@@ -0,0 +1,8 @@
+-- Results of split_expenses_batch calls, so a retried call with the same key replays instead of rewriting
+CREATE TABLE split_batches (
+    id BIGSERIAL PRIMARY KEY,
+    idempotency_key VARCHAR(100) NOT NULL UNIQUE,
+    request_hash CHAR(64) NOT NULL,
+    result TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
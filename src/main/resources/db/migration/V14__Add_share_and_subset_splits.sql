@@ -0,0 +1,6 @@
+-- SHARES splits by weights (e.g. 2:1:1), EQUAL_SUBSET splits equally among named members only
+ALTER TABLE expenses DROP CONSTRAINT IF EXISTS expenses_split_type_check;
+ALTER TABLE expenses ADD CONSTRAINT expenses_split_type_check
+    CHECK (split_type IN ('EQUAL', 'EQUAL_SUBSET', 'AMOUNT', 'PERCENTAGE', 'SHARES'));
+
+ALTER TABLE expense_splits ADD COLUMN weight DECIMAL(12,4) CHECK (weight >= 0);
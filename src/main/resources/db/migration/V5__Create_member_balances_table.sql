@@ -0,0 +1,12 @@
+CREATE TABLE member_balances (
+    id BIGSERIAL PRIMARY KEY,
+    member_id BIGINT NOT NULL UNIQUE REFERENCES group_members(id) ON DELETE CASCADE,
+    total_paid DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_owed DECIMAL(14,2) NOT NULL DEFAULT 0
+);
+
+INSERT INTO member_balances (member_id, total_paid, total_owed)
+SELECT m.id,
+       COALESCE((SELECT SUM(e.amount) FROM expenses e WHERE e.paid_by_member_id = m.id), 0),
+       COALESCE((SELECT SUM(s.amount) FROM expense_splits s WHERE s.member_id = m.id), 0)
+FROM group_members m;
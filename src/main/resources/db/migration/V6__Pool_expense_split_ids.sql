@@ -0,0 +1,4 @@
+-- Hibernate hands out expense split ids from a pooled sequence, reserving 50 ids per
+-- nextval so that split inserts can be sent as JDBC batches instead of one IDENTITY
+-- insert per row. The increment must match ExpenseSplit's allocationSize.
+ALTER SEQUENCE expense_splits_id_seq INCREMENT BY 50;
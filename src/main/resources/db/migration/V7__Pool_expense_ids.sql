@@ -0,0 +1,3 @@
+-- Expense ids come from a pooled sequence as well, so bulk imports can batch expense inserts.
+-- The increment must match Expense's allocationSize.
+ALTER SEQUENCE expenses_id_seq INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Bumped by every write that changes a group's balances; cached calculation results are
+-- keyed by (group id, revision) so they go stale as soon as the group changes.
+ALTER TABLE expense_groups ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Group history and date-range queries filter on the group and order or bound by creation time;
+-- the leading group_id also serves cascading deletes from expense_groups
+CREATE INDEX idx_expenses_group_created_at ON expenses (group_id, created_at DESC);
+
+-- Per-payer lookups and paid totals; amount is included so the sums can be answered from the index
+CREATE INDEX idx_expenses_paid_by_member ON expenses (paid_by_member_id) INCLUDE (amount);
+
+-- Per-member split lookups and owed totals. Lookups by expense already use UNIQUE (expense_id, member_id)
+-- and lookups by group use UNIQUE (group_id, member_name) on group_members.
+CREATE INDEX idx_expense_splits_member ON expense_splits (member_id) INCLUDE (amount);
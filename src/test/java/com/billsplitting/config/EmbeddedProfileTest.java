@@ -0,0 +1,90 @@
+package com.billsplitting.config;
+
+import com.billsplitting.BillSplittingMcpServerApplication;
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
+import com.billsplitting.service.CalculationService;
+import com.billsplitting.service.ExpenseGroupService;
+import com.billsplitting.service.ExpenseService;
+import com.billsplitting.service.ExpenseSplitService;
+import com.billsplitting.service.GroupMemberService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the embedded profile on an H2 file in a temporary directory and stops the database the way
+ * a killed process would, without closing the store, before opening the file again.
+ */
+class EmbeddedProfileTest {
+
+    private static final String GROUP = "Embedded Trip";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void reopenAfterCrash_KeepsEveryCommittedWrite() {
+        // Given
+        Long dinner;
+        try (ConfigurableApplicationContext context = start()) {
+            context.getBean(ExpenseGroupService.class).createGroup(GROUP, "Embedded store");
+            GroupMemberService groupMemberService = context.getBean(GroupMemberService.class);
+            groupMemberService.addMember(GROUP, "Asha");
+            groupMemberService.addMember(GROUP, "Ben");
+            groupMemberService.addMember(GROUP, "Chitra");
+            dinner = context.getBean(ExpenseService.class)
+                    .addExpense(GROUP, "Dinner", new BigDecimal("90.00"), "Asha").getId();
+            context.getBean(ExpenseSplitService.class).splitEqually(dinner);
+
+            // When
+            crash(context);
+        }
+
+        // Then
+        assertTrue(Files.exists(tempDir.resolve("billsplitting.mv.db")));
+        try (ConfigurableApplicationContext context = start()) {
+            CalculationService calculationService = context.getBean(CalculationService.class);
+            Map<String, MemberBalance> totals = calculationService.calculateGroupTotals(GROUP);
+            assertEquals(Money.of(new BigDecimal("60.00")), totals.get("Asha").getNetBalance());
+            assertEquals(Money.of(new BigDecimal("-30.00")), totals.get("Ben").getNetBalance());
+            assertEquals(3, context.getBean(ExpenseSplitService.class).getSplitsByExpense(dinner).size());
+            assertTrue(calculationService.reconcileGroupBalances(GROUP).isEmpty(),
+                    "The ledger must match the recovered expenses and splits");
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BillSplittingMcpServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("embedded")
+                .run("--billsplitting.embedded.path=" + tempDir.resolve("billsplitting"),
+                        "--spring.ai.mcp.server.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--billsplitting.ledger.reconcile-cron=-",
+                        "--billsplitting.ledger.snapshot-cron=-");
+    }
+
+    // Closes the files without a final store or compaction, as if the process had been killed
+    private static void crash(ConfigurableApplicationContext context) {
+        try (Connection connection = context.getBean(DataSource.class).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN IMMEDIATELY");
+        } catch (SQLException e) {
+            // H2 may report the closed database to the statement that closed it
+        }
+    }
+}
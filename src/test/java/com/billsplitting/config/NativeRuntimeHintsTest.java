@@ -0,0 +1,45 @@
+package com.billsplitting.config;
+
+import com.billsplitting.dto.SplitBatchResult;
+import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.mcp.tools.CalculationTools;
+import com.billsplitting.mcp.tools.SplittingTools;
+import com.billsplitting.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_CoversToolResponsesAndTheirDtos() {
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CalculationTools.GroupTotalsResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SplittingTools.SplitExpenseResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SplittingTools.SplitDetail.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SplitBatchResult.ExpenseShares.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SplittingTools.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+    }
+
+    @Test
+    void registerHints_CoversEntitiesInspectorAndMigrations() {
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ExpenseSplit.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SqlStatementCounter.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V12__Create_ledger_events.sql").test(hints));
+    }
+}
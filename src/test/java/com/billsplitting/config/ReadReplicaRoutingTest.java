@@ -0,0 +1,63 @@
+package com.billsplitting.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes against two in-memory H2 databases and checks which one each kind of transaction gets.
+ * The replica has no schema, so only the connection URL is read from it.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routingprimary",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "billsplitting.datasource.replica.url=jdbc:h2:mem:routingreplica",
+    "billsplitting.datasource.replica.sticky-window=1h"
+})
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routingprimary";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routingreplica";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactions_UseReplicaUntilAWriteCommits() {
+        // Given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // When & Then
+        assertEquals(REPLICA_URL, readOnly.execute(status -> connectionUrl()));
+        assertEquals(PRIMARY_URL, connectionUrl(), "Work outside a transaction stays on the primary");
+
+        assertEquals(PRIMARY_URL, readWrite.execute(status -> {
+            status.setRollbackOnly();
+            return connectionUrl();
+        }));
+        assertEquals(REPLICA_URL, readOnly.execute(status -> connectionUrl()), "A rolled back write is not sticky");
+
+        assertEquals(PRIMARY_URL, readWrite.execute(status -> connectionUrl()));
+        assertEquals(PRIMARY_URL, readOnly.execute(status -> connectionUrl()),
+                "Reads right after a committed write must see it");
+    }
+
+    private String connectionUrl() {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+    }
+}
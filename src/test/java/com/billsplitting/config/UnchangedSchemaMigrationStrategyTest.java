@@ -0,0 +1,98 @@
+package com.billsplitting.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnchangedSchemaMigrationStrategyTest {
+
+    @Mock
+    private Flyway flyway;
+
+    @Mock
+    private Configuration configuration;
+
+    @TempDir
+    private Path tempDir;
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:schemastamp" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        execute("CREATE TABLE flyway_schema_history (installed_rank INT PRIMARY KEY, success BOOLEAN NOT NULL)");
+        execute("INSERT INTO flyway_schema_history VALUES (1, TRUE)");
+
+        when(flyway.getConfiguration()).thenReturn(configuration);
+        when(configuration.getDataSource()).thenReturn(dataSource);
+        when(configuration.getTable()).thenReturn("flyway_schema_history");
+        // Not reached when the schema history is missing
+        lenient().when(configuration.getLocations()).thenReturn(new Location[] {new Location("classpath:db/migration")});
+    }
+
+    @Test
+    void migrate_UnchangedSinceLastStart_SkipsFlyway() {
+        // Given
+        Path stamp = tempDir.resolve("schema.stamp");
+        UnchangedSchemaMigrationStrategy strategy = new UnchangedSchemaMigrationStrategy(stamp);
+        strategy.migrate(flyway);
+
+        // When
+        strategy.migrate(flyway);
+
+        // Then
+        verify(flyway, times(1)).migrate();
+        assertTrue(Files.exists(stamp));
+    }
+
+    @Test
+    void migrate_SchemaHistoryChanged_RunsFlywayAgain() throws Exception {
+        // Given
+        UnchangedSchemaMigrationStrategy strategy = new UnchangedSchemaMigrationStrategy(tempDir.resolve("schema.stamp"));
+        strategy.migrate(flyway);
+
+        // When
+        execute("INSERT INTO flyway_schema_history VALUES (2, TRUE)");
+        strategy.migrate(flyway);
+
+        // Then
+        verify(flyway, times(2)).migrate();
+    }
+
+    @Test
+    void migrate_NoSchemaHistory_RunsFlywayWithoutStamp() throws Exception {
+        // Given
+        execute("DROP TABLE flyway_schema_history");
+        Path stamp = tempDir.resolve("schema.stamp");
+
+        // When
+        new UnchangedSchemaMigrationStrategy(stamp).migrate(flyway);
+
+        // Then
+        verify(flyway).migrate();
+        assertFalse(Files.exists(stamp));
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.billsplitting.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseHistoryCursorTest {
+
+    @Test
+    void decode_RoundTripsEncodedCursor() {
+        ExpenseHistoryCursor cursor = new ExpenseHistoryCursor(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000), 42L);
+
+        assertEquals(cursor, ExpenseHistoryCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_MalformedCursor_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> ExpenseHistoryCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> ExpenseHistoryCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
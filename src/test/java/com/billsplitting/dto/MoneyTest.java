@@ -0,0 +1,61 @@
+package com.billsplitting.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_RoundTripsThroughBigDecimal() {
+        Money money = Money.of(new BigDecimal("1234.50"));
+
+        assertEquals(123450L, money.toPaise());
+        assertEquals(new BigDecimal("1234.50"), money.toBigDecimal());
+        assertEquals(Money.of(new BigDecimal("1234.5")), money);
+    }
+
+    @Test
+    void of_SubPaisaAmount_ThrowsException() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("10.005")));
+    }
+
+    @Test
+    void plus_Overflow_ThrowsException() {
+        Money max = Money.ofPaise(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofPaise(1)));
+    }
+
+    @Test
+    void allocate_Equal_GivesRemainderToFirstShares() {
+        Money[] shares = Money.of(new BigDecimal("100.00")).allocate(3);
+
+        assertArrayEquals(new Money[] {Money.ofPaise(3334), Money.ofPaise(3333), Money.ofPaise(3333)}, shares);
+    }
+
+    @Test
+    void allocate_Weights_UsesLargestRemainder() {
+        Money[] shares = Money.of(new BigDecimal("0.05")).allocate(new long[] {1, 1, 1});
+
+        assertArrayEquals(new Money[] {Money.ofPaise(2), Money.ofPaise(2), Money.ofPaise(1)}, shares);
+    }
+
+    @Test
+    void allocate_Weights_SumsToTotal() {
+        Money total = Money.of(new BigDecimal("999.99"));
+        Money[] shares = total.allocate(new long[] {3333, 3333, 3334, 0});
+
+        Money sum = Arrays.stream(shares).reduce(Money.ZERO, Money::plus);
+        assertEquals(total, sum);
+        assertEquals(Money.ZERO, shares[3]);
+    }
+
+    @Test
+    void allocate_ZeroWeights_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofPaise(100).allocate(new long[] {0, 0}));
+    }
+}
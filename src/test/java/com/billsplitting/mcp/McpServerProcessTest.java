@@ -0,0 +1,255 @@
+package com.billsplitting.mcp;
+
+import com.billsplitting.mcp.tools.CalculationTools;
+import com.billsplitting.mcp.tools.DiagnosticsTools;
+import com.billsplitting.mcp.tools.ExpenseGroupTools;
+import com.billsplitting.mcp.tools.ExpenseTools;
+import com.billsplitting.mcp.tools.GroupMemberTools;
+import com.billsplitting.mcp.tools.SettlementTools;
+import com.billsplitting.mcp.tools.SplittingTools;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts a packaged build as its own process against Postgres and calls every {@code @McpTool}
+ * over STDIO, as an agent would: the native binary when {@code -Dnative.binary} points at it
+ * ({@code mvn -P native native:compile}) and the jar when {@code -Dserver.jar} does. The startup
+ * time to the first response and the resident memory after all calls are logged, so the two
+ * builds can be compared. Without either property the class is skipped before Postgres starts.
+ */
+@EnabledIf("serverBuildGiven")
+@Testcontainers(disabledWithoutDocker = true)
+class McpServerProcessTest {
+
+    private static final Logger log = LoggerFactory.getLogger(McpServerProcessTest.class);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final List<Class<?>> TOOL_CLASSES = List.of(CalculationTools.class, DiagnosticsTools.class,
+            ExpenseGroupTools.class, ExpenseTools.class, GroupMemberTools.class, SettlementTools.class,
+            SplittingTools.class);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @TempDir
+    private Path tempDir;
+
+    static boolean serverBuildGiven() {
+        return System.getProperty("native.binary") != null || System.getProperty("server.jar") != null;
+    }
+
+    @Test
+    void nativeBinary_AnswersEveryTool() throws Exception {
+        String binary = System.getProperty("native.binary");
+        assumeTrue(binary != null && !binary.isBlank(), "Set -Dnative.binary to the native executable");
+        exercise("native", new ArrayList<>(List.of(binary)));
+    }
+
+    @Test
+    void jar_AnswersEveryTool() throws Exception {
+        String jar = System.getProperty("server.jar");
+        assumeTrue(jar != null && !jar.isBlank(), "Set -Dserver.jar to the packaged jar");
+        exercise("jvm", new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", jar)));
+    }
+
+    private void exercise(String build, List<String> command) throws Exception {
+        command.addAll(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                // Anything but JSON-RPC on stdout would break the protocol
+                "--spring.main.banner-mode=off",
+                "--logging.pattern.console="));
+
+        long start = System.nanoTime();
+        Process server = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            StdioClient client = new StdioClient(server);
+            client.initialize();
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Set<String> listed = new TreeSet<>(client.call("tools/list", JSON.createObjectNode())
+                    .path("result").path("tools").findValuesAsText("name"));
+            assertEquals(declaredToolNames(), listed);
+
+            Set<String> called = callEveryTool(client, build);
+            assertEquals(declaredToolNames(), called, "Every tool needs a step in callEveryTool");
+
+            log.info("{} build: first response after {} ms, {} MB resident after {} tools", build, startupMillis,
+                    residentMegabytes(server.pid()), called.size());
+        } finally {
+            server.destroy();
+            server.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Set<String> callEveryTool(StdioClient client, String build) throws IOException {
+        String group = "Process Trip " + build;
+        Set<String> called = new TreeSet<>();
+        ToolCaller tool = (name, arguments) -> {
+            called.add(name);
+            return client.callTool(name, arguments);
+        };
+
+        tool.call("create_expense_group", Map.of("name", group, "description", "Every tool"));
+        tool.call("list_expense_groups", Map.of());
+        for (String member : List.of("Asha", "Ben", "Chitra", "Dev")) {
+            tool.call("add_group_member", Map.of("groupName", group, "memberName", member));
+        }
+        tool.call("remove_group_member", Map.of("groupName", group, "memberName", "Dev"));
+        tool.call("list_group_members", Map.of("groupName", group));
+
+        long dinner = tool.call("add_expense", Map.of("groupName", group, "description", "Dinner",
+                "amount", 300, "paidBy", "Asha")).path("id").asLong();
+        tool.call("update_expense", Map.of("expenseId", dinner, "amount", 360));
+        tool.call("split_expense_equally", Map.of("expenseId", dinner));
+        long cab = tool.call("add_expense", Map.of("groupName", group, "description", "Cab",
+                "amount", 120, "paidBy", "Ben")).path("id").asLong();
+        tool.call("split_expense_by_amount", Map.of("expenseId", cab, "memberAmounts", Map.of("Asha", 20, "Ben", 100)));
+        tool.call("split_expense_by_percentage", Map.of("expenseId", cab, "memberPercentages", Map.of("Asha", 50, "Ben", 50)));
+        tool.call("split_expense_by_shares", Map.of("expenseId", cab, "memberShares", Map.of("Asha", 2, "Ben", 1, "Chitra", 1)));
+        tool.call("split_expense_equally_among", Map.of("expenseId", cab, "memberNames", List.of("Ben", "Chitra")));
+        long snacks = tool.call("add_expense", Map.of("groupName", group, "description", "Snacks",
+                "amount", 90, "paidBy", "Chitra")).path("id").asLong();
+        tool.call("split_expenses_batch", Map.of("idempotencyKey", build + "-batch",
+                "splits", List.of(Map.of("expenseId", snacks, "type", "EQUAL"))));
+        tool.call("resplit_group", Map.of("groupName", group));
+
+        Path csv = Files.writeString(tempDir.resolve(build + ".csv"), """
+                group,description,amount,paidBy,splitType,splits
+                %s,Tickets,450,Ben,SHARES,Asha=1;Ben=2
+                """.formatted(group));
+        tool.call("import_expenses", Map.of("filePath", csv.toString(), "format", "csv"));
+        tool.call("list_expenses", Map.of("groupName", group));
+        tool.call("delete_expense", Map.of("expenseId", snacks));
+
+        tool.call("calculate_group_totals", Map.of("groupName", group));
+        tool.call("get_member_balance", Map.of("groupName", group, "memberName", "Asha"));
+        tool.call("generate_settlement_summary", Map.of("groupName", group, "strategy", "optimal"));
+        tool.call("get_expense_history", Map.of("groupName", group, "limit", 2));
+        tool.call("get_balances_at", Map.of("groupName", group, "at", LocalDateTime.now().plusMinutes(1).toString()));
+        tool.call("reconcile_member_balances", Map.of("groupName", group));
+        tool.call("run_settlements", Map.of("groupNames", List.of(group)));
+        tool.call("get_cache_statistics", Map.of());
+        return called;
+    }
+
+    private static Set<String> declaredToolNames() {
+        Set<String> names = new TreeSet<>();
+        for (Class<?> toolClass : TOOL_CLASSES) {
+            for (Method method : toolClass.getMethods()) {
+                McpTool tool = method.getAnnotation(McpTool.class);
+                if (tool != null) {
+                    names.add(tool.name());
+                }
+            }
+        }
+        return names;
+    }
+
+    // VmRSS of a Linux process, or -1 where /proc is not available
+    private static long residentMegabytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    private interface ToolCaller {
+
+        JsonNode call(String name, Map<String, Object> arguments) throws IOException;
+    }
+
+    /** Newline-delimited JSON-RPC over the server's stdin and stdout. */
+    private static final class StdioClient {
+
+        private final Process process;
+        private final OutputStream in;
+        private final BufferedReader out;
+        private long nextId;
+
+        StdioClient(Process process) {
+            this.process = process;
+            this.in = process.getOutputStream();
+            this.out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        void initialize() throws IOException {
+            ObjectNode params = JSON.createObjectNode().put("protocolVersion", "2025-03-26");
+            params.putObject("capabilities");
+            params.putObject("clientInfo").put("name", "process-test").put("version", "1.0.0");
+            call("initialize", params);
+            send(JSON.createObjectNode().put("jsonrpc", "2.0").put("method", "notifications/initialized"));
+        }
+
+        // The tool's response record, parsed from the text content of the result
+        JsonNode callTool(String name, Map<String, Object> arguments) throws IOException {
+            ObjectNode params = JSON.createObjectNode().put("name", name);
+            params.set("arguments", JSON.valueToTree(arguments));
+            JsonNode result = call("tools/call", params).path("result");
+            assertFalse(result.path("isError").asBoolean(false), name + " failed: " + result);
+            return JSON.readTree(result.path("content").path(0).path("text").asText());
+        }
+
+        JsonNode call(String method, JsonNode params) throws IOException {
+            long id = nextId++;
+            ObjectNode request = JSON.createObjectNode().put("jsonrpc", "2.0").put("id", id).put("method", method);
+            request.set("params", params);
+            send(request);
+            String line;
+            while ((line = out.readLine()) != null) {
+                JsonNode message = JSON.readTree(line);
+                // Skip server notifications such as log messages
+                if (message.path("id").asLong(-1) == id) {
+                    assertNull(message.get("error"), method + ": " + message);
+                    return message;
+                }
+            }
+            throw new IOException("Server closed its output" + (process.isAlive() ? "" : " with exit code " + process.exitValue()));
+        }
+
+        private void send(JsonNode message) throws IOException {
+            in.write(JSON.writeValueAsBytes(message));
+            in.write('\n');
+            in.flush();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.billsplitting.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the {@code http} profile on a random port and talks raw MCP JSON-RPC to {@code /mcp} from
+ * several clients at once, each in its own session.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("http")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:streamablehttp",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class StreamableHttpTransportTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final int CLIENTS = 8;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void concurrentClients_EachGetTheirOwnSessionAndToolResults() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<String>> sessions = new ArrayList<>();
+
+        // When
+        try {
+            for (int client = 0; client < CLIENTS; client++) {
+                String groupName = "Http Trip " + client;
+                sessions.add(executor.submit(() -> {
+                    String sessionId = initialize();
+                    JsonNode created = call(sessionId, 2, "tools/call", """
+                            {"name": "create_expense_group", "arguments": {"name": "%s", "description": "Over HTTP"}}
+                            """.formatted(groupName));
+                    assertFalse(created.path("result").path("isError").asBoolean(false), created.toString());
+                    JsonNode listed = call(sessionId, 3, "tools/call", """
+                            {"name": "list_expense_groups", "arguments": {}}
+                            """);
+                    assertTrue(listed.path("result").toString().contains(groupName), listed.toString());
+                    return sessionId;
+                }));
+            }
+
+            // Then
+            List<String> sessionIds = new ArrayList<>();
+            for (Future<String> session : sessions) {
+                sessionIds.add(session.get());
+            }
+            assertEquals(CLIENTS, sessionIds.stream().distinct().count(), "Every client needs its own session");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void toolsList_ListsTheToolClasses() throws Exception {
+        // When
+        JsonNode tools = call(initialize(), 2, "tools/list", "{}");
+
+        // Then
+        String names = tools.path("result").path("tools").findValuesAsText("name").toString();
+        assertTrue(names.contains("split_expense_equally"), names);
+        assertTrue(names.contains("generate_settlement_summary"), names);
+    }
+
+    private String initialize() throws Exception {
+        HttpResponse<String> response = post(null, message(1, "initialize", """
+                {"protocolVersion": "2025-03-26", "capabilities": {}, "clientInfo": {"name": "test", "version": "1.0.0"}}
+                """));
+        assertNull(parse(response, 1).get("error"));
+        String sessionId = response.headers().firstValue("Mcp-Session-Id").orElseThrow();
+        post(sessionId, "{\"jsonrpc\": \"2.0\", \"method\": \"notifications/initialized\"}");
+        return sessionId;
+    }
+
+    private JsonNode call(String sessionId, long id, String method, String params) throws Exception {
+        JsonNode response = parse(post(sessionId, message(id, method, params)), id);
+        assertNull(response.get("error"), response.toString());
+        return response;
+    }
+
+    private HttpResponse<String> post(String sessionId, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/mcp"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (sessionId != null) {
+            request.header("Mcp-Session-Id", sessionId);
+        }
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.statusCode() < 400, response.statusCode() + ": " + response.body());
+        return response;
+    }
+
+    private static String message(long id, String method, String params) {
+        return "{\"jsonrpc\": \"2.0\", \"id\": " + id + ", \"method\": \"" + method + "\", \"params\": " + params + "}";
+    }
+
+    // Responses come back as a JSON body or as an event stream carrying the JSON-RPC response
+    private static JsonNode parse(HttpResponse<String> response, long id) throws Exception {
+        if (!response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream")) {
+            return JSON.readTree(response.body());
+        }
+        for (String line : response.body().split("\n")) {
+            if (line.startsWith("data:")) {
+                JsonNode message = JSON.readTree(line.substring(5).trim());
+                if (message.path("id").asLong(-1) == id) {
+                    return message;
+                }
+            }
+        }
+        throw new AssertionError("No response for request " + id + " in " + response.body());
+    }
+}
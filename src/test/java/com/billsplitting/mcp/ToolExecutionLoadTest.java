@@ -0,0 +1,170 @@
+package com.billsplitting.mcp;
+
+import com.billsplitting.mcp.tools.CalculationTools;
+import com.billsplitting.service.ExpenseGroupService;
+import com.billsplitting.service.ExpenseService;
+import com.billsplitting.service.GroupMemberService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives tool calls from 1, 16 and 256 concurrent callers with virtual-thread execution and a
+ * permit limit of 8, and reports the throughput of each level.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:toolload",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.datasource.hikari.maximum-pool-size=8",
+    "billsplitting.tools.execution=virtual",
+    "billsplitting.tools.max-concurrent=8"
+})
+class ToolExecutionLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ToolExecutionLoadTest.class);
+
+    private static final int PERMITS = 8;
+
+    @Autowired
+    private SimulatedIoTools simulatedIoTools;
+
+    @Autowired
+    private CalculationTools calculationTools;
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @TestConfiguration
+    static class LoadTestTools {
+        @Bean
+        SimulatedIoTools simulatedIoTools() {
+            return new SimulatedIoTools();
+        }
+    }
+
+    /**
+     * Stands in for a tool whose time is spent waiting on the database. The bean is a CGLIB proxy
+     * for {@code ToolExecutionAspect}, whose own fields stay unset, so the state is read through
+     * methods that the proxy passes on to the target.
+     */
+    public static class SimulatedIoTools {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final AtomicBoolean sawPlatformThread = new AtomicBoolean();
+
+        @McpTool(name = "simulated_io", description = "Blocks for 5 ms like a database round trip")
+        public int simulateIo() throws InterruptedException {
+            if (!Thread.currentThread().isVirtual()) {
+                sawPlatformThread.set(true);
+            }
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                return 1;
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        public int peakConcurrency() {
+            return peak.get();
+        }
+
+        public boolean sawPlatformThread() {
+            return sawPlatformThread.get();
+        }
+    }
+
+    @Test
+    void simulatedIo_OverlapsUpToPermitLimit() throws Exception {
+        // When
+        double single = callsPerSecond("simulated_io", 1, 40, simulatedIoTools::simulateIo);
+        double sixteen = callsPerSecond("simulated_io", 16, 20, simulatedIoTools::simulateIo);
+        double many = callsPerSecond("simulated_io", 256, 4, simulatedIoTools::simulateIo);
+
+        // Then - calls overlap their waits, but never more of them than there are permits
+        assertFalse(simulatedIoTools.sawPlatformThread(), "Tool bodies should run on virtual threads");
+        assertTrue(simulatedIoTools.peakConcurrency() <= PERMITS, "Peak concurrency " + simulatedIoTools.peakConcurrency());
+        assertTrue(sixteen > single * 3, "16 callers: " + sixteen + "/s, 1 caller: " + single + "/s");
+        assertTrue(many > single * 3, "256 callers: " + many + "/s, 1 caller: " + single + "/s");
+    }
+
+    @Test
+    void calculateGroupTotals_AllCallersSucceed() throws Exception {
+        // Given
+        expenseGroupService.createGroup("Load Trip", "Load test");
+        for (String member : List.of("Alice", "Bob", "Carol", "Dave")) {
+            groupMemberService.addMember("Load Trip", member);
+        }
+        expenseService.addExpense("Load Trip", "Hotel", new BigDecimal("400.00"), "Alice");
+
+        // When / Then - 256 callers share 8 connections without pool timeouts
+        for (int callers : new int[] {1, 16, 256}) {
+            callsPerSecond("calculate_group_totals", callers, 4, () -> {
+                assertEquals(0, new BigDecimal("400.00").compareTo(
+                        calculationTools.calculateGroupTotals("Load Trip").totalExpenses()));
+                return null;
+            });
+        }
+    }
+
+    private double callsPerSecond(String tool, int callers, int callsPerCaller, ToolCall call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        long elapsed;
+        // Platform callers, like the threads the MCP transport hands requests to
+        try (ExecutorService pool = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < callsPerCaller; j++) {
+                        call.invoke();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            elapsed = System.nanoTime() - begin;
+        }
+
+        double throughput = callers * callsPerCaller * 1_000_000_000.0 / elapsed;
+        log.info("{} with {} concurrent callers: {} calls/s", tool, callers, String.format("%.0f", throughput));
+        return throughput;
+    }
+
+    @FunctionalInterface
+    private interface ToolCall {
+        Object invoke() throws Exception;
+    }
+}
@@ -0,0 +1,179 @@
+package com.billsplitting.mcp;
+
+import com.billsplitting.mcp.tools.CalculationTools;
+import com.billsplitting.mcp.tools.ExpenseTools;
+import com.billsplitting.mcp.tools.GroupMemberTools;
+import com.billsplitting.mcp.tools.SplittingTools;
+import com.billsplitting.service.ExpenseGroupService;
+import com.billsplitting.service.ExpenseService;
+import com.billsplitting.service.ExpenseSplitService;
+import com.billsplitting.service.GroupMemberService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each list-shaped tool against a small and a ten times larger group and compares the
+ * Hibernate statistics of the two calls. Read tools must prepare the same number of statements
+ * whatever the row count; tools that also write vary with sequence allocation and batch
+ * boundaries, so for those no lazy association may be loaded on its own.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:toolfetchplan",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ToolFetchPlanTest {
+
+    private static final String SMALL = "Small Trip";
+    private static final String LARGE = "Large Trip";
+    private static final Map<String, Integer> MEMBERS = Map.of(SMALL, 3, LARGE, 30);
+    private static final BigDecimal EXPENSE_AMOUNT = new BigDecimal("90.00");
+
+    // Filled once per context; both groups are shared by every test
+    private static final Map<String, Long> FIRST_EXPENSE_IDS = new LinkedHashMap<>();
+
+    @Autowired
+    private ExpenseTools expenseTools;
+
+    @Autowired
+    private SplittingTools splittingTools;
+
+    @Autowired
+    private GroupMemberTools groupMemberTools;
+
+    @Autowired
+    private CalculationTools calculationTools;
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        if (FIRST_EXPENSE_IDS.isEmpty()) {
+            FIRST_EXPENSE_IDS.put(SMALL, seed(SMALL, 5));
+            FIRST_EXPENSE_IDS.put(LARGE, seed(LARGE, 50));
+        }
+    }
+
+    @Test
+    void listExpenses_FixedStatementCount() {
+        assertSameStatementCount(groupName -> assertFalse(expenseTools.listExpenses(groupName).isEmpty()));
+    }
+
+    @Test
+    void getExpenseHistory_FixedStatementCount() {
+        assertSameStatementCount(groupName ->
+                assertFalse(calculationTools.getExpenseHistory(groupName, null, null, null, null, null).expenses().isEmpty()));
+    }
+
+    @Test
+    void listGroupMembers_FixedStatementCount() {
+        assertSameStatementCount(groupName -> assertFalse(groupMemberTools.listGroupMembers(groupName).isEmpty()));
+    }
+
+    @Test
+    void calculateGroupTotals_FixedStatementCount() {
+        assertSameStatementCount(groupName ->
+                assertFalse(calculationTools.calculateGroupTotals(groupName).memberBalances().isEmpty()));
+    }
+
+    @Test
+    void splitExpenseEqually_LoadsNoLazyAssociation() {
+        assertNoLazyLoads(groupName -> {
+            SplittingTools.SplitExpenseResponse response = splittingTools.splitExpenseEqually(FIRST_EXPENSE_IDS.get(groupName));
+            assertTrue(response.splits().stream().allMatch(split -> split.memberName() != null));
+        });
+    }
+
+    @Test
+    void splitExpenseByAmount_LoadsNoLazyAssociation() {
+        assertNoLazyLoads(groupName -> {
+            int members = MEMBERS.get(groupName);
+            Map<String, BigDecimal> amounts = new LinkedHashMap<>();
+            for (int i = 0; i < members; i++) {
+                amounts.put("Member " + i, EXPENSE_AMOUNT.divide(BigDecimal.valueOf(members)));
+            }
+            assertEquals(members, splittingTools.splitExpenseByAmount(FIRST_EXPENSE_IDS.get(groupName), amounts)
+                    .splits().size());
+        });
+    }
+
+    @Test
+    void updateExpense_LoadsNoLazyAssociation() {
+        assertNoLazyLoads(groupName -> assertEquals("Member 0",
+                expenseTools.updateExpense(FIRST_EXPENSE_IDS.get(groupName), "Renamed", null, null).paidBy()));
+    }
+
+    private void assertSameStatementCount(Consumer<String> tool) {
+        long small = statistics(SMALL, tool).getPrepareStatementCount();
+        long large = statistics(LARGE, tool).getPrepareStatementCount();
+        assertEquals(small, large, "Statement count should not grow with the number of rows");
+    }
+
+    private void assertNoLazyLoads(Consumer<String> tool) {
+        for (String groupName : FIRST_EXPENSE_IDS.keySet()) {
+            Statistics statistics = statistics(groupName, tool);
+            assertEquals(0, statistics.getEntityFetchCount(), "Lazy entity loads in " + groupName);
+            assertEquals(0, statistics.getCollectionFetchCount(), "Lazy collection loads in " + groupName);
+        }
+    }
+
+    private Statistics statistics(String groupName, Consumer<String> tool) {
+        // Both calls start from cold caches, so neither is served from the other's warm-up
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        tool.accept(groupName);
+        return statistics;
+    }
+
+    private Long seed(String groupName, int expenses) {
+        int members = MEMBERS.get(groupName);
+        expenseGroupService.createGroup(groupName, "Fetch plan");
+        for (int i = 0; i < members; i++) {
+            groupMemberService.addMember(groupName, "Member " + i);
+        }
+        Long firstExpenseId = null;
+        for (int i = 0; i < expenses; i++) {
+            Long expenseId = expenseService.addExpense(groupName, "Expense " + i, EXPENSE_AMOUNT,
+                    "Member " + (i % members)).getId();
+            expenseSplitService.splitEqually(expenseId);
+            if (firstExpenseId == null) {
+                firstExpenseId = expenseId;
+            }
+        }
+        return firstExpenseId;
+    }
+}
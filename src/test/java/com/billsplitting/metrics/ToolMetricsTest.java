@@ -0,0 +1,96 @@
+package com.billsplitting.metrics;
+
+import com.billsplitting.exception.GroupNotFoundException;
+import com.billsplitting.mcp.tools.ExpenseGroupTools;
+import com.billsplitting.mcp.tools.GroupMemberTools;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:toolmetrics",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class ToolMetricsTest {
+
+    @Autowired
+    private ExpenseGroupTools expenseGroupTools;
+
+    @Autowired
+    private GroupMemberTools groupMemberTools;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // The context and its registry are shared by every test, so each one checks what its own calls added
+
+    @Test
+    void toolCall_RecordsTimerAndSqlStatements() {
+        // Given
+        long callsBefore = timerCount("create_expense_group", "success");
+        long statementsBefore = statementCount("create_expense_group");
+
+        // When
+        expenseGroupTools.createExpenseGroup("Metrics Trip", "Metrics");
+
+        // Then
+        DistributionSummary statements = meterRegistry.get("mcp.tool.sql.statements")
+                .tag("tool", "create_expense_group").summary();
+        assertEquals(callsBefore + 1, timerCount("create_expense_group", "success"));
+        assertEquals(statementsBefore + 1, statements.count());
+        assertTrue(statements.max() >= 1, "Creating a group should issue at least one statement");
+    }
+
+    @Test
+    void failingToolCall_CountsError() {
+        // Given
+        Counter errors = meterRegistry.find("mcp.tool.errors")
+                .tags("tool", "add_group_member", "exception", "GroupNotFoundException").counter();
+        double errorsBefore = errors == null ? 0 : errors.count();
+        long callsBefore = timerCount("add_group_member", "error");
+
+        // When
+        assertThrows(GroupNotFoundException.class, () -> groupMemberTools.addGroupMember("No Such Trip", "Alice"));
+
+        // Then
+        assertEquals(errorsBefore + 1, meterRegistry.get("mcp.tool.errors")
+                .tags("tool", "add_group_member", "exception", "GroupNotFoundException").counter().count());
+        assertEquals(callsBefore + 1, timerCount("add_group_member", "error"));
+    }
+
+    @Test
+    void repositoryQuery_RecordsRowCount() {
+        // Given
+        expenseGroupTools.createExpenseGroup("Rows Trip", "Rows");
+        groupMemberTools.addGroupMember("Rows Trip", "Alice");
+        groupMemberTools.addGroupMember("Rows Trip", "Bob");
+
+        // When
+        groupMemberTools.listGroupMembers("Rows Trip");
+
+        // Then
+        DistributionSummary rows = meterRegistry.get("repository.rows")
+                .tags("repository", "GroupMemberRepository", "method", "findViewsByGroupId").summary();
+        assertEquals(2.0, rows.max());
+    }
+
+    private long timerCount(String tool, String outcome) {
+        Timer timer = meterRegistry.find("mcp.tool.calls").tags("tool", tool, "outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long statementCount(String tool) {
+        DistributionSummary summary = meterRegistry.find("mcp.tool.sql.statements").tag("tool", tool).summary();
+        return summary == null ? 0 : summary.count();
+    }
+}
@@ -0,0 +1,216 @@
+package com.billsplitting.repository;
+
+import com.billsplitting.dto.ExpenseHistoryCursor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every lookup query against a seeded Postgres built by the real migrations and fails
+ * when its plan contains a sequential scan. The SQL is what Hibernate actually generated,
+ * captured with a {@link StatementInspector}, so a changed query is checked as it now is.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.billsplitting.repository.QueryPlanTest$RecordingStatementInspector"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    private static final int GROUPS = 2000;
+    private static final int MEMBERS_PER_GROUP = 10;
+    private static final int EXPENSES_PER_GROUP = 100;
+
+    // The context and its data outlive a single test, so the seed runs once per class
+    private static boolean seeded;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ExpenseGroupRepository expenseGroupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseSplitRepository expenseSplitRepository;
+
+    @Autowired
+    private MemberBalanceLedgerRepository ledgerRepository;
+
+    @BeforeEach
+    void seedOnce() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO expense_groups (id, name, description) " +
+                "SELECT g, 'Group ' || g, 'Seeded' FROM generate_series(1, ?) g", GROUPS);
+        jdbcTemplate.update("INSERT INTO group_members (id, group_id, member_name) " +
+                "SELECT (g - 1) * ? + m, g, 'Member ' || m FROM generate_series(1, ?) g, generate_series(1, ?) m",
+                MEMBERS_PER_GROUP, GROUPS, MEMBERS_PER_GROUP);
+        jdbcTemplate.update("INSERT INTO member_balances (member_id) SELECT id FROM group_members");
+        jdbcTemplate.update("INSERT INTO expenses (id, group_id, description, amount, paid_by_member_id, split_type, created_at) " +
+                "SELECT (g - 1) * ? + e, g, 'Expense ' || e, 100.00, (g - 1) * ? + e % ? + 1, 'EQUAL', " +
+                "TIMESTAMP '2026-01-01' + e * INTERVAL '1 hour' FROM generate_series(1, ?) g, generate_series(1, ?) e",
+                EXPENSES_PER_GROUP, MEMBERS_PER_GROUP, MEMBERS_PER_GROUP, GROUPS, EXPENSES_PER_GROUP);
+        // Four distinct members of the expense's own group per expense
+        jdbcTemplate.update("INSERT INTO expense_splits (id, expense_id, member_id, amount) " +
+                "SELECT (x.id - 1) * 4 + s, x.id, (x.group_id - 1) * ? + (x.id + s) % ? + 1, 25.00 " +
+                "FROM expenses x, generate_series(1, 4) s", MEMBERS_PER_GROUP, MEMBERS_PER_GROUP);
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void groupAndMemberLookups_UseIndexes() {
+        assertNoSeqScan(() -> expenseGroupRepository.findByName("Group 17"), "Group 17");
+        assertNoSeqScan(() -> expenseGroupRepository.findRevisionByName("Group 17"), "Group 17");
+        assertNoSeqScan(() -> expenseGroupRepository.findMemberNamesByGroupId(17L), 17L);
+        assertNoSeqScan(() -> groupMemberRepository.findByGroupId(17L), 17L);
+        assertNoSeqScan(() -> groupMemberRepository.findByGroupIdAndMemberName(17L, "Member 3"), 17L, "Member 3");
+        assertNoSeqScan(() -> groupMemberRepository.findByGroupName("Group 17"), "Group 17");
+        assertNoSeqScan(() -> groupMemberRepository.findByGroupNameAndMemberName("Group 17", "Member 3"), "Group 17", "Member 3");
+        assertNoSeqScan(() -> groupMemberRepository.countByGroupId(17L), 17L);
+    }
+
+    @Test
+    void expenseQueries_UseIndexes() {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 2, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 1, 3, 0, 0);
+
+        assertNoSeqScan(() -> expenseRepository.findByGroupId(17L), 17L);
+        assertNoSeqScan(() -> expenseRepository.findByGroupNameOrderByCreatedAtDesc("Group 17"), "Group 17");
+        assertNoSeqScan(() -> expenseRepository.findWithGroupAndPayerById(1701L), 1701L);
+        assertNoSeqScan(() -> expenseRepository.findByIdWithSplits(1701L), 1701L);
+        assertNoSeqScan(() -> expenseRepository.findByGroupIdAndDateRange(17L, from, to), 17L, from, to);
+        assertNoSeqScan(() -> expenseRepository.getTotalExpensesByGroupId(17L), 17L);
+        assertNoSeqScan(() -> expenseRepository.getTotalExpensesByGroupName("Group 17"), "Group 17");
+        assertNoSeqScan(() -> expenseRepository.findByPaidByMemberId(163L), 163L);
+        assertNoSeqScan(() -> expenseRepository.getTotalPaidByMember(163L), 163L);
+        assertNoSeqScan(() -> expenseRepository.getTotalPaidPerMemberByGroupName("Group 17"), "Group 17");
+        assertNoSeqScan(() -> expenseRepository.findHistoryByGroupName("Group 17"), "Group 17");
+    }
+
+    @Test
+    void expenseHistoryPage_UsesKeysetIndex() {
+        ExpenseHistoryCursor cursor = new ExpenseHistoryCursor(LocalDateTime.of(2026, 1, 3, 0, 0), 1750L);
+
+        // Parameters: group, the (created_at, id) cursor, then the page size
+        assertNoSeqScan(() -> expenseRepository.findHistoryPage(17L, null, null, null, cursor, 51),
+                17L, cursor.createdAt(), cursor.id(), 51);
+    }
+
+    @Test
+    void splitAndLedgerQueries_UseIndexes() {
+        assertNoSeqScan(() -> expenseSplitRepository.findByExpenseId(1701L), 1701L);
+        assertNoSeqScan(() -> expenseSplitRepository.findByMemberId(163L), 163L);
+        assertNoSeqScan(() -> expenseSplitRepository.findByExpenseIdAndMemberId(1701L, 163L), 1701L, 163L);
+        assertNoSeqScan(() -> expenseSplitRepository.getTotalOwedByMember(163L), 163L);
+        assertNoSeqScan(() -> expenseSplitRepository.getTotalOwedByMemberInGroup(17L, 163L), 17L, 163L);
+        assertNoSeqScan(() -> expenseSplitRepository.findByGroupNameAndMemberName("Group 17", "Member 3"), "Group 17", "Member 3");
+        assertNoSeqScan(() -> expenseSplitRepository.getTotalOwedPerMemberByGroupName("Group 17"), "Group 17");
+        assertNoSeqScan(() -> ledgerRepository.findByMemberId(163L), 163L);
+        assertNoSeqScan(() -> ledgerRepository.findByGroupName("Group 17"), "Group 17");
+    }
+
+    private void assertNoSeqScan(Runnable query, Object... parameters) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        query.run();
+        assertFalse(RecordingStatementInspector.STATEMENTS.isEmpty(), "Query did not reach the database");
+
+        String sql = RecordingStatementInspector.STATEMENTS.get(0);
+        String plan = explain(sql, parameters);
+        assertFalse(plan.contains("Seq Scan"), () -> "Sequential scan in the plan of\n" + sql + "\n" + plan);
+    }
+
+    /**
+     * Prepares the captured statement server-side so EXPLAIN sees the same parameterised query
+     * the application runs, then plans it with the given argument values.
+     */
+    private String explain(String sql, Object... parameters) {
+        StringBuilder numbered = new StringBuilder();
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        assertEquals(parameters.length, index, () -> "Unexpected parameter count in\n" + sql);
+
+        String arguments = parameters.length == 0 ? "" : Stream.of(parameters)
+                .map(QueryPlanTest::literal)
+                .collect(Collectors.joining(", ", "(", ")"));
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PREPARE plan_check AS " + numbered);
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE plan_check" + arguments)) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                } finally {
+                    statement.execute("DEALLOCATE plan_check");
+                }
+            }
+        });
+    }
+
+    private static String literal(Object value) {
+        return value instanceof Number ? value.toString() : "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.LedgerDrift;
+import com.billsplitting.dto.MemberTotal;
+import com.billsplitting.dto.Money;
+import com.billsplitting.entity.Expense;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.entity.GroupMember;
+import com.billsplitting.entity.LedgerEventType;
+import com.billsplitting.entity.MemberBalanceLedger;
+import com.billsplitting.repository.ExpenseGroupRepository;
+import com.billsplitting.repository.ExpenseRepository;
+import com.billsplitting.repository.ExpenseSplitRepository;
+import com.billsplitting.repository.GroupMemberRepository;
+import com.billsplitting.repository.MemberBalanceLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceLedgerServiceTest {
+
+    @Mock
+    private MemberBalanceLedgerRepository ledgerRepository;
+
+    @Mock
+    private ExpenseGroupRepository expenseGroupRepository;
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private ExpenseSplitRepository expenseSplitRepository;
+
+    @Mock
+    private LedgerEventService ledgerEventService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BalanceLedgerService balanceLedgerService;
+
+    private GroupMember alice;
+    private GroupMember bob;
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        ExpenseGroup group = new ExpenseGroup("Trip", "Test Description");
+        group.setId(1L);
+        alice = new GroupMember(group, "Alice");
+        alice.setId(1L);
+        bob = new GroupMember(group, "Bob");
+        bob.setId(2L);
+        expense = new Expense(group, "Dinner", new BigDecimal("100.00"), alice);
+        expense.setId(10L);
+    }
+
+    @Test
+    void recordShares_AppliesNetDeltaPerMember() {
+        // Given
+        when(ledgerRepository.addToTotalOwed(anyMap())).thenReturn(List.of());
+        List<ExpenseSplit> removed = List.of(
+                new ExpenseSplit(expense, alice, new BigDecimal("50.00")),
+                new ExpenseSplit(expense, bob, new BigDecimal("50.00")));
+        List<ExpenseSplit> added = List.of(
+                new ExpenseSplit(expense, alice, new BigDecimal("50.00")),
+                new ExpenseSplit(expense, bob, new BigDecimal("70.00")));
+
+        // When
+        balanceLedgerService.recordShares(removed, added);
+
+        // Then - Alice is unchanged, Bob moves by +20, after the group is locked
+        InOrder inOrder = inOrder(expenseGroupRepository, ledgerRepository);
+        inOrder.verify(expenseGroupRepository).lockGroups(List.of(1L));
+        inOrder.verify(ledgerRepository).addToTotalOwed(Map.of(2L, new BigDecimal("20.00")));
+        verify(ledgerRepository, never()).save(any());
+        verify(expenseGroupRepository).incrementRevision(1L);
+        verify(ledgerEventService).append(eq(1L), eq(LedgerEventType.SPLITS_REPLACED), eq(10L), isNull(), any());
+    }
+
+    @Test
+    void recordShares_MissingRow_CreatesLedgerEntry() {
+        // Given
+        when(ledgerRepository.addToTotalOwed(anyMap())).thenReturn(List.of(1L));
+
+        // When
+        balanceLedgerService.recordShares(List.of(), List.of(new ExpenseSplit(expense, alice, new BigDecimal("100.00"))));
+
+        // Then
+        verify(ledgerRepository).addToTotalOwed(Map.of(1L, new BigDecimal("100.00")));
+        verify(ledgerRepository).save(any(MemberBalanceLedger.class));
+    }
+
+    @Test
+    void recordPayment_MissingRow_CreatesLedgerEntry() {
+        // Given
+        when(ledgerRepository.addToTotalPaid(1L, new BigDecimal("100.00"))).thenReturn(0);
+
+        // When
+        balanceLedgerService.recordPayment(alice, Money.ofPaise(10000));
+
+        // Then
+        verify(ledgerRepository).save(any(MemberBalanceLedger.class));
+    }
+
+    @Test
+    void recordExpenseUpdated_SamePayerAndAmount_RecordsNothing() {
+        // When
+        balanceLedgerService.recordExpenseUpdated(expense, alice, new BigDecimal("100.0"));
+
+        // Then
+        verifyNoInteractions(ledgerRepository, expenseGroupRepository, ledgerEventService);
+    }
+
+    @Test
+    void rebuildGroup_ReportsAndCorrectsDrift() {
+        // Given
+        MemberBalanceLedger aliceLedger = new MemberBalanceLedger(alice, new BigDecimal("100.00"), new BigDecimal("50.00"));
+        MemberBalanceLedger bobLedger = new MemberBalanceLedger(bob, BigDecimal.ZERO, new BigDecimal("40.00"));
+        when(expenseGroupRepository.lockGroupByName("Trip")).thenReturn(Optional.of(1L));
+        when(ledgerRepository.findByGroupName("Trip")).thenReturn(List.of(aliceLedger, bobLedger));
+        when(expenseRepository.getTotalPaidPerMemberByGroupName("Trip")).thenReturn(List.of(
+                new MemberTotal(1L, "Alice", new BigDecimal("100.00")),
+                new MemberTotal(2L, "Bob", null)));
+        when(expenseSplitRepository.getTotalOwedPerMemberByGroupName("Trip")).thenReturn(List.of(
+                new MemberTotal(1L, "Alice", new BigDecimal("50.00")),
+                new MemberTotal(2L, "Bob", new BigDecimal("50.00"))));
+
+        // When
+        List<LedgerDrift> drift = balanceLedgerService.rebuildGroup("Trip");
+
+        // Then
+        InOrder inOrder = inOrder(expenseGroupRepository, ledgerRepository);
+        inOrder.verify(expenseGroupRepository).lockGroupByName("Trip");
+        inOrder.verify(ledgerRepository).findByGroupName("Trip");
+        assertEquals(1, drift.size());
+        assertEquals("Bob", drift.get(0).getMemberName());
+        assertEquals(0, new BigDecimal("50.00").compareTo(bobLedger.getTotalOwed()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(aliceLedger.getTotalOwed()));
+    }
+}
@@ -0,0 +1,131 @@
+package com.billsplitting.service;
+
+import com.billsplitting.config.CacheConfig;
+import com.billsplitting.dto.GroupRevision;
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.entity.GroupMember;
+import com.billsplitting.entity.MemberBalanceLedger;
+import com.billsplitting.repository.ExpenseGroupRepository;
+import com.billsplitting.repository.MemberBalanceLedgerRepository;
+import com.billsplitting.service.settlement.SettlementStrategies;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalculationServiceTest {
+
+    @Mock
+    private ExpenseService expenseService;
+
+    @Mock
+    private GroupMemberService groupMemberService;
+
+    @Mock
+    private MemberBalanceLedgerRepository ledgerRepository;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private LedgerEventService ledgerEventService;
+
+    @Mock
+    private SettlementStrategies settlementStrategies;
+
+    @Mock
+    private ExpenseGroupRepository expenseGroupRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    // Hot group mode off: every working set lookup comes back empty
+    @Mock
+    private HotGroupService hotGroupService;
+
+    @InjectMocks
+    private CalculationService calculationService;
+
+    private GroupMember alice;
+    private GroupMember bob;
+
+    @BeforeEach
+    void setUp() {
+        ExpenseGroup group = new ExpenseGroup("Trip", "Test Description");
+        group.setId(1L);
+        alice = new GroupMember(group, "Alice");
+        alice.setId(1L);
+        bob = new GroupMember(group, "Bob");
+        bob.setId(2L);
+    }
+
+    @Test
+    void calculateGroupTotals_ReadsLedgerRows() {
+        // Given
+        when(ledgerRepository.findByGroupName("Trip")).thenReturn(List.of(
+                new MemberBalanceLedger(alice, new BigDecimal("300.00"), new BigDecimal("150.00")),
+                new MemberBalanceLedger(bob, BigDecimal.ZERO, new BigDecimal("150.00"))));
+
+        // When
+        Map<String, MemberBalance> balances = calculationService.calculateGroupTotals("Trip");
+
+        // Then
+        assertEquals(2, balances.size());
+        assertEquals(Money.ofPaise(15000), balances.get("Alice").getNetBalance());
+        assertEquals(Money.ofPaise(-15000), balances.get("Bob").getNetBalance());
+        verify(ledgerRepository).findByGroupName("Trip");
+        verifyNoInteractions(expenseService);
+    }
+
+    @Test
+    void calculateGroupTotals_CachedUntilRevisionChanges() {
+        // Given - two reads at revision 3, then a write moves the group to revision 4
+        when(expenseGroupRepository.findRevisionByName("Trip")).thenReturn(
+                Optional.of(new GroupRevision(1L, 3L)),
+                Optional.of(new GroupRevision(1L, 3L)),
+                Optional.of(new GroupRevision(1L, 4L)));
+        when(cacheManager.getCache(CacheConfig.GROUP_BALANCES)).thenReturn(new ConcurrentMapCache(CacheConfig.GROUP_BALANCES));
+        when(ledgerRepository.findByGroupName("Trip")).thenReturn(
+                List.of(new MemberBalanceLedger(alice, new BigDecimal("300.00"), new BigDecimal("150.00"))),
+                List.of(new MemberBalanceLedger(alice, new BigDecimal("300.00"), new BigDecimal("200.00"))));
+
+        // When
+        Map<String, MemberBalance> first = calculationService.calculateGroupTotals("Trip");
+        Map<String, MemberBalance> second = calculationService.calculateGroupTotals("Trip");
+        Map<String, MemberBalance> third = calculationService.calculateGroupTotals("Trip");
+
+        // Then
+        assertSame(first, second);
+        assertEquals(Money.ofPaise(10000), third.get("Alice").getNetBalance());
+        verify(ledgerRepository, times(2)).findByGroupName("Trip");
+    }
+
+    @Test
+    void calculateMemberBalance_NoLedgerRow_ReturnsZero() {
+        // Given
+        when(groupMemberService.getMemberByGroupNameAndMemberName("Trip", "Alice")).thenReturn(alice);
+        when(ledgerRepository.findByMemberId(1L)).thenReturn(Optional.empty());
+
+        // When
+        MemberBalance balance = calculationService.calculateMemberBalance("Trip", "Alice");
+
+        // Then
+        assertTrue(balance.isSettled());
+        assertEquals(Money.ZERO, balance.getTotalPaid());
+    }
+}
@@ -0,0 +1,109 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.ExpenseHistoryEntry;
+import com.billsplitting.dto.ExpenseHistoryPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:expensehistory",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class ExpenseHistoryTest {
+
+    private static final String GROUP = "History Trip";
+    private static final int EXPENSES = 120;
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @BeforeEach
+    void setUp() {
+        if (expenseGroupService.groupExists(GROUP)) {
+            return;
+        }
+        expenseGroupService.createGroup(GROUP, "History");
+        groupMemberService.addMember(GROUP, "Alice");
+        groupMemberService.addMember(GROUP, "Bob");
+        for (int i = 0; i < EXPENSES; i++) {
+            Long expenseId = expenseService.addExpense(GROUP, "Expense " + i, new BigDecimal("10.00"),
+                    i % 3 == 0 ? "Bob" : "Alice").getId();
+            expenseSplitService.splitEqually(expenseId);
+        }
+    }
+
+    @Test
+    void getExpenseHistory_PagesThroughEveryExpenseOnce() {
+        // When
+        List<ExpenseHistoryEntry> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        ExpenseHistoryPage page = expenseService.getExpenseHistory(GROUP, null, null, null, null, 50);
+        while (true) {
+            seen.addAll(page.getEntries());
+            pageSizes.add(page.getEntries().size());
+            if (!page.hasMore()) {
+                break;
+            }
+            page = expenseService.getExpenseHistory(GROUP, null, null, null, page.getNextCursor(), 50);
+        }
+
+        // Then - newest first by (createdAt, id), no row repeated or skipped
+        assertEquals(List.of(50, 50, 20), pageSizes);
+        assertEquals(EXPENSES, seen.stream().map(ExpenseHistoryEntry::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            ExpenseHistoryEntry newer = seen.get(i - 1);
+            ExpenseHistoryEntry older = seen.get(i);
+            int byTime = newer.getCreatedAt().compareTo(older.getCreatedAt());
+            assertTrue(byTime > 0 || (byTime == 0 && newer.getId() > older.getId()), "Out of order at " + i);
+        }
+        assertEquals(2, seen.get(0).getSplitCount());
+        assertEquals(new BigDecimal("10.00"), seen.get(0).getAmount().toBigDecimal());
+    }
+
+    @Test
+    void getExpenseHistory_FiltersByPayerAndDateRange() {
+        // When
+        ExpenseHistoryPage bobs = expenseService.getExpenseHistory(GROUP, "Bob", null, null, null, 500);
+        ExpenseHistoryPage future = expenseService.getExpenseHistory(GROUP, null, LocalDateTime.now().plusDays(1),
+                null, null, 500);
+        ExpenseHistoryPage past = expenseService.getExpenseHistory(GROUP, null, null, LocalDateTime.now().plusDays(1),
+                null, 500);
+
+        // Then
+        assertEquals(EXPENSES / 3, bobs.getEntries().size());
+        assertTrue(bobs.getEntries().stream().allMatch(entry -> "Bob".equals(entry.getPaidBy())));
+        assertTrue(future.getEntries().isEmpty());
+        assertEquals(EXPENSES, past.getEntries().size());
+        assertFalse(past.hasMore());
+    }
+
+    @Test
+    void getExpenseHistory_InvalidPageSize_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseService.getExpenseHistory(GROUP, null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseService.getExpenseHistory(GROUP, null, null, null, null, ExpenseService.MAX_HISTORY_PAGE_SIZE + 1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.ExpenseImportResult;
+import com.billsplitting.repository.ExpenseRepository;
+import com.billsplitting.repository.ExpenseSplitRepository;
+import com.billsplitting.service.importer.ImportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseImportDirectoryTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private ExpenseSplitRepository expenseSplitRepository;
+
+    @Mock
+    private ExpenseGroupService expenseGroupService;
+
+    @Mock
+    private GroupMemberService groupMemberService;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private Path importDirectory;
+    private ExpenseService expenseService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        importDirectory = Files.createDirectory(tempDir.resolve("imports"));
+        expenseService = new ExpenseService(expenseRepository, expenseSplitRepository, expenseGroupService,
+                groupMemberService, balanceLedgerService, transactionManager, 1000, importDirectory.toString());
+    }
+
+    @Test
+    void importExpenses_RelativePath_ResolvesInsideImportDirectory() throws IOException {
+        // Given
+        Files.writeString(importDirectory.resolve("trip.csv"), "group,description,amount,paidBy\n");
+
+        // When
+        ExpenseImportResult result = expenseService.importExpenses(Path.of("trip.csv"), ImportFormat.CSV);
+
+        // Then
+        assertEquals(0, result.getImported());
+        assertEquals(0, result.getFailed());
+    }
+
+    @Test
+    void importExpenses_PathOutsideImportDirectory_ThrowsException() throws IOException {
+        // Given
+        Path outside = Files.writeString(tempDir.resolve("secret.csv"), "group,description,amount,paidBy\n");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> expenseService.importExpenses(outside, ImportFormat.CSV));
+        assertThrows(IllegalArgumentException.class,
+            () -> expenseService.importExpenses(Path.of("..", "secret.csv"), ImportFormat.CSV));
+    }
+
+    @Test
+    void importExpenses_SymbolicLinkLeavingImportDirectory_ThrowsException() throws IOException {
+        // Given
+        Path outside = Files.writeString(tempDir.resolve("secret.csv"), "group,description,amount,paidBy\n");
+        Files.createSymbolicLink(importDirectory.resolve("link.csv"), outside);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> expenseService.importExpenses(Path.of("link.csv"), ImportFormat.CSV));
+    }
+}
@@ -0,0 +1,83 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.ExpenseImportResult;
+import com.billsplitting.dto.ImportRowError;
+import com.billsplitting.entity.Expense;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.entity.GroupMember;
+import com.billsplitting.repository.ExpenseRepository;
+import com.billsplitting.repository.ExpenseSplitRepository;
+import com.billsplitting.service.importer.ImportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseImportFallbackTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private ExpenseSplitRepository expenseSplitRepository;
+
+    @Mock
+    private ExpenseGroupService expenseGroupService;
+
+    @Mock
+    private GroupMemberService groupMemberService;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void importExpenses_RowFailsOutsideTheDatabase_RejectsOnlyThatRow() throws IOException {
+        // Given - the ledger update for "Overflow" fails with a plain runtime exception
+        ExpenseGroup group = new ExpenseGroup("Import Trip", "Fallback");
+        when(expenseGroupService.getGroupByName("Import Trip")).thenReturn(group);
+        when(groupMemberService.listMembers("Import Trip"))
+                .thenReturn(List.of(new GroupMember(group, "Alice"), new GroupMember(group, "Bob")));
+        doAnswer(invocation -> {
+            List<Expense> expenses = invocation.getArgument(0);
+            if (expenses.stream().anyMatch(expense -> expense.getDescription().equals("Overflow"))) {
+                throw new ArithmeticException("Overflow");
+            }
+            return null;
+        }).when(balanceLedgerService).recordImport(anyList(), anyList());
+        Path file = Files.writeString(tempDir.resolve("trip.csv"), """
+                group,description,amount,paidBy
+                Import Trip,Dinner,100.00,Alice
+                Import Trip,Overflow,50.00,Bob
+                Import Trip,Taxi,20.00,Bob
+                """);
+        ExpenseService expenseService = new ExpenseService(expenseRepository, expenseSplitRepository,
+                expenseGroupService, groupMemberService, balanceLedgerService, transactionManager, 1000, null);
+
+        // When
+        ExpenseImportResult result = expenseService.importExpenses(file, ImportFormat.CSV);
+
+        // Then
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(List.of(3L), result.getErrors().stream().map(ImportRowError::getLineNumber).toList());
+        assertEquals("Overflow", result.getErrors().get(0).getMessage());
+    }
+}
@@ -0,0 +1,83 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.ExpenseImportResult;
+import com.billsplitting.dto.ImportRowError;
+import com.billsplitting.service.importer.ImportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:expenseimport",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "billsplitting.import.chunk-size=500"
+})
+class ExpenseImportTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseImportTest.class);
+
+    private static final int ROWS = 5000;
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void importExpenses_Csv_ImportsValidRowsAndReportsTheRest() throws IOException {
+        // Given - every 1000th row names a member outside the group
+        expenseGroupService.createGroup("Import Trip", "Bulk import");
+        for (String member : List.of("Alice", "Bob", "Carol")) {
+            groupMemberService.addMember("Import Trip", member);
+        }
+        Path file = tempDir.resolve("trip.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("group,description,amount,paidBy,splitType,splits\n");
+            for (int i = 1; i <= ROWS; i++) {
+                String paidBy = i % 1000 == 0 ? "Mallory" : "Alice";
+                switch (i % 3) {
+                    case 0 -> writer.write("Import Trip,Row " + i + ",100.00," + paidBy + ",,\n");
+                    case 1 -> writer.write("Import Trip,Row " + i + ",10.00," + paidBy + ",AMOUNT,Bob=4;Carol=6\n");
+                    default -> writer.write("Import Trip,Row " + i + ",33.33," + paidBy + ",PERCENTAGE,Alice=50;Bob=50\n");
+                }
+            }
+        }
+
+        // When
+        ExpenseImportResult result = expenseService.importExpenses(file, ImportFormat.CSV);
+
+        // Then
+        log.info("Imported {} rows in {} ms", result.getImported(), result.getElapsedMillis());
+        assertEquals(ROWS - 5, result.getImported());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(1001L, 2001L, 3001L, 4001L, 5001L),
+                result.getErrors().stream().map(ImportRowError::getLineNumber).toList());
+        assertEquals(ROWS - 5, expenseService.getExpensesByGroup("Import Trip").size());
+        assertTrue(balanceLedgerService.rebuildGroup("Import Trip").isEmpty(), "Ledger should match the imported rows");
+    }
+}
@@ -0,0 +1,160 @@
+package com.billsplitting.service;
+
+import com.billsplitting.entity.Expense;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC round trips of a split over {@value #MEMBERS} members. With IDENTITY ids and a
+ * ledger update per member this used to take two round trips per split; with pooled sequence
+ * ids and batched writes it is a small constant.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:splitbatching",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+@Import(ExpenseSplitBatchingTest.RoundTripCounting.class)
+class ExpenseSplitBatchingTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSplitBatchingTest.class);
+
+    private static final int MEMBERS = 150;
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @Autowired
+    private RoundTripCounter roundTripCounter;
+
+    @Test
+    void splitEqually_BatchesSplitWrites() {
+        // Given
+        Expense expense = createExpense("Batch Trip");
+
+        // When
+        int roundTrips = roundTripCounter.count(() -> expenseSplitService.splitEqually(expense.getId()));
+
+        // Then
+        log.info("splitEqually over {} members: {} round trips ({} per split)",
+                MEMBERS, roundTrips, String.format("%.2f", (double) roundTrips / MEMBERS));
+        assertEquals(MEMBERS, expenseSplitService.getSplitsByExpense(expense.getId()).size());
+        assertTrue(roundTrips < MEMBERS / 5, "Expected batched split writes, got " + roundTrips + " round trips");
+    }
+
+    @Test
+    void splitEqually_Resplit_ReplacesPreviousSplits() {
+        // Given
+        Expense expense = createExpense("Resplit Trip");
+        expenseSplitService.splitEqually(expense.getId());
+
+        // When
+        int roundTrips = roundTripCounter.count(() -> expenseSplitService.splitEqually(expense.getId()));
+
+        // Then
+        assertEquals(MEMBERS, expenseSplitService.getSplitsByExpense(expense.getId()).size());
+        assertTrue(roundTrips < MEMBERS / 5, "Expected batched split writes, got " + roundTrips + " round trips");
+    }
+
+    private Expense createExpense(String groupName) {
+        expenseGroupService.createGroup(groupName, "Split batching");
+        for (int i = 0; i < MEMBERS; i++) {
+            groupMemberService.addMember(groupName, "Member" + i);
+        }
+        return expenseService.addExpense(groupName, "Dinner", new BigDecimal("12345.67"), "Member0");
+    }
+
+    @TestConfiguration
+    static class RoundTripCounting {
+
+        @Bean
+        static BeanPostProcessor roundTripCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof RoundTripCounter)
+                            ? new RoundTripCounter(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Wraps the pool and counts every statement execution, where a JDBC batch counts once.
+     */
+    static class RoundTripCounter extends DelegatingDataSource {
+
+        private final AtomicInteger roundTrips = new AtomicInteger();
+
+        RoundTripCounter(DataSource target) {
+            super(target);
+        }
+
+        int count(Runnable action) {
+            int before = roundTrips.get();
+            action.run();
+            return roundTrips.get() - before;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return intercept(Connection.class, super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return intercept(Connection.class, super.getConnection(username, password));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T intercept(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                    roundTrips.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return intercept((Class<Object>) method.getReturnType(), result);
+                }
+                return result;
+            });
+        }
+    }
+}
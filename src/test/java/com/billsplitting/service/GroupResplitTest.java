@@ -0,0 +1,167 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.GroupResplitResult;
+import com.billsplitting.entity.Expense;
+import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.entity.SplitType;
+import com.billsplitting.exception.InvalidSplitException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the set-based {@code resplit_group} SQL hands out exactly the paise that
+ * {@link ExpenseSplitService#splitEqually} does, over randomly sized groups and amounts.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:groupresplit",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class GroupResplitTest {
+
+    private static final int TRIALS = 25;
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @Autowired
+    private CalculationService calculationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void resplitGroup_MatchesSplitEquallyForRandomGroups() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            // Given
+            String groupName = "Resplit Trip " + trial;
+            int members = 1 + random.nextInt(15);
+            List<Long> expenseIds = createGroup(groupName, members, 1 + random.nextInt(20), random);
+            groupMemberService.addMember(groupName, "Late Joiner");
+            if (members > 1 && random.nextBoolean()) {
+                groupMemberService.removeMember(groupName, "Member 1");
+            }
+
+            // When
+            GroupResplitResult result = expenseSplitService.resplitGroup(groupName);
+            Map<Long, Map<String, BigDecimal>> resplit = splitsOf(expenseIds);
+            expenseIds.forEach(expenseSplitService::splitEqually);
+
+            // Then
+            assertEquals(expenseIds.size(), result.getExpenses(), "Trial " + trial);
+            assertEquals(splitsOf(expenseIds), resplit, "Trial " + trial);
+            assertTrue(calculationService.reconcileGroupBalances(groupName).isEmpty(),
+                    "Ledger should match the rewritten splits in trial " + trial);
+        }
+    }
+
+    @Test
+    void resplitGroup_LeavesUnsplitAndUnequalExpensesAlone() {
+        // Given
+        createGroup("Mixed Trip", 2, 0, new Random(1));
+        Long equal = expenseService.addExpense("Mixed Trip", "Dinner", new BigDecimal("100.00"), "Member 0").getId();
+        Long byAmount = expenseService.addExpense("Mixed Trip", "Hotel", new BigDecimal("100.00"), "Member 0").getId();
+        Long unsplit = expenseService.addExpense("Mixed Trip", "Taxi", new BigDecimal("100.00"), "Member 1").getId();
+        expenseSplitService.splitEqually(equal);
+        expenseSplitService.splitByAmount(byAmount, Map.of("Member 0", new BigDecimal("70.00"),
+                "Member 1", new BigDecimal("30.00")));
+        groupMemberService.addMember("Mixed Trip", "Late Joiner");
+
+        // When
+        GroupResplitResult result = expenseSplitService.resplitGroup("Mixed Trip");
+
+        // Then
+        assertEquals(1, result.getExpenses());
+        assertEquals(3, result.getSplits());
+        assertEquals(3, expenseSplitService.getSplitsByExpense(equal).size());
+        assertEquals(2, expenseSplitService.getSplitsByExpense(byAmount).size());
+        assertTrue(expenseSplitService.getSplitsByExpense(unsplit).isEmpty());
+        assertEquals(SplitType.AMOUNT, expenseService.getExpenseById(byAmount).getSplitType());
+    }
+
+    @Test
+    void resplitGroup_NoMembers_Throws() {
+        // Given
+        expenseGroupService.createGroup("Empty Trip", "Nobody");
+
+        // When & Then
+        assertThrows(InvalidSplitException.class, () -> expenseSplitService.resplitGroup("Empty Trip"));
+    }
+
+    @Test
+    void resplitGroup_TakesOneSequenceValuePerBlockOfSplitIds() {
+        // Given - 10 expenses over 12 members rewrite 120 splits, which fit in 3 blocks of 50 ids
+        List<Long> expenseIds = createGroup("Block Trip", 12, 10, new Random(7));
+        long before = nextSplitSequenceValue();
+
+        // When
+        GroupResplitResult result = expenseSplitService.resplitGroup("Block Trip");
+        long after = nextSplitSequenceValue();
+
+        // Then
+        assertEquals(120, result.getSplits());
+        assertEquals(4 * 50, after - before);
+        List<Long> ids = expenseIds.stream()
+                .flatMap(expenseId -> expenseSplitService.getSplitsByExpense(expenseId).stream())
+                .map(ExpenseSplit::getId)
+                .toList();
+        assertEquals(120, ids.stream().distinct().count());
+        assertTrue(ids.stream().allMatch(id -> id > before && id <= after - 50));
+    }
+
+    private List<Long> createGroup(String groupName, int members, int expenses, Random random) {
+        expenseGroupService.createGroup(groupName, "Resplit");
+        for (int i = 0; i < members; i++) {
+            groupMemberService.addMember(groupName, "Member " + i);
+        }
+        List<Long> expenseIds = new ArrayList<>();
+        for (int i = 0; i < expenses; i++) {
+            // Between 0.01 and 10,000.00, so both tiny and remainder-heavy amounts come up
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2);
+            Expense expense = expenseService.addExpense(groupName, "Expense " + i, amount, "Member 0");
+            expenseSplitService.splitEqually(expense.getId());
+            expenseIds.add(expense.getId());
+        }
+        return expenseIds;
+    }
+
+    private long nextSplitSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR expense_splits_id_seq", Long.class);
+    }
+
+    private Map<Long, Map<String, BigDecimal>> splitsOf(List<Long> expenseIds) {
+        Map<Long, Map<String, BigDecimal>> splits = new TreeMap<>();
+        for (Long expenseId : expenseIds) {
+            Map<String, BigDecimal> amounts = new TreeMap<>();
+            for (ExpenseSplit split : expenseSplitService.getSplitsByExpense(expenseId)) {
+                amounts.put(split.getMember().getMemberName(), split.getAmount().setScale(2));
+            }
+            splits.put(expenseId, amounts);
+        }
+        return splits;
+    }
+}
@@ -0,0 +1,82 @@
+package com.billsplitting.service;
+
+import com.billsplitting.config.CacheConfig;
+import com.billsplitting.dto.GroupRevision;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.repository.ExpenseGroupRepository;
+import com.billsplitting.repository.ExpenseRepository;
+import com.billsplitting.repository.MemberBalanceLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotGroupServiceTest {
+
+    @Mock
+    private ExpenseGroupRepository expenseGroupRepository;
+
+    @Mock
+    private MemberBalanceLedgerRepository ledgerRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private ConcurrentMapCache cache;
+    private HotGroupService hotGroupService;
+
+    @BeforeEach
+    void setUp() {
+        ExpenseGroup group = new ExpenseGroup("Hot Trip", "Race");
+        group.setId(1L);
+        cache = new ConcurrentMapCache(CacheConfig.HOT_GROUPS);
+        when(expenseGroupRepository.findByName("Hot Trip")).thenReturn(Optional.of(group));
+        when(cacheManager.getCache(CacheConfig.HOT_GROUPS)).thenReturn(cache);
+        when(ledgerRepository.findByGroupName("Hot Trip")).thenReturn(List.of());
+        hotGroupService = new HotGroupService(expenseGroupRepository, ledgerRepository, expenseRepository,
+                cacheManager, true, Duration.ofHours(1));
+    }
+
+    @Test
+    void workingSet_WriteCommitsDuringLoad_DoesNotKeepTheStaleSet() {
+        // Given - the write commits after the load reads revision 3, before the set is stored
+        when(expenseGroupRepository.findRevisionByName("Hot Trip"))
+                .thenReturn(Optional.of(new GroupRevision(1L, 3)))
+                .thenReturn(Optional.of(new GroupRevision(1L, 4)));
+
+        // When
+        GroupWorkingSet workingSet = hotGroupService.workingSet("Hot Trip").orElseThrow();
+
+        // Then
+        assertEquals(3, workingSet.getRevision());
+        assertNull(cache.get(1L), "A set older than the committed revision must not stay cached");
+    }
+
+    @Test
+    void workingSet_NoWriteDuringLoad_KeepsTheSet() {
+        // Given
+        when(expenseGroupRepository.findRevisionByName("Hot Trip")).thenReturn(Optional.of(new GroupRevision(1L, 3)));
+
+        // When
+        GroupWorkingSet workingSet = hotGroupService.workingSet("Hot Trip").orElseThrow();
+
+        // Then
+        assertSame(workingSet, cache.get(1L, GroupWorkingSet.class));
+        assertSame(workingSet, hotGroupService.workingSet("Hot Trip").orElseThrow());
+        verify(expenseGroupRepository, times(2)).findRevisionByName("Hot Trip");
+    }
+}
@@ -0,0 +1,123 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
+import com.billsplitting.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:hotgroups",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "billsplitting.hot-groups.enabled=true",
+    "billsplitting.hot-groups.revalidate-after=1h"
+})
+class HotGroupTest {
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @Autowired
+    private CalculationService calculationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void hotGroup_AnswersCalculationsWithoutStatements() {
+        // Given
+        String group = newGroup("Hot Reads");
+        calculationService.calculateGroupTotals(group);
+        calculationService.calculateMemberBalance(group, "Ben");
+
+        // When
+        int statements;
+        MemberBalance ben;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            calculationService.calculateGroupTotals(group);
+            calculationService.getTotalGroupExpenses(group);
+            calculationService.generateSettlementPlan(group, "greedy");
+            ben = calculationService.calculateMemberBalance(group, "Ben");
+            statements = scope.getCount();
+        }
+
+        // Then
+        assertEquals(0, statements);
+        assertEquals(money("-50.00"), ben.getNetBalance());
+    }
+
+    @Test
+    void committedWrite_IsSeenByTheNextRead() {
+        // Given
+        String group = newGroup("Hot Commit");
+        assertEquals(money("100.00"), calculationService.getTotalGroupExpenses(group));
+
+        // When
+        Long taxi = expenseService.addExpense(group, "Taxi", new BigDecimal("40.00"), "Ben").getId();
+        expenseSplitService.splitEqually(taxi);
+
+        // Then
+        Map<String, MemberBalance> balances = calculationService.calculateGroupTotals(group);
+        assertEquals(money("140.00"), calculationService.getTotalGroupExpenses(group));
+        assertEquals(money("30.00"), balances.get("Asha").getNetBalance());
+        assertEquals(money("-30.00"), balances.get("Ben").getNetBalance());
+    }
+
+    @Test
+    void rolledBackWrite_LeavesWorkingSetInPlace() {
+        // Given
+        String group = newGroup("Hot Rollback");
+        calculationService.calculateGroupTotals(group);
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            expenseService.addExpense(group, "Never booked", new BigDecimal("500.00"), "Ben");
+            status.setRollbackOnly();
+        });
+
+        // Then
+        int statements;
+        Map<String, MemberBalance> balances;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            balances = calculationService.calculateGroupTotals(group);
+            statements = scope.getCount();
+        }
+        assertEquals(0, statements, "A rolled back write must not evict the working set");
+        assertEquals(money("50.00"), balances.get("Asha").getNetBalance());
+    }
+
+    // Asha paid 100.00 for dinner, split equally with Ben
+    private String newGroup(String name) {
+        expenseGroupService.createGroup(name, "Hot group mode");
+        groupMemberService.addMember(name, "Asha");
+        groupMemberService.addMember(name, "Ben");
+        Long dinner = expenseService.addExpense(name, "Dinner", new BigDecimal("100.00"), "Asha").getId();
+        expenseSplitService.splitEqually(dinner);
+        return name;
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount));
+    }
+}
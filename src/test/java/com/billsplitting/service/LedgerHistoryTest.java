@@ -0,0 +1,150 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.entity.LedgerSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays the ledger history after each kind of write and checks it against {@code member_balances},
+ * both from the first event and from a snapshot.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ledgerhistory",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class LedgerHistoryTest {
+
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(3000, 1, 1, 0, 0);
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @Autowired
+    private CalculationService calculationService;
+
+    @Autowired
+    private LedgerEventService ledgerEventService;
+
+    @Test
+    void replay_MatchesLedgerAfterEveryKindOfWrite() throws InterruptedException {
+        // Given
+        String groupName = "History Trip";
+        expenseGroupService.createGroup(groupName, "Ledger history");
+        groupMemberService.addMember(groupName, "Alice");
+        groupMemberService.addMember(groupName, "Bob");
+        groupMemberService.addMember(groupName, "Carol");
+        assertReplayMatchesLedger(groupName);
+
+        Long dinner = expenseService.addExpense(groupName, "Dinner", new BigDecimal("90.00"), "Alice").getId();
+        expenseSplitService.splitEqually(dinner);
+        Long hotel = expenseService.addExpense(groupName, "Hotel", new BigDecimal("60.00"), "Carol").getId();
+        expenseSplitService.splitByAmount(hotel, Map.of("Alice", new BigDecimal("20.00"),
+                "Bob", new BigDecimal("40.00")));
+        assertReplayMatchesLedger(groupName);
+
+        expenseService.updateExpense(dinner, null, new BigDecimal("120.00"), "Bob");
+        expenseSplitService.splitEqually(dinner);
+        assertReplayMatchesLedger(groupName);
+
+        Long taxi = expenseService.addExpense(groupName, "Taxi", new BigDecimal("15.00"), "Bob").getId();
+        expenseSplitService.splitEqually(taxi);
+        expenseService.deleteExpense(taxi);
+        assertReplayMatchesLedger(groupName);
+
+        LocalDateTime beforeRemoval = mark();
+
+        // When
+        groupMemberService.removeMember(groupName, "Carol");
+        groupMemberService.addMember(groupName, "Dave");
+        expenseSplitService.resplitGroup(groupName);
+
+        // Then
+        assertReplayMatchesLedger(groupName);
+        assertTrue(names(balancesBefore(groupName, beforeRemoval)).contains("Carol"));
+        assertFalse(names(balancesBefore(groupName, FAR_FUTURE)).contains("Carol"));
+    }
+
+    @Test
+    void balancesBefore_ReplaysFromSnapshotAndAnswersEarlierMoments() throws InterruptedException {
+        // Given
+        String groupName = "Snapshot Trip";
+        expenseGroupService.createGroup(groupName, "Ledger snapshots");
+        groupMemberService.addMember(groupName, "Alice");
+        groupMemberService.addMember(groupName, "Bob");
+        Long day1 = expenseService.addExpense(groupName, "Day 1", new BigDecimal("50.00"), "Alice").getId();
+        expenseSplitService.splitEqually(day1);
+        LocalDateTime endOfDay1 = mark();
+        Map<String, BigDecimal> day1Balances = net(balancesBefore(groupName, endOfDay1));
+
+        Optional<LedgerSnapshot> snapshot = ledgerEventService.takeSnapshot(groupId(groupName));
+        assertTrue(snapshot.isPresent());
+        assertTrue(ledgerEventService.takeSnapshot(groupId(groupName)).isEmpty(), "Nothing new to snapshot");
+
+        // When
+        Long day2 = expenseService.addExpense(groupName, "Day 2", new BigDecimal("80.00"), "Bob").getId();
+        expenseSplitService.splitEqually(day2);
+
+        // Then
+        assertReplayMatchesLedger(groupName);
+        assertEquals(day1Balances, net(balancesBefore(groupName, endOfDay1)));
+        assertEquals(new BigDecimal("25.00"), day1Balances.get("Alice"));
+        assertEquals(new BigDecimal("-25.00"), day1Balances.get("Bob"));
+    }
+
+    private void assertReplayMatchesLedger(String groupName) {
+        Map<String, BigDecimal> ledger = new TreeMap<>();
+        calculationService.calculateGroupTotals(groupName).forEach((name, balance) -> ledger.put(name,
+                balance.getTotalPaid().toBigDecimal().add(balance.getTotalOwed().toBigDecimal().negate())));
+        assertEquals(ledger, net(balancesBefore(groupName, FAR_FUTURE)));
+    }
+
+    private List<MemberBalance> balancesBefore(String groupName, LocalDateTime until) {
+        return calculationService.calculateGroupTotalsBefore(groupName, until);
+    }
+
+    private Long groupId(String groupName) {
+        return expenseGroupService.getGroupByName(groupName).getId();
+    }
+
+    // Events are stamped to the microsecond; a short pause keeps them off either side of the mark
+    private static LocalDateTime mark() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime mark = LocalDateTime.now();
+        Thread.sleep(5);
+        return mark;
+    }
+
+    private static List<String> names(List<MemberBalance> balances) {
+        return balances.stream().map(MemberBalance::getMemberName).toList();
+    }
+
+    private static Map<String, BigDecimal> net(List<MemberBalance> balances) {
+        Map<String, BigDecimal> net = new TreeMap<>();
+        balances.forEach(balance -> net.put(balance.getMemberName(), balance.getNetBalance().toBigDecimal()));
+        return net;
+    }
+}
@@ -0,0 +1,135 @@
+package com.billsplitting.service;
+
+import com.billsplitting.config.CacheConfig;
+import com.billsplitting.dto.CacheStatistics;
+import com.billsplitting.dto.GroupMemberView;
+import com.billsplitting.entity.ExpenseGroup;
+import com.billsplitting.entity.GroupMember;
+import com.billsplitting.exception.GroupNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:lookupcache",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class LookupCacheTest {
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getGroupByName_RepeatLookup_ServedFromCache() {
+        // Given
+        expenseGroupService.createGroup("Cached Trip", "Before");
+        expenseGroupService.getGroupByName("Cached Trip");
+        long hitsBefore = hits(CacheConfig.GROUPS_BY_NAME);
+
+        // When
+        expenseGroupService.getGroupByName("Cached Trip");
+        expenseGroupService.getGroupByName("Cached Trip");
+
+        // Then
+        assertEquals(hitsBefore + 2, hits(CacheConfig.GROUPS_BY_NAME));
+    }
+
+    @Test
+    void updateGroup_EvictsCachedGroup() {
+        // Given
+        expenseGroupService.createGroup("Renamed Trip", "Before");
+        ExpenseGroup cached = expenseGroupService.getGroupByName("Renamed Trip");
+
+        // When
+        expenseGroupService.updateGroup("Renamed Trip", "After");
+
+        // Then
+        assertEquals("After", expenseGroupService.getGroupByName("Renamed Trip").getDescription());
+        assertEquals("Before", cached.getDescription(), "The update must not change the instance other readers share");
+    }
+
+    @Test
+    void addAndRemoveMember_EvictMemberLookups() {
+        // Given
+        expenseGroupService.createGroup("Member Trip", "Members");
+        groupMemberService.addMember("Member Trip", "Alice");
+        assertEquals(1, groupMemberService.listMembers("Member Trip").size());
+        assertTrue(groupMemberService.memberExists("Member Trip", "Alice"));
+
+        // When
+        groupMemberService.addMember("Member Trip", "Bob");
+        groupMemberService.removeMember("Member Trip", "Alice");
+
+        // Then
+        assertEquals(List.of("Bob"), groupMemberService.listMembers("Member Trip").stream()
+                .map(GroupMember::getMemberName).toList());
+        assertFalse(groupMemberService.memberExists("Member Trip", "Alice"));
+        assertTrue(groupMemberService.memberExists("Member Trip", "Bob"));
+    }
+
+    @Test
+    void deleteGroup_EvictsGroupAndItsMembers() {
+        // Given
+        expenseGroupService.createGroup("Deleted Trip", "Gone soon");
+        groupMemberService.addMember("Deleted Trip", "Alice");
+        groupMemberService.getMemberByGroupNameAndMemberName("Deleted Trip", "Alice");
+        groupMemberService.listMemberViews("Deleted Trip");
+
+        // When
+        expenseGroupService.deleteGroup("Deleted Trip");
+
+        // Then
+        assertThrows(GroupNotFoundException.class, () -> expenseGroupService.getGroupByName("Deleted Trip"));
+        assertTrue(groupMemberService.listMemberViews("Deleted Trip").isEmpty());
+    }
+
+    @Test
+    void memberAddedByAnotherProcess_SeenBySplitsAtOnceAndByCachedListsOnceRevisionMoves() {
+        // Given
+        Long groupId = expenseGroupService.createGroup("Shared Trip", "Two processes").getId();
+        groupMemberService.addMember("Shared Trip", "Alice");
+        assertEquals(List.of("Alice"), memberViewNames("Shared Trip"));
+
+        // When - another process inserts a member, then commits its revision bump
+        jdbcTemplate.update("INSERT INTO group_members (group_id, member_name, created_at) VALUES (?, 'Bob', CURRENT_TIMESTAMP)",
+                groupId);
+
+        // Then
+        assertEquals(List.of("Alice", "Bob"), groupMemberService.listMembers("Shared Trip").stream()
+                .map(GroupMember::getMemberName).toList(), "Splits must see the live member list");
+        assertEquals(List.of("Alice"), memberViewNames("Shared Trip"), "Served from the cache until the revision moves");
+
+        jdbcTemplate.update("UPDATE expense_groups SET revision = revision + 1 WHERE id = ?", groupId);
+        assertEquals(List.of("Alice", "Bob"), memberViewNames("Shared Trip"));
+    }
+
+    private List<String> memberViewNames(String groupName) {
+        return groupMemberService.listMemberViews(groupName).stream().map(GroupMemberView::getMemberName).toList();
+    }
+
+    private long hits(String cacheName) {
+        return cacheStatisticsService.getCacheStatistics().stream()
+                .filter(stats -> stats.getCacheName().equals(cacheName))
+                .mapToLong(CacheStatistics::getHits)
+                .findFirst()
+                .orElseThrow();
+    }
+}
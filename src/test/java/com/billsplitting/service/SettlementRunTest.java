@@ -0,0 +1,131 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.Settlement;
+import com.billsplitting.entity.SettlementPayment;
+import com.billsplitting.entity.SettlementRun;
+import com.billsplitting.entity.SettlementRunGroup;
+import com.billsplitting.exception.GroupNotFoundException;
+import com.billsplitting.repository.SettlementRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:settlementrun",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "billsplitting.settlement.batch.parallelism=4"
+})
+class SettlementRunTest {
+
+    private static final int GROUPS = 12;
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @Autowired
+    private CalculationService calculationService;
+
+    @Autowired
+    private SettlementRunService settlementRunService;
+
+    @Autowired
+    private SettlementRunRepository settlementRunRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        if (expenseGroupService.groupExists("Run Trip 0")) {
+            return;
+        }
+        for (int g = 0; g < GROUPS; g++) {
+            String groupName = "Run Trip " + g;
+            expenseGroupService.createGroup(groupName, "Settlement run");
+            int members = 2 + g % 5;
+            for (int i = 0; i < members; i++) {
+                groupMemberService.addMember(groupName, "Member " + i);
+            }
+            for (int i = 0; i < members; i++) {
+                Long expenseId = expenseService.addExpense(groupName, "Expense " + i,
+                        BigDecimal.valueOf(1000 + 137L * i * (g + 1), 2), "Member " + i).getId();
+                expenseSplitService.splitEqually(expenseId);
+            }
+        }
+        expenseGroupService.createGroup("Empty Trip", "No members");
+    }
+
+    @Test
+    void runSettlements_AllGroups_MatchesPerGroupPlans() {
+        // When
+        SettlementRun run = settlementRunService.runSettlements(List.of("all"), "greedy");
+
+        // Then
+        assertNotNull(run.getId());
+        assertEquals(GROUPS + 1, run.getGroupCount());
+        for (SettlementRunGroup group : run.getGroups()) {
+            if (group.getGroupName().equals("Empty Trip")) {
+                assertEquals(0, group.getMemberCount());
+                assertTrue(group.getPayments().isEmpty());
+                continue;
+            }
+            List<Settlement> expected = calculationService.generateSettlementPlan(group.getGroupName(), "greedy")
+                    .getSettlements();
+            assertEquals(expected.size(), group.getPayments().size(), group.getGroupName());
+            for (int i = 0; i < expected.size(); i++) {
+                SettlementPayment payment = group.getPayments().get(i);
+                assertEquals(expected.get(i).getFromMember(), payment.getFromMember());
+                assertEquals(expected.get(i).getToMember(), payment.getToMember());
+                assertEquals(expected.get(i).getAmount().toBigDecimal(), payment.getAmount());
+            }
+        }
+    }
+
+    @Test
+    void runSettlements_PersistsRunWithGroupsAndPayments() {
+        // When
+        SettlementRun run = settlementRunService.runSettlements(List.of("Run Trip 3", "Run Trip 1"), "optimal");
+
+        // Then
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SettlementRun stored = settlementRunRepository.findById(run.getId()).orElseThrow();
+            assertEquals("optimal", stored.getStrategy());
+            assertEquals(2, stored.getGroupCount());
+            assertEquals(List.of("Run Trip 1", "Run Trip 3"),
+                    stored.getGroups().stream().map(SettlementRunGroup::getGroupName).toList());
+            SettlementRunGroup group = stored.getGroups().get(1);
+            assertEquals(5, group.getMemberCount());
+            assertTrue(group.getSolveMicros() >= 0);
+            assertEquals(run.getGroups().get(1).getPayments().size(), group.getPayments().size());
+        });
+    }
+
+    @Test
+    void runSettlements_UnknownGroup_Throws() {
+        // When & Then
+        GroupNotFoundException e = assertThrows(GroupNotFoundException.class,
+                () -> settlementRunService.runSettlements(List.of("Run Trip 1", "No Such Trip"), null));
+        assertTrue(e.getMessage().contains("No Such Trip"));
+    }
+}
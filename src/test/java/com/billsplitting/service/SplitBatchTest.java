@@ -0,0 +1,152 @@
+package com.billsplitting.service;
+
+import com.billsplitting.dto.SplitBatchResult;
+import com.billsplitting.dto.SplitRequest;
+import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.entity.SplitType;
+import com.billsplitting.exception.ExpenseNotFoundException;
+import com.billsplitting.exception.InvalidSplitException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:splitbatch",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class SplitBatchTest {
+
+    private static final String GROUP = "Batch Trip";
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @Autowired
+    private SplitBatchService splitBatchService;
+
+    @Autowired
+    private CalculationService calculationService;
+
+    @BeforeEach
+    void setUp() {
+        if (!expenseGroupService.groupExists(GROUP)) {
+            expenseGroupService.createGroup(GROUP, "Split batches");
+            groupMemberService.addMember(GROUP, "Alice");
+            groupMemberService.addMember(GROUP, "Bob");
+            groupMemberService.addMember(GROUP, "Carol");
+        }
+    }
+
+    @Test
+    void splitBatch_WritesTheSameSplitsAsSingleCalls() {
+        // Given
+        Long dinner = addExpense("Dinner", "100.00");
+        Long hotel = addExpense("Hotel", "90.00");
+        Long taxi = addExpense("Taxi", "40.00");
+
+        // When
+        SplitBatchResult result = splitBatchService.splitBatch("same-as-single", List.of(
+                new SplitRequest(dinner, "equal", null),
+                new SplitRequest(hotel, "AMOUNT", Map.of("Alice", new BigDecimal("60.00"), "Bob", new BigDecimal("30.00"))),
+                new SplitRequest(taxi, "PERCENTAGE", Map.of("Bob", new BigDecimal("25"), "Carol", new BigDecimal("75")))));
+
+        // Then
+        assertFalse(result.replayed());
+        assertEquals(3, result.expenses().size());
+        Map<Long, Map<String, BigDecimal>> batched = splitsOf(dinner, hotel, taxi);
+
+        expenseSplitService.splitEqually(dinner);
+        expenseSplitService.splitByAmount(hotel, Map.of("Alice", new BigDecimal("60.00"), "Bob", new BigDecimal("30.00")));
+        expenseSplitService.splitByPercentage(taxi, Map.of("Bob", new BigDecimal("25"), "Carol", new BigDecimal("75")));
+        assertEquals(splitsOf(dinner, hotel, taxi), batched);
+        assertEquals(SplitType.PERCENTAGE, expenseService.getExpenseById(taxi).getSplitType());
+        assertTrue(calculationService.reconcileGroupBalances(GROUP).isEmpty());
+    }
+
+    @Test
+    void splitBatch_SameKey_ReplaysStoredResultWithoutRewriting() {
+        // Given
+        Long dinner = addExpense("Replayed dinner", "30.00");
+        List<SplitRequest> requests = List.of(new SplitRequest(dinner, "EQUAL", null));
+        SplitBatchResult first = splitBatchService.splitBatch("replay-key", requests);
+        expenseSplitService.splitByAmount(dinner, Map.of("Alice", new BigDecimal("30.00")));
+
+        // When
+        SplitBatchResult replay = splitBatchService.splitBatch("replay-key", requests);
+
+        // Then
+        assertTrue(replay.replayed());
+        assertEquals(first.expenses(), replay.expenses());
+        assertEquals(1, expenseSplitService.getSplitsByExpense(dinner).size(), "The replay must not rewrite the splits");
+    }
+
+    @Test
+    void splitBatch_SameKeyDifferentSplits_Throws() {
+        // Given
+        Long dinner = addExpense("Keyed dinner", "30.00");
+        splitBatchService.splitBatch("reused-key", List.of(new SplitRequest(dinner, "EQUAL", null)));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> splitBatchService.splitBatch("reused-key",
+                List.of(new SplitRequest(dinner, "AMOUNT", Map.of("Bob", new BigDecimal("30.00"))))));
+    }
+
+    @Test
+    void splitBatch_InvalidEntry_WritesNothingAndKeepsKeyUsable() {
+        // Given
+        Long dinner = addExpense("Failed dinner", "50.00");
+        Long lunch = addExpense("Failed lunch", "20.00");
+        List<SplitRequest> invalid = List.of(
+                new SplitRequest(dinner, "EQUAL", null),
+                new SplitRequest(lunch, "AMOUNT", Map.of("Mallory", new BigDecimal("20.00"))));
+
+        // When & Then
+        assertThrows(InvalidSplitException.class, () -> splitBatchService.splitBatch("retry-key", invalid));
+        assertTrue(expenseSplitService.getSplitsByExpense(dinner).isEmpty());
+        assertThrows(ExpenseNotFoundException.class, () -> splitBatchService.splitBatch("missing-key",
+                List.of(new SplitRequest(-1L, "EQUAL", null))));
+
+        SplitBatchResult retried = splitBatchService.splitBatch("retry-key", List.of(
+                new SplitRequest(dinner, "EQUAL", null),
+                new SplitRequest(lunch, "AMOUNT", Map.of("Alice", new BigDecimal("20.00")))));
+        assertFalse(retried.replayed());
+        assertEquals(3, expenseSplitService.getSplitsByExpense(dinner).size());
+    }
+
+    private Long addExpense(String description, String amount) {
+        return expenseService.addExpense(GROUP, description, new BigDecimal(amount), "Alice").getId();
+    }
+
+    private Map<Long, Map<String, BigDecimal>> splitsOf(Long... expenseIds) {
+        Map<Long, Map<String, BigDecimal>> splits = new TreeMap<>();
+        for (Long expenseId : expenseIds) {
+            Map<String, BigDecimal> amounts = new TreeMap<>();
+            for (ExpenseSplit split : expenseSplitService.getSplitsByExpense(expenseId)) {
+                amounts.put(split.getMember().getMemberName(), split.getAmount().setScale(2));
+            }
+            splits.put(expenseId, amounts);
+        }
+        return splits;
+    }
+}
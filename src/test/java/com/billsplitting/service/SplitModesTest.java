@@ -0,0 +1,165 @@
+package com.billsplitting.service;
+
+import com.billsplitting.entity.ExpenseSplit;
+import com.billsplitting.entity.SplitType;
+import com.billsplitting.exception.InvalidSplitException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:splitmodes",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class SplitModesTest {
+
+    private static final String GROUP = "Modes Trip";
+
+    @Autowired
+    private ExpenseGroupService expenseGroupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseSplitService expenseSplitService;
+
+    @Autowired
+    private CalculationService calculationService;
+
+    @BeforeEach
+    void setUp() {
+        if (!expenseGroupService.groupExists(GROUP)) {
+            expenseGroupService.createGroup(GROUP, "Split modes");
+            groupMemberService.addMember(GROUP, "Alice");
+            groupMemberService.addMember(GROUP, "Bob");
+            groupMemberService.addMember(GROUP, "Carol");
+            groupMemberService.addMember(GROUP, "Dave");
+        }
+    }
+
+    @Test
+    void splitByShares_SplitsInProportionAndStoresWeights() {
+        // Given
+        Long cabin = addExpense("Cabin", "100.00");
+
+        // When
+        expenseSplitService.splitByShares(cabin, Map.of("Alice", new BigDecimal("2"),
+                "Bob", BigDecimal.ONE, "Carol", BigDecimal.ONE));
+
+        // Then
+        assertEquals(Map.of("Alice", new BigDecimal("50.00"), "Bob", new BigDecimal("25.00"),
+                "Carol", new BigDecimal("25.00")), amountsOf(cabin));
+        for (ExpenseSplit split : expenseSplitService.getSplitsByExpense(cabin)) {
+            BigDecimal expected = split.getMember().getMemberName().equals("Alice") ? new BigDecimal("2") : BigDecimal.ONE;
+            assertEquals(0, expected.compareTo(split.getWeight()));
+        }
+        assertEquals(SplitType.SHARES, expenseService.getExpenseById(cabin).getSplitType());
+        assertTrue(calculationService.reconcileGroupBalances(GROUP).isEmpty());
+    }
+
+    @Test
+    void splitByShares_UnevenWeights_HandsOutEveryPaisa() {
+        // Given
+        Long fuel = addExpense("Fuel", "10.00");
+
+        // When
+        expenseSplitService.splitByShares(fuel, Map.of("Alice", new BigDecimal("1.5"),
+                "Bob", BigDecimal.ONE, "Dave", new BigDecimal("0.5")));
+
+        // Then
+        BigDecimal total = amountsOf(fuel).values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(new BigDecimal("10.00"), total);
+        assertEquals(new BigDecimal("5.00"), amountsOf(fuel).get("Alice"));
+    }
+
+    @Test
+    void splitEquallyAmong_SplitsOnlyBetweenNamedMembersAndSurvivesResplit() {
+        // Given
+        Long tickets = addExpense("Tickets", "90.00");
+
+        // When
+        expenseSplitService.splitEquallyAmong(tickets, List.of("Bob", "Carol", "Dave"));
+        expenseSplitService.resplitGroup(GROUP);
+
+        // Then
+        assertEquals(Map.of("Bob", new BigDecimal("30.00"), "Carol", new BigDecimal("30.00"),
+                "Dave", new BigDecimal("30.00")), amountsOf(tickets));
+        assertEquals(SplitType.EQUAL_SUBSET, expenseService.getExpenseById(tickets).getSplitType());
+        assertTrue(calculationService.reconcileGroupBalances(GROUP).isEmpty());
+    }
+
+    @Test
+    void split_UnknownMember_ThrowsAndKeepsPreviousSplits() {
+        // Given
+        Long lunch = addExpense("Lunch", "40.00");
+        expenseSplitService.splitEqually(lunch);
+
+        // When & Then
+        InvalidSplitException e = assertThrows(InvalidSplitException.class, () -> expenseSplitService.splitByShares(lunch,
+                Map.of("Alice", BigDecimal.ONE, "Mallory", BigDecimal.ONE)));
+        assertTrue(e.getMessage().contains("Mallory"));
+        assertThrows(InvalidSplitException.class, () -> expenseSplitService.splitEquallyAmong(lunch, List.of("Mallory")));
+        assertThrows(InvalidSplitException.class, () -> expenseSplitService.splitByShares(lunch,
+                Map.of("Alice", BigDecimal.ZERO, "Bob", BigDecimal.ZERO)));
+        assertEquals(4, expenseSplitService.getSplitsByExpense(lunch).size());
+    }
+
+    @Test
+    void splitByShares_WeightsTooLarge_ThrowsInvalidSplit() {
+        // Given
+        Long hotel = addExpense("Hotel", "100.00");
+        expenseSplitService.splitEqually(hotel);
+
+        // When & Then - one weight past a long, a sum past a long, and a share product past a long
+        assertThrows(InvalidSplitException.class, () -> expenseSplitService.splitByShares(hotel,
+                Map.of("Alice", new BigDecimal("1E20"), "Bob", BigDecimal.ONE)));
+        assertThrows(InvalidSplitException.class, () -> expenseSplitService.splitByShares(hotel,
+                Map.of("Alice", new BigDecimal("9E14"), "Bob", new BigDecimal("9E14"))));
+        assertThrows(InvalidSplitException.class, () -> expenseSplitService.splitByShares(hotel,
+                Map.of("Alice", new BigDecimal("1E14"), "Bob", BigDecimal.ONE)));
+        assertEquals(4, expenseSplitService.getSplitsByExpense(hotel).size());
+    }
+
+    @Test
+    void splitByPercentage_NullPercentage_ThrowsInvalidSplit() {
+        // Given
+        Long museum = addExpense("Museum", "30.00");
+        Map<String, BigDecimal> percentages = new HashMap<>();
+        percentages.put("Alice", new BigDecimal("100"));
+        percentages.put("Bob", null);
+
+        // When & Then
+        InvalidSplitException e = assertThrows(InvalidSplitException.class,
+                () -> expenseSplitService.splitByPercentage(museum, percentages));
+        assertTrue(e.getMessage().contains("Bob"));
+    }
+
+    private Long addExpense(String description, String amount) {
+        return expenseService.addExpense(GROUP, description, new BigDecimal(amount), "Alice").getId();
+    }
+
+    private Map<String, BigDecimal> amountsOf(Long expenseId) {
+        Map<String, BigDecimal> amounts = new TreeMap<>();
+        for (ExpenseSplit split : expenseSplitService.getSplitsByExpense(expenseId)) {
+            amounts.put(split.getMember().getMemberName(), split.getAmount().setScale(2));
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,137 @@
+package com.billsplitting.service.importer;
+
+import com.billsplitting.entity.SplitType;
+import com.billsplitting.exception.InvalidImportRowException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseImportReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void next_Csv_ParsesQuotedFieldsAndSplits() throws IOException {
+        // Given
+        Path file = write("trip.csv",
+                "Group,Description,Amount,Paid_By,Split_Type,Splits",
+                "Goa,\"Dinner, \"\"beach\"\" shack\",120.50,Alice,AMOUNT,Alice=60.25;Bob=60.25",
+                "Goa,Taxi,30,Bob,,",
+                "",
+                "Goa,Snacks,10,Bob,equal,Alice;Bob");
+
+        // When
+        List<ExpenseImportRow> rows = readAll(file, ImportFormat.CSV);
+
+        // Then
+        assertEquals(3, rows.size());
+        ExpenseImportRow dinner = rows.get(0);
+        assertEquals(2, dinner.lineNumber());
+        assertEquals("Dinner, \"beach\" shack", dinner.description());
+        assertEquals(new BigDecimal("120.50"), dinner.amount());
+        assertEquals(SplitType.AMOUNT, dinner.splitType());
+        assertEquals(new BigDecimal("60.25"), dinner.splits().get("Bob"));
+        assertEquals(SplitType.EQUAL, rows.get(1).splitType());
+        assertTrue(rows.get(1).splits().isEmpty());
+        assertEquals(5, rows.get(2).lineNumber());
+        assertEquals(List.of("Alice", "Bob"), new ArrayList<>(rows.get(2).splits().keySet()));
+    }
+
+    @Test
+    void next_Jsonl_AcceptsObjectAndArraySplits() throws IOException {
+        // Given
+        Path file = write("trip.jsonl",
+                "{\"group\":\"Goa\",\"description\":\"Hotel\",\"amount\":900,\"paidBy\":\"Alice\",\"splitType\":\"PERCENTAGE\",\"splits\":{\"Alice\":50,\"Bob\":50}}",
+                "{\"group\":\"Goa\",\"description\":\"Fuel\",\"amount\":\"45.10\",\"paidBy\":\"Bob\",\"splits\":[\"Alice\",\"Bob\"]}");
+
+        // When
+        List<ExpenseImportRow> rows = readAll(file, ImportFormat.JSONL);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertEquals(SplitType.PERCENTAGE, rows.get(0).splitType());
+        assertEquals(0, new BigDecimal("50").compareTo(rows.get(0).splits().get("Alice")));
+        assertEquals(new BigDecimal("45.10"), rows.get(1).amount());
+        assertEquals(SplitType.EQUAL, rows.get(1).splitType());
+        assertNull(rows.get(1).splits().get("Bob"));
+    }
+
+    @Test
+    void next_MalformedLines_ReportsLineAndContinues() throws IOException {
+        // Given
+        Path file = write("trip.csv",
+                "group,description,amount,paidBy,splitType,splits",
+                "Goa,Dinner,abc,Alice,,",
+                "Goa,Lunch,20,Alice,AMOUNT,Alice;Bob",
+                "Goa,\"Unterminated,20,Alice,,",
+                "Goa,,20,Alice,,",
+                "Goa,Taxi,30,Bob,,");
+
+        // When
+        Map<Long, String> errors = new LinkedHashMap<>();
+        List<ExpenseImportRow> rows = new ArrayList<>();
+        try (ExpenseImportReader reader = new ExpenseImportReader(file, ImportFormat.CSV)) {
+            while (true) {
+                try {
+                    ExpenseImportRow row = reader.next();
+                    if (row == null) {
+                        break;
+                    }
+                    rows.add(row);
+                } catch (InvalidImportRowException e) {
+                    errors.put(e.getLineNumber(), e.getMessage());
+                }
+            }
+        }
+
+        // Then
+        assertEquals(List.of(2L, 3L, 4L, 5L), new ArrayList<>(errors.keySet()));
+        assertEquals("Invalid number 'abc'", errors.get(2L));
+        assertEquals("AMOUNT splits need a value for every member", errors.get(3L));
+        assertEquals("Missing description", errors.get(5L));
+        assertEquals(1, rows.size());
+        assertEquals("Taxi", rows.get(0).description());
+    }
+
+    @Test
+    void next_CsvWithoutRequiredColumns_Throws() throws IOException {
+        Path file = write("trip.csv", "group,description", "Goa,Dinner");
+
+        try (ExpenseImportReader reader = new ExpenseImportReader(file, ImportFormat.CSV)) {
+            assertThrows(IllegalArgumentException.class, reader::next);
+        }
+    }
+
+    @Test
+    void resolve_GuessesFormatFromExtension() {
+        assertEquals(ImportFormat.JSONL, ImportFormat.resolve(null, Path.of("trip.jsonl")));
+        assertEquals(ImportFormat.CSV, ImportFormat.resolve(" ", Path.of("trip.CSV")));
+        assertEquals(ImportFormat.CSV, ImportFormat.resolve("csv", Path.of("trip.txt")));
+        assertThrows(IllegalArgumentException.class, () -> ImportFormat.resolve(null, Path.of("trip.txt")));
+    }
+
+    private Path write(String fileName, String... lines) throws IOException {
+        return Files.write(tempDir.resolve(fileName), List.of(lines));
+    }
+
+    private static List<ExpenseImportRow> readAll(Path file, ImportFormat format) throws IOException {
+        List<ExpenseImportRow> rows = new ArrayList<>();
+        try (ExpenseImportReader reader = new ExpenseImportReader(file, format)) {
+            for (ExpenseImportRow row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
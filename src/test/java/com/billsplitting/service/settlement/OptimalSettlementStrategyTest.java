@@ -0,0 +1,123 @@
+package com.billsplitting.service.settlement;
+
+import com.billsplitting.dto.MemberBalance;
+import com.billsplitting.dto.Money;
+import com.billsplitting.dto.Settlement;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimalSettlementStrategyTest {
+
+    private final OptimalSettlementStrategy optimal = new OptimalSettlementStrategy(20, 250, 1);
+    private final LargestFirstSettlementStrategy largestFirst = new LargestFirstSettlementStrategy();
+    private final GreedySettlementStrategy greedy = new GreedySettlementStrategy();
+
+    @Test
+    void settle_SplitsIntoZeroSumGroups_BeatsLargestFirst() {
+        // Given: {Bob, Carol} and {Alice, Dave, Erin} settle independently
+        List<MemberBalance> balances = List.of(
+                balance("Alice", 500), balance("Bob", 400),
+                balance("Carol", -400), balance("Dave", -300), balance("Erin", -200));
+
+        // When
+        List<Settlement> optimalPlan = optimal.settle(balances);
+        List<Settlement> largestFirstPlan = largestFirst.settle(balances);
+
+        // Then
+        assertSettlesAll(balances, optimalPlan);
+        assertSettlesAll(balances, largestFirstPlan);
+        assertEquals(3, optimalPlan.size());
+        assertEquals(4, largestFirstPlan.size());
+    }
+
+    @Test
+    void settle_RandomGroups_NeverMorePaymentsThanOtherStrategies() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            // Given
+            List<MemberBalance> balances = randomBalances(random, 2 + random.nextInt(9));
+
+            // When
+            List<Settlement> optimalPlan = optimal.settle(balances);
+
+            // Then
+            assertSettlesAll(balances, optimalPlan);
+            assertTrue(optimalPlan.size() <= greedy.settle(balances).size());
+            assertTrue(optimalPlan.size() <= largestFirst.settle(balances).size());
+        }
+    }
+
+    @Test
+    void settle_AboveMemberLimit_FallsBackToLargestFirst() {
+        // Given
+        OptimalSettlementStrategy capped = new OptimalSettlementStrategy(3, 250, 1);
+        List<MemberBalance> balances = List.of(
+                balance("Alice", 500), balance("Bob", 400),
+                balance("Carol", -400), balance("Dave", -300), balance("Erin", -200));
+
+        // When
+        List<Settlement> settlements = capped.settle(balances);
+
+        // Then
+        assertSettlesAll(balances, settlements);
+        assertEquals(largestFirst.settle(balances).size(), settlements.size());
+    }
+
+    @Test
+    void fitToHeap_ManySolversOnSmallHeap_LowersMemberLimit() {
+        long mebibyte = 1024 * 1024;
+
+        // 16 solvers share a quarter of 256 MiB, 4 MiB each, and 2^18 subsets take 2.25 MiB
+        assertEquals(18, OptimalSettlementStrategy.fitToHeap(20, 16, 256 * mebibyte));
+        assertEquals(20, OptimalSettlementStrategy.fitToHeap(20, 4, 4096 * mebibyte));
+        assertEquals(1, OptimalSettlementStrategy.fitToHeap(20, 1, 0));
+    }
+
+    @Test
+    void constructor_AboveHardLimit_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new OptimalSettlementStrategy(23, 250, 1));
+    }
+
+    @Test
+    void settle_AllSettled_ReturnsNoPayments() {
+        List<MemberBalance> balances = List.of(balance("Alice", 0), balance("Bob", 0));
+
+        assertTrue(optimal.settle(balances).isEmpty());
+    }
+
+    private static MemberBalance balance(String name, long netPaise) {
+        return netPaise >= 0
+                ? new MemberBalance(name, Money.ofPaise(netPaise), Money.ZERO)
+                : new MemberBalance(name, Money.ZERO, Money.ofPaise(-netPaise));
+    }
+
+    private static List<MemberBalance> randomBalances(Random random, int members) {
+        List<MemberBalance> balances = new ArrayList<>();
+        long total = 0;
+        for (int i = 0; i < members - 1; i++) {
+            long net = (random.nextInt(21) - 10) * 100L;
+            balances.add(balance("Member" + i, net));
+            total += net;
+        }
+        balances.add(balance("Member" + (members - 1), -total));
+        return balances;
+    }
+
+    private static void assertSettlesAll(List<MemberBalance> balances, List<Settlement> settlements) {
+        Map<String, Money> remaining = new HashMap<>();
+        balances.forEach(balance -> remaining.put(balance.getMemberName(), balance.getNetBalance()));
+        for (Settlement settlement : settlements) {
+            assertTrue(settlement.getAmount().isPositive());
+            remaining.merge(settlement.getFromMember(), settlement.getAmount(), Money::plus);
+            remaining.merge(settlement.getToMember(), settlement.getAmount(), Money::minus);
+        }
+        remaining.values().forEach(left -> assertEquals(Money.ZERO, left));
+    }
+}